@@ -3,12 +3,19 @@ package br.com.alura.screenmatch;
 import br.com.alura.screenmatch.exerciciosjpa.TesteExerciciosJPA;
 import br.com.alura.screenmatch.principal.Principal;
 import br.com.alura.screenmatch.repository.SerieRepository;
+import br.com.alura.screenmatch.service.AtualizacaoEpisodiosService;
+import br.com.alura.screenmatch.service.ConsultaTemporadas;
+import br.com.alura.screenmatch.service.ConsumoApi;
+import br.com.alura.screenmatch.service.EnderecoOmdb;
+import br.com.alura.screenmatch.service.ImportacaoCatalogoService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.nio.file.Path;
+
 /**
  * BACKUP DA VERSÃO CONSOLE (SEM WEB)
  * 
@@ -38,6 +45,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *    - Acesso via navegador/Postman: http://localhost:8080/series
  *    - Aplicação fica "no ar" até ser parada manualmente
  * 
+ * IMPORTAÇÃO EM LOTE (sem menu):
+ * - Passe --importar=caminho/do/arquivo.txt (um título por linha)
+ * - Importa todas as séries do arquivo, exibe o resumo e NÃO abre o menu
+ * - Ex: java -jar screenmatch.jar --importar=catalogo.txt
+ * 
  * QUANDO USAR CADA UMA:
  * - Console: Scripts, processamento batch, ferramentas CLI
  * - Web: APIs REST, aplicações web, microserviços
@@ -54,6 +66,21 @@ public class ScreenmatchApplicationSemWeb implements CommandLineRunner {
 	@Autowired
 	private TesteExerciciosJPA testeExerciciosJPA;
 
+	@Autowired
+	private ConsultaTemporadas consultaTemporadas;
+
+	@Autowired
+	private ConsumoApi consumo;
+
+	@Autowired
+	private EnderecoOmdb enderecoOmdb;
+
+	@Autowired
+	private ImportacaoCatalogoService importacaoCatalogo;
+
+	@Autowired
+	private AtualizacaoEpisodiosService atualizacaoEpisodios;
+
 	public static void main(String[] args) {
 		SpringApplication.run(ScreenmatchApplicationSemWeb.class, args);
 	}
@@ -62,9 +89,19 @@ public class ScreenmatchApplicationSemWeb implements CommandLineRunner {
 	// Este é o ponto de entrada da aplicação CONSOLE
 	@Override
 	public void run(String... args) throws Exception {
+		// Modo importação em lote: --importar=arquivo.txt
+		for (String arg : args) {
+			if (arg.startsWith("--importar=")) {
+				var progresso = importacaoCatalogo.importar(Path.of(arg.substring("--importar=".length())));
+				System.out.println("Importação finalizada (" + progresso.getStatus() + "): " + progresso);
+				return;
+			}
+		}
+
 		// Cria a classe Principal passando o repositório e o teste de exercícios
 		// Isso permite que Principal acesse o banco de dados e execute os exercícios JPA
-		Principal principal = new Principal(repositorio, testeExerciciosJPA);
+		Principal principal = new Principal(repositorio, testeExerciciosJPA, consultaTemporadas, consumo, enderecoOmdb,
+				atualizacaoEpisodios);
 		// Exibe o menu interativo no terminal
 		principal.exibeMenu();
 	}
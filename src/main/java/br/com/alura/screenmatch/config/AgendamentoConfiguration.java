@@ -0,0 +1,14 @@
+package br.com.alura.screenmatch.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Liga as tarefas agendadas (@Scheduled) da aplicação
+ *
+ * Ex: FilaTraducaoService.processarFila() roda a cada screenmatch.traducao.intervalo
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfiguration {
+}
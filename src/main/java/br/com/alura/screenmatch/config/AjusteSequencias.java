@@ -0,0 +1,64 @@
+package br.com.alura.screenmatch.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * AJUSTE DAS SEQUENCES NA SUBIDA DA APLICAÇÃO
+ *
+ * PROBLEMA:
+ * - Serie e Episodio usavam IDENTITY (SERIAL); agora usam as sequences
+ *   series_seq e episodios_seq (criadas pelo ddl-auto=update)
+ * - Num banco que já tem dados, a sequence nova começa em 1 e o próximo
+ *   INSERT colidiria com um id existente
+ *
+ * SOLUÇÃO:
+ * - Antes de a aplicação atender qualquer requisição, avança cada sequence
+ *   para depois do maior id da tabela (só avança, nunca volta)
+ *
+ * OBS: SmartInitializingSingleton roda depois que o Hibernate atualizou o schema
+ * e antes do servidor web / CommandLineRunner começarem a trabalhar
+ */
+@Component
+public class AjusteSequencias implements SmartInitializingSingleton {
+
+    // Mesmo allocationSize do @SequenceGenerator das entidades
+    private static final int ALOCACAO = 50;
+
+    // Tabela → sequence usada pelo @SequenceGenerator
+    private static final String[][] SEQUENCIAS = {
+            {"series", "series_seq"},
+            {"episodios", "episodios_seq"}
+    };
+
+    private final JdbcTemplate jdbc;
+
+    public AjusteSequencias(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String[] par : SEQUENCIAS) {
+            ajustar(par[0], par[1]);
+        }
+    }
+
+    private void ajustar(String tabela, String sequencia) {
+        try {
+            // Otimizador pooled: o valor da sequence é o TETO do bloco de 50 ids,
+            // então o bloco seguinte precisa começar depois do maior id existente
+            Long valor = jdbc.queryForObject(
+                    "SELECT setval('" + sequencia + "', GREATEST("
+                            + "(SELECT COALESCE(MAX(id), 0) FROM " + tabela + ") + " + ALOCACAO + ", "
+                            + "(SELECT last_value FROM " + sequencia + ")))",
+                    Long.class);
+            System.out.println("[INFO] Sequence " + sequencia + " ajustada para " + valor);
+        } catch (DataAccessException e) {
+            // Banco sem a sequence (ou que não é PostgreSQL): segue com o valor atual
+            System.err.println("[ERRO] Não foi possível ajustar a sequence " + sequencia + ": " + e.getMessage());
+        }
+    }
+}
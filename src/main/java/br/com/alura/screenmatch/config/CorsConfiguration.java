@@ -1,6 +1,8 @@
 package br.com.alura.screenmatch.config;
 
+import br.com.alura.screenmatch.controller.SerieController;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -97,6 +99,12 @@ public class CorsConfiguration implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")  // Aplica em todas as rotas
                 .allowedOrigins("http://127.0.0.1:5501")  // Autoriza Live Server
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD", "TRACE", "CONNECT");  // Métodos permitidos
+                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD", "TRACE", "CONNECT")  // Métodos permitidos
+                .exposedHeaders(SerieController.CABECALHO_PROXIMO_CURSOR,  // Front-end pode ler o cursor da próxima página
+                        HttpHeaders.ETAG,  // ...o ETag (GET condicional com If-None-Match)
+                        SerieController.CABECALHO_TOTAL_EPISODIOS,  // ...e o resumo da temporada
+                        SerieController.CABECALHO_MEDIA_AVALIACAO,
+                        SerieController.CABECALHO_PRIMEIRO_LANCAMENTO,
+                        SerieController.CABECALHO_ULTIMO_LANCAMENTO);
     }
 }
@@ -0,0 +1,56 @@
+package br.com.alura.screenmatch.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * ÍNDICE DE COBERTURA DOS EPISÓDIOS POR TEMPORADA
+ *
+ * PROBLEMA:
+ * - GET /series/{id}/temporadas/{numero} lê temporada, número, título, avaliação
+ *   e data de cada episódio da temporada
+ * - O índice (serie_id, temporada, numero_episodio, id) acha as linhas, mas para
+ *   cada uma ainda era preciso ir à tabela buscar título/avaliação/data
+ *
+ * SOLUÇÃO (índice de cobertura):
+ * - Mesmas colunas de busca/ordenação + INCLUDE (titulo, avaliacao, data_lancamento)
+ * - A temporada inteira sai do índice (Index Only Scan), já na ordem do número
+ * - Também atende a listagem paginada dos episódios (mesmas colunas iniciais), por
+ *   isso o índice antigo idx_episodios_serie_temporada_numero é removido DEPOIS
+ *   que o novo existe (nunca fica sem índice)
+ *
+ * POR QUE AQUI E NÃO NO @Table DA ENTIDADE?
+ * - @Index não tem INCLUDE (PostgreSQL 11+)
+ *
+ * SQL:
+ * CREATE INDEX IF NOT EXISTS idx_episodios_temporada_cobertura ON episodios
+ *   (serie_id, temporada, numero_episodio, id) INCLUDE (titulo, avaliacao, data_lancamento);
+ * DROP INDEX IF EXISTS idx_episodios_serie_temporada_numero;
+ */
+@Component
+public class IndiceTemporadas implements SmartInitializingSingleton {
+
+    private static final String CRIAR_INDICE = "CREATE INDEX IF NOT EXISTS idx_episodios_temporada_cobertura " +
+            "ON episodios (serie_id, temporada, numero_episodio, id) INCLUDE (titulo, avaliacao, data_lancamento)";
+
+    private static final String REMOVER_INDICE_ANTIGO = "DROP INDEX IF EXISTS idx_episodios_serie_temporada_numero";
+
+    private final JdbcTemplate jdbc;
+
+    public IndiceTemporadas(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            jdbc.execute(CRIAR_INDICE);
+            jdbc.execute(REMOVER_INDICE_ANTIGO);
+        } catch (DataAccessException e) {
+            // Sem o índice novo o antigo continua lá: as consultas só ficam mais lentas
+            System.err.println("[ERRO] Não foi possível criar o índice de cobertura das temporadas: " + e.getMessage());
+        }
+    }
+}
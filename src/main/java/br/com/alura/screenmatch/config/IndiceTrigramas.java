@@ -0,0 +1,73 @@
+package br.com.alura.screenmatch.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * ÍNDICES DE TRIGRAMAS DAS BUSCAS POR TRECHO (títulos de episódios e nomes de atores)
+ *
+ * PROBLEMA:
+ * - titulo ILIKE '%trecho%' não usa índice B-tree (o "%" do início impede):
+ *   toda busca lia a tabela de episódios inteira
+ * - O mesmo vale para ator LIKE '%nome%' no elenco normalizado (series_atores)
+ *
+ * SOLUÇÃO (extensão pg_trgm do PostgreSQL):
+ * - O título é quebrado em trigramas ("pilot" → "  p", " pi", "pil", "ilo", "lot", "ot ")
+ * - O índice GIN guarda, para cada trigrama, as linhas que o contêm; o (I)LIKE
+ *   busca só as linhas que têm TODOS os trigramas do trecho e confere o resto
+ * - Funciona a partir de 3 caracteres; trechos menores voltam a ler a tabela
+ *
+ * POR QUE AQUI E NÃO NO @Table DA ENTIDADE?
+ * - @Index só gera índice B-tree; "USING gin (titulo gin_trgm_ops)" e a extensão
+ *   precisam de SQL próprio do PostgreSQL
+ *
+ * SE FALHAR (ex: usuário do banco sem permissão para CREATE EXTENSION):
+ * - A busca continua funcionando, só que sem o índice (como antes)
+ *
+ * SQL:
+ * CREATE EXTENSION IF NOT EXISTS pg_trgm;
+ * CREATE INDEX IF NOT EXISTS idx_episodios_titulo_trgm ON episodios USING gin (titulo gin_trgm_ops);
+ * CREATE INDEX IF NOT EXISTS idx_series_atores_ator_trgm ON series_atores USING gin (ator gin_trgm_ops);
+ */
+@Component
+public class IndiceTrigramas implements SmartInitializingSingleton {
+
+    private static final String CRIAR_EXTENSAO = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+
+    // Índice → tabela → coluna
+    private static final String[][] INDICES = {
+            {"idx_episodios_titulo_trgm", "episodios", "titulo"},
+            {"idx_series_atores_ator_trgm", "series_atores", "ator"}
+    };
+
+    private final JdbcTemplate jdbc;
+
+    public IndiceTrigramas(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            jdbc.execute(CRIAR_EXTENSAO);
+        } catch (DataAccessException e) {
+            System.err.println("[ERRO] Não foi possível criar a extensão pg_trgm (as buscas por trecho "
+                    + "vão ler as tabelas inteiras): " + e.getMessage());
+            return;
+        }
+        for (String[] indice : INDICES) {
+            criar(indice[0], indice[1], indice[2]);
+        }
+    }
+
+    private void criar(String indice, String tabela, String coluna) {
+        try {
+            jdbc.execute("CREATE INDEX IF NOT EXISTS " + indice + " ON " + tabela
+                    + " USING gin (" + coluna + " gin_trgm_ops)");
+        } catch (DataAccessException e) {
+            System.err.println("[ERRO] Não foi possível criar o índice " + indice + ": " + e.getMessage());
+        }
+    }
+}
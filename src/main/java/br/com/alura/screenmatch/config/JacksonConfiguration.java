@@ -0,0 +1,26 @@
+package br.com.alura.screenmatch.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ajustes do ObjectMapper do Spring Boot (o único da aplicação)
+ *
+ * Todo bean do tipo Module é registrado automaticamente pelo Spring Boot no
+ * ObjectMapper que o Spring MVC usa para escrever as respostas e que o
+ * ConverteDados usa para ler as APIs externas.
+ *
+ * BLACKBIRD:
+ * - Troca a reflexão (Method.invoke) por acessores gerados com LambdaMetafactory
+ * - O JIT consegue otimizar como uma chamada direta: leitura e escrita mais rápidas
+ *   (ver CodecJsonBenchmark)
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
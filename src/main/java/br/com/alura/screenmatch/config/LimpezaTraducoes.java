@@ -0,0 +1,61 @@
+package br.com.alura.screenmatch.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * REMOVE OS AVISOS DA MYMEMORY GRAVADOS COMO TRADUÇÃO NA SUBIDA DA APLICAÇÃO
+ *
+ * PROBLEMA:
+ * - Com a cota esgotada, a MyMemory responde HTTP 200 e põe o aviso
+ *   "MYMEMORY WARNING: YOU USED ALL AVAILABLE FREE TRANSLATIONS..." no lugar da tradução
+ * - Antes de a resposta ser validada (ConsultaMyMemory), esse aviso entrava no
+ *   cache (tabela traducoes) e virava a sinopse da série, com status CONCLUIDA
+ *
+ * SOLUÇÃO:
+ * - Apaga do cache as "traduções" que são o aviso (a próxima tradução vai à API de novo)
+ * - Séries com o aviso na sinopse voltam para a fila: sinopse original, status
+ *   PENDENTE e tentativas zeradas
+ * - versao + 1: o UPDATE não passa pelo Hibernate, mas o ETag de /series/{id}
+ *   e a assinatura do catálogo (VersaoCatalogo) mudam mesmo assim
+ * - Depois da 1ª vez, os comandos não encontram nenhuma linha
+ */
+@Component
+public class LimpezaTraducoes implements SmartInitializingSingleton {
+
+    private static final String AVISO = "MYMEMORY WARNING%";
+
+    private static final String APAGAR_TRADUCOES =
+            "DELETE FROM traducoes WHERE UPPER(LTRIM(texto_traduzido)) LIKE ?";
+
+    private static final String REABRIR_SINOPSES =
+            "UPDATE series SET sinopse = sinopse_original, status_traducao = 'PENDENTE', " +
+            "tentativas_traducao = 0, versao = versao + 1 " +
+            "WHERE status_traducao = 'CONCLUIDA' AND sinopse_original IS NOT NULL " +
+            "AND UPPER(LTRIM(sinopse)) LIKE ?";
+
+    private final JdbcTemplate jdbc;
+
+    public LimpezaTraducoes(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        limpar(APAGAR_TRADUCOES, "traduções com o aviso da MyMemory apagadas do cache");
+        limpar(REABRIR_SINOPSES, "séries com o aviso da MyMemory na sinopse voltaram para a fila de tradução");
+    }
+
+    private void limpar(String sql, String descricao) {
+        try {
+            int linhas = jdbc.update(sql, AVISO);
+            if (linhas > 0) {
+                System.out.println("[INFO] " + linhas + " " + descricao);
+            }
+        } catch (DataAccessException e) {
+            System.err.println("[ERRO] Não foi possível limpar os avisos da MyMemory: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.alura.screenmatch.config;
+
+import br.com.alura.screenmatch.model.Serie;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REMOVE OS NULLs DAS COLUNAS DE ORDENAÇÃO E DE VERSÃO NA SUBIDA DA APLICAÇÃO
+ *
+ * PROBLEMA:
+ * - A paginação por keyset compara (coluna, id) > (valor, id) com os valores do
+ *   último item da página; uma linha com a coluna NULL nunca passa nessa comparação
+ *   e sumiria da listagem
+ * - Séries/episódios antigos podem ter total_temporadas, avaliacao ou
+ *   numero_episodio NULL (as entidades novas já gravam 0 no lugar)
+ * - A coluna versao (@Version) nasce NULL nas séries que já existiam; com versão
+ *   nula o Spring Data trata a série como NOVA e o save() tentaria um INSERT
+ *
+ * SOLUÇÃO:
+ * - Troca os NULLs por 0 antes de a aplicação atender requisições
+ *   (depois da 1ª vez, os UPDATEs não encontram nenhuma linha)
+ *
+ * TAMBÉM PREENCHE series.ultimo_lancamento (data do episódio mais recente):
+ * - Séries gravadas antes da coluna existir ficariam fora de /series/lancamentos
+ * - Só olha séries com a coluna NULL que tenham algum episódio com data; o
+ *   MAX() de cada uma usa o índice de episódios por serie_id
+ *
+ * E PREENCHE series_atores (elenco normalizado da busca por ator):
+ * - Séries gravadas antes da tabela existir só têm o texto "atores"
+ * - O nome é normalizado em Java (Serie.separarAtores: sem acento, minúsculas),
+ *   igual ao que o construtor/setAtores() gravam nas séries novas
+ */
+@Component
+public class NormalizacaoColunas implements SmartInitializingSingleton {
+
+    // Tabela → coluna usada na paginação (ou no controle de versão)
+    private static final String[][] COLUNAS = {
+            {"series", "total_temporadas"},
+            {"series", "avaliacao"},
+            {"series", "versao"},
+            {"episodios", "numero_episodio"}
+    };
+
+    private static final String PREENCHER_ULTIMO_LANCAMENTO =
+            "UPDATE series s SET ultimo_lancamento = " +
+            "(SELECT MAX(e.data_lancamento) FROM episodios e WHERE e.serie_id = s.id) " +
+            "WHERE s.ultimo_lancamento IS NULL AND EXISTS " +
+            "(SELECT 1 FROM episodios e WHERE e.serie_id = s.id AND e.data_lancamento IS NOT NULL)";
+
+    private static final String SERIES_SEM_ELENCO =
+            "SELECT s.id, s.atores FROM series s WHERE s.atores IS NOT NULL AND NOT EXISTS " +
+            "(SELECT 1 FROM series_atores a WHERE a.serie_id = s.id)";
+
+    private static final String INSERIR_ATOR =
+            "INSERT INTO series_atores (serie_id, ator) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbc;
+
+    public NormalizacaoColunas(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String[] par : COLUNAS) {
+            normalizar(par[0], par[1]);
+        }
+        preencherUltimoLancamento();
+        preencherElenco();
+    }
+
+    private void preencherElenco() {
+        try {
+            List<Object[]> linhas = new ArrayList<>();
+            jdbc.query(SERIES_SEM_ELENCO, (RowCallbackHandler) resultado -> {
+                long serieId = resultado.getLong(1);
+                for (String ator : Serie.separarAtores(resultado.getString(2))) {
+                    linhas.add(new Object[]{serieId, ator});
+                }
+            });
+            if (!linhas.isEmpty()) {
+                jdbc.batchUpdate(INSERIR_ATOR, linhas);
+                System.out.println("[INFO] " + linhas.size() + " atores copiados para series_atores");
+            }
+        } catch (DataAccessException e) {
+            System.err.println("[ERRO] Não foi possível preencher series_atores: " + e.getMessage());
+        }
+    }
+
+    private void preencherUltimoLancamento() {
+        try {
+            int linhas = jdbc.update(PREENCHER_ULTIMO_LANCAMENTO);
+            if (linhas > 0) {
+                System.out.println("[INFO] " + linhas + " séries com ultimo_lancamento preenchido");
+            }
+        } catch (DataAccessException e) {
+            System.err.println("[ERRO] Não foi possível preencher series.ultimo_lancamento: " + e.getMessage());
+        }
+    }
+
+    private void normalizar(String tabela, String coluna) {
+        try {
+            int linhas = jdbc.update("UPDATE " + tabela + " SET " + coluna + " = 0 WHERE " + coluna + " IS NULL");
+            if (linhas > 0) {
+                System.out.println("[INFO] " + linhas + " linhas de " + tabela + " com " + coluna + " nulo ajustadas para 0");
+            }
+        } catch (DataAccessException e) {
+            System.err.println("[ERRO] Não foi possível normalizar " + tabela + "." + coluna + ": " + e.getMessage());
+        }
+    }
+}
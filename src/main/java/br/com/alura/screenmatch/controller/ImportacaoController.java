@@ -0,0 +1,68 @@
+package br.com.alura.screenmatch.controller;
+
+import br.com.alura.screenmatch.dto.ImportacaoDTO;
+import br.com.alura.screenmatch.service.ImportacaoCatalogoService;
+import br.com.alura.screenmatch.service.ProgressoImportacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * CONTROLLER REST - Importação em lote de séries
+ *
+ * Dispara a importação de um catálogo inteiro (arquivo com um título por linha)
+ * e permite acompanhar o andamento.
+ *
+ * FLUXO:
+ * 1. POST /importacoes?arquivo=catalogo.txt → 202 Accepted + id da importação
+ *    (o arquivo é procurado em screenmatch.importacao.diretorio)
+ * 2. GET /importacoes/{id} → progresso (processados, salvos, falhas, séries/s)
+ *
+ * A importação roda em SEGUNDO PLANO: o POST responde na hora,
+ * sem esperar os milhares de títulos serem consultados na OMDB.
+ */
+@RestController
+public class ImportacaoController {
+
+    @Autowired
+    private ImportacaoCatalogoService servico;
+
+    /**
+     * Endpoint POST /importacoes
+     *
+     * @param arquivo Caminho do arquivo com os títulos, RELATIVO a screenmatch.importacao.diretorio
+     * @return 202 com o progresso inicial, ou 400 se o arquivo não existir ou estiver fora do diretório
+     *
+     * TESTE:
+     * curl -X POST "http://localhost:8080/importacoes?arquivo=catalogo.txt"
+     */
+    @PostMapping("/importacoes")
+    public ResponseEntity<ImportacaoDTO> iniciarImportacao(@RequestParam String arquivo) {
+        try {
+            ProgressoImportacao progresso = servico.iniciar(arquivo);
+            return ResponseEntity.accepted().body(progresso.paraDTO());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint GET /importacoes/{id}
+     *
+     * @param id ID retornado pelo POST /importacoes
+     * @return Progresso da importação ou 404 se o id não existir
+     *
+     * TESTE:
+     * http://localhost:8080/importacoes/1
+     */
+    @GetMapping("/importacoes/{id}")
+    public ResponseEntity<ImportacaoDTO> obterImportacao(@PathVariable Long id) {
+        return servico.obterProgresso(id)
+                .map(p -> ResponseEntity.ok(p.paraDTO()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
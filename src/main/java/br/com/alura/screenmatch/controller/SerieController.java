@@ -1,14 +1,31 @@
 package br.com.alura.screenmatch.controller;
 
 import br.com.alura.screenmatch.dto.EpisodioDTO;
+import br.com.alura.screenmatch.dto.EpisodioEncontradoDTO;
+import br.com.alura.screenmatch.dto.PaginaDTO;
 import br.com.alura.screenmatch.dto.SerieDTO;
+import br.com.alura.screenmatch.dto.TemporadaDTO;
 import br.com.alura.screenmatch.service.SerieService;
+import br.com.alura.screenmatch.service.cache.SerieVersionada;
+import br.com.alura.screenmatch.service.cache.VersaoCatalogo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
 
 /**
  * CONTROLLER REST - Camada de Apresentação
@@ -59,16 +76,44 @@ import java.util.List;
  * - @RestController: Controller REST (retorna dados, não HTML)
  * - @GetMapping: Mapeia requisição GET para método
  * - @Autowired: Injeção de dependência do Service
+ * 
+ * GET CONDICIONAL (ETag / If-None-Match):
+ * - /series, /series/top5, /series/lancamentos, /series/categoria/{g}, /series/atores,
+ *   /series/{id} e /series/{id}/temporadas/{numero} respondem com ETag + Cache-Control
+ * - O cliente reenvia o ETag no If-None-Match; se o catálogo não mudou, a resposta é
+ *   304 Not Modified, SEM corpo e SEM executar a consulta (ver VersaoCatalogo)
+ * - O navegador faz isso sozinho com o fetch() do front-end (cache HTTP)
  */
 @RestController
 public class SerieController {
 
+    // Cabeçalho com o cursor da próxima página (exposto ao front-end no CorsConfiguration)
+    public static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
+    // Resumo da temporada em GET /series/{id}/temporadas/{numero} (também expostos no CorsConfiguration)
+    public static final String CABECALHO_TOTAL_EPISODIOS = "X-Total-Episodios";
+    public static final String CABECALHO_MEDIA_AVALIACAO = "X-Media-Avaliacao";
+    public static final String CABECALHO_PRIMEIRO_LANCAMENTO = "X-Primeiro-Lancamento";
+    public static final String CABECALHO_ULTIMO_LANCAMENTO = "X-Ultimo-Lancamento";
+
+    // Newline-delimited JSON: um objeto JSON por linha (modo streaming)
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     // @Autowired: Injeção de dependência do Spring
     // Spring cria automaticamente uma instância de SerieService e injeta aqui
     // Controller agora depende de SERVICE, NÃO de Repository!
     @Autowired
     private SerieService servico;
 
+    // Contador de alterações do catálogo (ETags)
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    // Por quanto tempo o cliente pode reusar a resposta sem perguntar ao servidor
+    // 0 = "no-cache": guarda, mas revalida sempre com If-None-Match (304 se nada mudou)
+    @Value("${screenmatch.etag.max-age:0s}")
+    private Duration maxAge;
+
     // REMOVIDO: Repository não fica mais no Controller!
     // @Autowired
     // private SerieRepository repositorio;  ← ERRADO! Alto acoplamento
@@ -98,16 +143,22 @@ public class SerieController {
     /**
      * Endpoint GET /series
      * 
-     * Retorna todas as séries cadastradas no banco de dados em formato JSON.
+     * Retorna UMA PÁGINA das séries cadastradas em formato JSON.
      * Usa DTO para expor apenas dados necessários (SEM episódios).
      * 
+     * PAGINAÇÃO POR CURSOR (keyset):
+     * - ?ordem=avaliacao|titulo|totalTemporadas (padrão: titulo)
+     * - ?direcao=asc|desc (padrão: asc)
+     * - ?tamanho=N itens por página (padrão e máximo: screenmatch.paginacao.*)
+     * - Se houver mais itens, a resposta traz o cabeçalho X-Proximo-Cursor;
+     *   a próxima página é a mesma URL com ?cursor=<valor do cabeçalho>
+     * - Ordenação, direção ou cursor inválidos → 400 Bad Request
+     * 
      * FLUXO:
      * 1. Controller recebe requisição HTTP
-     * 2. Controller chama Service: servico.obterTodasAsSeries()
-     * 3. Service busca no Repository: repository.findAll()
-     * 4. Service converte Serie → SerieDTO
-     * 5. Service retorna List<SerieDTO>
-     * 6. Controller retorna JSON para cliente
+     * 2. Controller chama Service: servico.obterSeries(...)
+     * 3. Repository busca só a página pedida, já como SerieDTO
+     * 4. Controller devolve a lista + cabeçalho do próximo cursor
      * 
      * BAIXO ACOPLAMENTO:
      * - Controller NÃO conhece Repository
@@ -118,59 +169,130 @@ public class SerieController {
      * 
      * TESTE:
      * http://localhost:8080/series
+     * http://localhost:8080/series?ordem=avaliacao&direcao=desc&tamanho=10
      * 
      * RESPOSTA:
      * [{"id":1,"titulo":"Breaking Bad",...}]
+     * X-Proximo-Cursor: c2VyaWV8QVZBTElBQ0FPfERFU0N8...
+     * ETag: "lx3k9a2b-17"
+     * 
+     * GET CONDICIONAL:
+     * curl -H 'If-None-Match: "lx3k9a2b-17"' http://localhost:8080/series
+     * → 304 Not Modified (sem corpo) enquanto o catálogo não mudar
      */
     @GetMapping("/series")
-    public List<SerieDTO> obterSeries() {
-        // Controller apenas chama Service e retorna resultado
-        // Toda lógica de negócio está no Service
-        return servico.obterTodasAsSeries();
+    public ResponseEntity<List<SerieDTO>> obterSeries(@RequestParam(defaultValue = "titulo") String ordem,
+                                                      @RequestParam(defaultValue = "asc") String direcao,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer tamanho,
+                                                      @RequestHeader HttpHeaders cabecalhos) {
+        return responderCondicional(cabecalhos, versaoCatalogo.etagColecao(), () -> {
+            try {
+                return responderPagina(servico.obterSeries(ordem, direcao, cursor, tamanho));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+
+    /**
+     * Endpoint GET /series?formato=ndjson (modo STREAMING)
+     * 
+     * Todas as séries (ordem de título), uma por linha em NDJSON, escritas à medida
+     * que saem do banco. Para exportações e integrações que precisam do catálogo inteiro.
+     * 
+     * POR QUE StreamingResponseBody?
+     * - O corpo é escrito por outra thread, direto no OutputStream da resposta
+     * - Nada de List<SerieDTO> na memória: o 1º byte sai assim que a 1ª linha é lida
+     * - params = "formato=ndjson": só cai aqui quem pede o formato; GET /series
+     *   continua paginado e em JSON
+     * 
+     * TESTE:
+     * curl "http://localhost:8080/series?formato=ndjson"
+     * 
+     * RESPOSTA (Content-Type: application/x-ndjson):
+     * {"id":1,"titulo":"Breaking Bad",...}
+     * {"id":2,"titulo":"Dark",...}
+     */
+    @GetMapping(value = "/series", params = "formato=ndjson")
+    public ResponseEntity<StreamingResponseBody> transmitirSeries() {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(saida -> servico.transmitirSeries(saida));
     }
 
     /**
      * Endpoint GET /series/top5
      * 
      * Retorna as 5 séries com melhor avaliação em ordem decrescente.
+     * Lidas do ranking em memória (RankingCatalogo), sem ORDER BY no banco.
      * 
      * @return Lista com 5 SerieDTO (melhores avaliações)
      * 
      * TESTE:
      * http://localhost:8080/series/top5
+     * 
+     * ETag / If-None-Match: ver GET /series
      */
     @GetMapping("/series/top5")
-    public List<SerieDTO> obterTop5Series() {
-        return servico.obterTop5Series();
+    public ResponseEntity<List<SerieDTO>> obterTop5Series(@RequestHeader HttpHeaders cabecalhos) {
+        return responderCondicional(cabecalhos, versaoCatalogo.etagColecao(),
+                () -> ResponseEntity.ok(servico.obterTop5Series()));
+    }
+
+    /**
+     * Endpoint GET /series/top
+     * 
+     * Ranking com N configurável: geral ou de um gênero.
+     * - ?n=N quantas séries (padrão: screenmatch.ranking.tamanho-padrao;
+     *   máximo: screenmatch.ranking.tamanho-maximo)
+     * - ?categoria=drama ranking só do gênero (mesmos nomes de /series/categoria/{g})
+     * - Gênero desconhecido → 400 Bad Request
+     * 
+     * TESTE:
+     * http://localhost:8080/series/top?n=10
+     * http://localhost:8080/series/top?n=3&categoria=drama
+     * 
+     * ETag / If-None-Match: ver GET /series
+     */
+    @GetMapping("/series/top")
+    public ResponseEntity<List<SerieDTO>> obterTopSeries(@RequestParam(required = false) Integer n,
+                                                         @RequestParam(required = false) String categoria,
+                                                         @RequestHeader HttpHeaders cabecalhos) {
+        return responderCondicional(cabecalhos, versaoCatalogo.etagColecao(), () -> {
+            try {
+                return ResponseEntity.ok(servico.obterTopSeries(n, categoria));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
 
     /**
      * Endpoint GET /series/lancamentos
      * 
      * Retorna as 5 séries com lançamentos mais recentes.
-     * Ordena pelas datas de lançamento dos episódios (mais recente primeiro).
+     * Ordena pela data do episódio mais recente de cada série (mais recente primeiro).
      * 
      * FLUXO:
      * 1. Controller recebe requisição HTTP
      * 2. Controller chama Service: servico.obterLancamentos()
-     * 3. Service busca no Repository: repository.findTop5ByOrderByEpisodiosDataLancamentoDesc()
-     * 4. Repository faz JOIN com episodios e ordena por data_lancamento DESC
-     * 5. Service converte Serie → SerieDTO
-     * 6. Controller retorna JSON para cliente
-     * 
-     * DERIVED QUERY METHOD:
-     * - findTop5: Limita a 5 registros
-     * - ByOrderBy: Ordenação
-     * - Episodios: Navega para relacionamento @OneToMany (Serie.episodios)
-     * - DataLancamento: Campo do Episodio
-     * - Desc: Ordem decrescente (mais recente primeiro)
+     * 3. Service devolve a lista do cache "lancamentos"; na falta, chama
+     *    repository.lancamentosDTO() (projeção direto em SerieDTO)
+     * 4. Repository lê series.ultimo_lancamento (data do episódio mais recente,
+     *    mantida na própria série): sem JOIN com episodios
+     * 5. Controller retorna JSON para cliente
      * 
      * SQL GERADO:
-     * SELECT DISTINCT s.* FROM series s
-     * JOIN episodios e ON s.id = e.serie_id
-     * ORDER BY e.data_lancamento DESC
+     * SELECT s.id, s.titulo, ... FROM series s
+     * WHERE s.ultimo_lancamento IS NOT NULL
+     * ORDER BY s.ultimo_lancamento DESC, s.id DESC
      * LIMIT 5
      * 
+     * OBS: séries sem nenhum episódio com data ficam de fora da lista
+     * 
+     * ETag / If-None-Match: ver GET /series
+     * 
      * USO:
      * - Mostrar "Novidades" ou "Lançamentos Recentes" na API
      * - Séries que tiveram episódios lançados recentemente
@@ -188,8 +310,9 @@ public class SerieController {
      * ]
      */
     @GetMapping("/series/lancamentos")
-    public List<SerieDTO> obterLancamentos() {
-        return servico.obterLancamentos();
+    public ResponseEntity<List<SerieDTO>> obterLancamentos(@RequestHeader HttpHeaders cabecalhos) {
+        return responderCondicional(cabecalhos, versaoCatalogo.etagColecao(),
+                () -> ResponseEntity.ok(servico.obterLancamentos()));
     }
 
     /**
@@ -217,17 +340,39 @@ public class SerieController {
      * 
      * RESPOSTA:
      * {"id":1,"titulo":"Breaking Bad","totalTemporadas":5,...}
+     * ETag: "s1-3"  ← id da série + versão (@Version)
+     * 
+     * GET CONDICIONAL:
+     * - ETag e corpo saem do MESMO valor do cache "serie" (SerieDTO + versão lidos
+     *   juntos): o ETag nunca descreve uma versão diferente do corpo entregue
+     * - Se bater com o If-None-Match, responde 304 sem serializar o SerieDTO
+     * - ANTES de ler a série, compara com a última versão entregue (VersaoCatalogo,
+     *   só id → versão): se bater, o 304 sai sem consulta mesmo com o SerieDTO
+     *   fora do cache "serie"
      */
     @GetMapping("/series/{id}")
-    public SerieDTO obterPorId(@PathVariable Long id) {
+    public ResponseEntity<SerieDTO> obterPorId(@PathVariable Long id, @RequestHeader HttpHeaders cabecalhos) {
         // @PathVariable: Extrai o {id} da URL e passa como parâmetro
-        return servico.obterPorId(id);
+        String conhecida = versaoCatalogo.etagSerieConhecida(id);
+        if (conhecida != null && contemEtag(cabecalhos.getIfNoneMatch(), conhecida)) {
+            return naoModificado(conhecida);
+        }
+
+        SerieVersionada serie = servico.obterSerieVersionada(id);
+        // Série inexistente: sem ETag, corpo vazio (como antes)
+        if (serie == null) {
+            return ResponseEntity.ok().build();
+        }
+        return responderCondicional(cabecalhos, versaoCatalogo.etagSerie(serie),
+                () -> ResponseEntity.ok(serie.serie()));
     }
 
     /**
      * Endpoint GET /series/{id}/temporadas/todas
      * 
-     * Retorna TODOS os episódios de TODAS as temporadas de uma série.
+     * Retorna os episódios de TODAS as temporadas de uma série, UMA PÁGINA por vez
+     * (mesma paginação por cursor de GET /series: ?tamanho= e ?cursor=, próximo
+     * cursor no cabeçalho X-Proximo-Cursor).
      * 
      * @PathVariable: Captura o ID da série da URL
      * - URL: /series/1/temporadas/todas → id = 1
@@ -236,20 +381,20 @@ public class SerieController {
      * FLUXO:
      * 1. Cliente: GET http://localhost:8080/series/1/temporadas/todas
      * 2. Controller recebe id = 1 via @PathVariable
-     * 3. Controller chama Service: servico.obterTodasTemporadas(1)
-     * 4. Service busca série no banco: repository.findById(1)
-     * 5. Service pega lista de episódios: serie.getEpisodios()
-     * 6. Service converte Episodio → EpisodioDTO (apenas temporada, numero, titulo)
-     * 7. Controller retorna JSON para cliente
+     * 3. Controller chama Service: servico.obterTodasTemporadas(1, cursor, tamanho)
+     * 4. Repository busca só a página pedida, já como EpisodioDTO
+     *    (na ordem temporada → número do episódio)
+     * 5. Controller retorna JSON para cliente
      * 
      * POR QUE USAR EpisodioDTO?
      * - Expõe apenas: temporada, numeroEpisodio, titulo
      * - NÃO expõe: id, avaliacao, dataLancamento, serie (evita loop infinito)
      * - JSON menor e mais rápido
      * 
-     * SQL GERADO:
-     * SELECT * FROM series WHERE id = 1
-     * SELECT * FROM episodios WHERE serie_id = 1
+     * SQL GERADO (uma consulta só; o LEFT JOIN também diz se a série existe):
+     * SELECT e.id, e.temporada, e.numero_episodio, e.titulo FROM series s
+     * LEFT JOIN episodios e ON s.id = e.serie_id
+     * WHERE s.id = 1 ORDER BY e.temporada, e.numero_episodio, e.id LIMIT 51
      * 
      * @param id ID da série (vem da URL)
      * @return Lista de EpisodioDTO ou null se série não existir
@@ -267,9 +412,73 @@ public class SerieController {
      * ]
      */
     @GetMapping("/series/{id}/temporadas/todas")
-    public List<EpisodioDTO> obterTodasTemporadas(@PathVariable Long id) {
+    public ResponseEntity<List<EpisodioDTO>> obterTodasTemporadas(@PathVariable Long id,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer tamanho) {
         // @PathVariable: Extrai o {id} da URL e passa como parâmetro
-        return servico.obterTodasTemporadas(id);
+        try {
+            PaginaDTO<EpisodioDTO> pagina = servico.obterTodasTemporadas(id, cursor, tamanho);
+            // Série inexistente: corpo vazio (como antes)
+            return pagina == null ? ResponseEntity.ok().build() : responderPagina(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint GET /series/{id}/temporadas/todas?formato=ndjson (modo STREAMING)
+     * 
+     * Todos os episódios da série, um por linha em NDJSON (mesmo esquema de
+     * GET /series?formato=ndjson). Série inexistente → 404.
+     * 
+     * TESTE:
+     * curl "http://localhost:8080/series/1/temporadas/todas?formato=ndjson"
+     */
+    @GetMapping(value = "/series/{id}/temporadas/todas", params = "formato=ndjson")
+    public ResponseEntity<StreamingResponseBody> transmitirEpisodios(@PathVariable Long id) {
+        if (servico.obterPorId(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(saida -> servico.transmitirEpisodios(id, saida));
+    }
+
+    /**
+     * Endpoint GET /series/episodios/busca?trecho=
+     *
+     * Busca episódios de TODAS as séries pelo trecho do título (o mesmo da opção 9
+     * do menu), os mais relevantes primeiro, uma página por vez (?tamanho= e ?cursor=,
+     * próximo cursor no cabeçalho X-Proximo-Cursor).
+     *
+     * FLUXO:
+     * 1. Cliente: GET http://localhost:8080/series/episodios/busca?trecho=pilot
+     * 2. Service: servico.buscarEpisodios("pilot", cursor, tamanho)
+     * 3. Repository: ILIKE pelo índice de trigramas + ordenação por relevância
+     * 4. Cada resultado traz as posições do trecho no título ("trechos")
+     *
+     * Sem trecho, ou cursor de outra busca → 400 Bad Request
+     *
+     * TESTE:
+     * http://localhost:8080/series/episodios/busca?trecho=pilot
+     * http://localhost:8080/series/episodios/busca?trecho=the&tamanho=10
+     *
+     * RESPOSTA:
+     * [
+     *   {"serieId":7,"serie":"Breaking Bad","temporada":1,"numeroEpisodio":1,
+     *    "titulo":"Pilot","avaliacao":9.0,"trechos":[{"inicio":0,"fim":5}]},
+     *   ...
+     * ]
+     */
+    @GetMapping("/series/episodios/busca")
+    public ResponseEntity<List<EpisodioEncontradoDTO>> buscarEpisodios(@RequestParam(required = false) String trecho,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(required = false) Integer tamanho) {
+        try {
+            return responderPagina(servico.buscarEpisodios(trecho, cursor, tamanho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -317,15 +526,53 @@ public class SerieController {
      * ]
      */
     @GetMapping("/series/categoria/{nomeGenero}")
-    public List<SerieDTO> obterSeriesPorCategoria(@PathVariable String nomeGenero) {
+    public ResponseEntity<List<SerieDTO>> obterSeriesPorCategoria(@PathVariable String nomeGenero,
+                                                                  @RequestHeader HttpHeaders cabecalhos) {
         // @PathVariable: Extrai o {nomeGenero} da URL e passa como parâmetro
-        return servico.obterSeriesPorCategoria(nomeGenero);
+        return responderCondicional(cabecalhos, versaoCatalogo.etagColecao(),
+                () -> ResponseEntity.ok(servico.obterSeriesPorCategoria(nomeGenero)));
+    }
+
+    /**
+     * Endpoint GET /series/atores?nome=&avaliacao=
+     * 
+     * Séries com o ator/atriz no elenco E avaliação mínima (a mesma busca da
+     * opção 5 do menu), da melhor para a pior avaliação.
+     * 
+     * FLUXO:
+     * 1. Cliente: GET http://localhost:8080/series/atores?nome=karl&avaliacao=8
+     * 2. Service: servico.buscarSeriesPorAtor("karl", 8.0)
+     * 3. Repository: LIKE no elenco normalizado (series_atores, com índice) →
+     *    só as séries encontradas são lidas
+     * 
+     * - Sem acento e sem diferenciar maiúsculas: "zoe", "Zoë" e "ZOE" dão o mesmo resultado
+     * - avaliacao opcional (padrão: qualquer avaliação)
+     * - Sem nome → 400 Bad Request
+     * - Também responde com ETag (muda junto com o catálogo)
+     * 
+     * TESTE:
+     * http://localhost:8080/series/atores?nome=karl&avaliacao=8
+     * http://localhost:8080/series/atores?nome=aniston
+     */
+    @GetMapping("/series/atores")
+    public ResponseEntity<List<SerieDTO>> buscarSeriesPorAtor(@RequestParam(required = false) String nome,
+                                                              @RequestParam(required = false) Double avaliacao,
+                                                              @RequestHeader HttpHeaders cabecalhos) {
+        return responderCondicional(cabecalhos, versaoCatalogo.etagColecao(), () -> {
+            try {
+                return ResponseEntity.ok(servico.buscarSeriesPorAtor(nome, avaliacao));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
     }
 
     /**
      * Endpoint GET /series/{id}/temporadas/top
      * 
-     * Retorna os TOP 5 episódios com melhor avaliação de uma série específica.
+     * Retorna os TOP 5 episódios com melhor avaliação de uma série específica
+     * (?n=N para outro tamanho, até screenmatch.ranking.tamanho-maximo).
+     * Lidos do ranking em memória da série (RankingCatalogo).
      * 
      * @PathVariable: Captura o ID da série da URL
      * - URL: /series/1/temporadas/top → id = 1
@@ -334,19 +581,13 @@ public class SerieController {
      * FLUXO:
      * 1. Cliente: GET http://localhost:8080/series/7/temporadas/top
      * 2. Controller recebe id = 7 via @PathVariable
-     * 3. Controller chama Service: servico.obterTop5Episodios(7)
-     * 4. Service busca série no banco: repository.findById(7)
-     * 5. Service chama Repository: repository.topEpisodiosPorSerie(serie)
-     * 6. Repository executa JPQL com JOIN, ORDER BY e LIMIT 5
-     * 7. Service converte Episodio → EpisodioDTO
-     * 8. Controller retorna JSON para cliente
+     * 3. Controller chama Service: servico.obterTopEpisodios(7, n)
+     * 4. Service lê os N primeiros do ranking da série 7 (já como EpisodioDTO)
+     * 5. Controller retorna JSON para cliente
      * 
-     * SQL GERADO:
-     * SELECT e.* FROM episodios e
-     * JOIN series s ON e.serie_id = s.id
-     * WHERE s.id = 7
-     * ORDER BY e.avaliacao DESC
-     * LIMIT 5
+     * SQL GERADO: nenhum (só enquanto o ranking é montado, na subida:
+     * SELECT e.temporada, e.numero_episodio, e.titulo FROM episodios e
+     * WHERE e.serie_id = 7 ORDER BY e.avaliacao DESC NULLS LAST, e.id LIMIT 5)
      * 
      * POR QUE USAR ESTE ENDPOINT?
      * - Front-end exibe os melhores episódios de cada série
@@ -354,11 +595,11 @@ public class SerieController {
      * - Útil para recomendar episódios para assistir
      * 
      * @param id ID da série (vem da URL)
-     * @return Lista com até 5 EpisodioDTO (melhores avaliações) ou null se série não existir
+     * @return Lista com até N EpisodioDTO (melhores avaliações) ou null se série não existir
      * 
      * TESTE:
      * http://localhost:8080/series/7/temporadas/top (Breaking Bad)
-     * http://localhost:8080/series/1/temporadas/top (The Boys)
+     * http://localhost:8080/series/1/temporadas/top?n=10 (The Boys)
      * 
      * RESPOSTA:
      * [
@@ -369,9 +610,125 @@ public class SerieController {
      * ]
      */
     @GetMapping("/series/{id}/temporadas/top")
-    public List<EpisodioDTO> obterTop5Episodios(@PathVariable Long id) {
+    public ResponseEntity<List<EpisodioDTO>> obterTop5Episodios(@PathVariable Long id,
+                                                                @RequestParam(required = false) Integer n,
+                                                                @RequestHeader HttpHeaders cabecalhos) {
         // @PathVariable: Extrai o {id} da URL e passa como parâmetro
-        return servico.obterTop5Episodios(id);
+        // Série inexistente: corpo vazio (como antes)
+        return responderCondicional(cabecalhos, versaoCatalogo.etagColecao(),
+                () -> ResponseEntity.ok(servico.obterTopEpisodios(id, n)));
+    }
+
+    /**
+     * Endpoint GET /series/{id}/temporadas/{numero}
+     * 
+     * Retorna os episódios de UMA temporada, na ordem do número do episódio,
+     * com o resumo da temporada nos cabeçalhos (o corpo continua sendo a lista).
+     * 
+     * FLUXO:
+     * 1. Cliente: GET http://localhost:8080/series/7/temporadas/2
+     * 2. Service: servico.obterTemporada(7, 2) - cache "temporada"; na falta, UMA
+     *    consulta pelo índice de cobertura (serie_id, temporada, numero_episodio, id)
+     * 3. Controller devolve os episódios + cabeçalhos do resumo
+     * 
+     * CABEÇALHOS:
+     * - X-Total-Episodios: quantidade de episódios da temporada
+     * - X-Media-Avaliacao: média das avaliações (só se algum episódio tiver avaliação)
+     * - X-Primeiro-Lancamento / X-Ultimo-Lancamento: datas ISO (só se houver datas)
+     * - ETag: GET condicional, como nas outras rotas
+     * 
+     * Série inexistente → 404; temporada sem episódios → [] com X-Total-Episodios: 0
+     * 
+     * TESTE:
+     * curl -i http://localhost:8080/series/7/temporadas/2
+     * 
+     * RESPOSTA:
+     * X-Total-Episodios: 13
+     * X-Media-Avaliacao: 8.71
+     * X-Primeiro-Lancamento: 2009-03-08
+     * X-Ultimo-Lancamento: 2009-05-31
+     * [{"temporada":2,"numeroEpisodio":1,"titulo":"Seven Thirty-Seven"}, ...]
+     */
+    @GetMapping("/series/{id}/temporadas/{numero}")
+    public ResponseEntity<List<EpisodioDTO>> obterTemporada(@PathVariable Long id, @PathVariable Integer numero,
+                                                            @RequestHeader HttpHeaders cabecalhos) {
+        return responderCondicional(cabecalhos, versaoCatalogo.etagColecao(), () -> {
+            TemporadaDTO temporada = servico.obterTemporada(id, numero);
+            if (temporada == null) {
+                return ResponseEntity.notFound().build();
+            }
+            ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                    .header(CABECALHO_TOTAL_EPISODIOS, String.valueOf(temporada.totalEpisodios()));
+            if (temporada.mediaAvaliacao() != null) {
+                resposta.header(CABECALHO_MEDIA_AVALIACAO, String.format(Locale.ROOT, "%.2f", temporada.mediaAvaliacao()));
+            }
+            if (temporada.primeiroLancamento() != null) {
+                resposta.header(CABECALHO_PRIMEIRO_LANCAMENTO, temporada.primeiroLancamento().toString());
+                resposta.header(CABECALHO_ULTIMO_LANCAMENTO, temporada.ultimoLancamento().toString());
+            }
+            return resposta.body(temporada.episodios());
+        });
     }
 
+
+    /**
+     * GET condicional: 304 se o If-None-Match tiver o ETag atual; senão executa a
+     * consulta e devolve a resposta com ETag + Cache-Control
+     * 
+     * O ETag é lido ANTES da consulta: se o catálogo mudar no meio, a resposta nova
+     * sai com o ETag antigo e a próxima requisição simplesmente recebe 200 de novo
+     * (o contrário - dado antigo com ETag novo - nunca acontece)
+     * 
+     * @param etag null = sem GET condicional (ex: série inexistente)
+     */
+    private <T> ResponseEntity<T> responderCondicional(HttpHeaders cabecalhos, String etag,
+                                                       Supplier<ResponseEntity<T>> consulta) {
+        if (etag == null) {
+            return consulta.get();
+        }
+        if (contemEtag(cabecalhos.getIfNoneMatch(), etag)) {
+            return naoModificado(etag);
+        }
+        ResponseEntity<T> resposta = consulta.get();
+        if (!resposta.getStatusCode().is2xxSuccessful()) {
+            return resposta; // Erros (ex: 400 de cursor inválido) não vão para o cache
+        }
+        return ResponseEntity.status(resposta.getStatusCode())
+                .headers(resposta.getHeaders())
+                .eTag(etag)
+                .cacheControl(cacheControl())
+                .body(resposta.getBody());
+    }
+
+    private <T> ResponseEntity<T> naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl())
+                .build();
+    }
+
+    // Comparação "fraca" do If-None-Match (RFC 9110): W/"x" vale o mesmo que "x"
+    // (proxies que compactam a resposta costumam enfraquecer o ETag); visível no pacote para o SerieControllerTest
+    static boolean contemEtag(List<String> ifNoneMatch, String etag) {
+        for (String candidato : ifNoneMatch) {
+            String valor = candidato.startsWith("W/") ? candidato.substring(2) : candidato;
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CacheControl cacheControl() {
+        return maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge).mustRevalidate();
+    }
+
+    // Corpo = itens da página; próximo cursor (se houver) no cabeçalho
+    private static <T> ResponseEntity<List<T>> responderPagina(PaginaDTO<T> pagina) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.temProxima()) {
+            resposta.header(CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor());
+        }
+        return resposta.body(pagina.itens());
+    }
 }
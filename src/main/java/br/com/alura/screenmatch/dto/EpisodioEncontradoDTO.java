@@ -0,0 +1,35 @@
+package br.com.alura.screenmatch.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da busca de episódios por trecho do título
+ *
+ * Além dos dados do episódio, traz a série (id + título) e ONDE o trecho aparece
+ * no título, para o front-end/menu destacar a parte encontrada.
+ *
+ * EXEMPLO (busca "pilot"):
+ * {"serieId":7,"serie":"Breaking Bad","temporada":1,"numeroEpisodio":1,
+ *  "titulo":"Pilot","avaliacao":9.0,"trechos":[{"inicio":0,"fim":5}]}
+ *
+ * @param trechos Posições do trecho no título (ver Trecho), na ordem em que aparecem
+ */
+public record EpisodioEncontradoDTO(
+        Long serieId,
+        String serie,
+        Integer temporada,
+        Integer numeroEpisodio,
+        String titulo,
+        Double avaliacao,
+        List<Trecho> trechos
+) {
+
+    /**
+     * Uma ocorrência do trecho no título: titulo.substring(inicio, fim)
+     *
+     * @param inicio Índice do 1º caractere (a partir de 0)
+     * @param fim Índice logo depois do último caractere (exclusivo)
+     */
+    public record Trecho(int inicio, int fim) {
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.alura.screenmatch.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO com o andamento de uma importação em lote de séries
+ *
+ * EXEMPLO:
+ * {"id":1,"arquivo":"catalogo.txt","status":"EXECUTANDO","total":5000,"processados":1200,
+ *  "salvos":1150,"ignorados":30,"falhas":20,"seriesPorSegundo":14.2,...}
+ *
+ * @param id Identificador da importação
+ * @param arquivo Arquivo com os títulos
+ * @param status AGUARDANDO, EXECUTANDO, CONCLUIDA ou ERRO
+ * @param total Quantidade de títulos (distintos) no arquivo
+ * @param processados Títulos já consultados na API
+ * @param salvos Séries gravadas no banco
+ * @param ignorados Títulos que já existiam no banco
+ * @param falhas Títulos que não puderam ser importados
+ * @param seriesPorSegundo Vazão da importação (séries salvas por segundo)
+ * @param inicio Momento em que a importação começou
+ * @param fim Momento em que terminou (null enquanto executa)
+ * @param ultimasFalhas Detalhe das 100 falhas mais recentes ("título: motivo"), da mais antiga para a mais nova
+ */
+public record ImportacaoDTO(
+        Long id,
+        String arquivo,
+        String status,
+        Integer total,
+        Integer processados,
+        Integer salvos,
+        Integer ignorados,
+        Integer falhas,
+        Double seriesPorSegundo,
+        Instant inicio,
+        Instant fim,
+        List<String> ultimasFalhas
+) {
+}
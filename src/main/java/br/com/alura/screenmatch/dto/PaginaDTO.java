@@ -0,0 +1,20 @@
+package br.com.alura.screenmatch.dto;
+
+import java.util.List;
+
+/**
+ * Uma página de resultados da paginação por cursor (keyset)
+ *
+ * O cursor é opaco para o cliente: basta devolvê-lo no parâmetro "cursor"
+ * para receber a página seguinte. Na API REST ele vai no cabeçalho
+ * X-Proximo-Cursor (o corpo continua sendo só a lista).
+ *
+ * @param itens Itens desta página, já na ordem pedida
+ * @param proximoCursor Cursor da próxima página (null = esta é a última)
+ */
+public record PaginaDTO<T>(List<T> itens, String proximoCursor) {
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+}
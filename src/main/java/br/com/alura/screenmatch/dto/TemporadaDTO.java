@@ -0,0 +1,28 @@
+package br.com.alura.screenmatch.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Uma temporada de uma série: os episódios + o resumo da temporada
+ *
+ * Na API REST (GET /series/{id}/temporadas/{numero}) o corpo continua sendo só a
+ * lista de episódios; o resumo vai nos cabeçalhos X-Total-Episodios,
+ * X-Media-Avaliacao, X-Primeiro-Lancamento e X-Ultimo-Lancamento.
+ *
+ * @param numero Número da temporada
+ * @param episodios Episódios na ordem do número do episódio
+ * @param totalEpisodios Quantidade de episódios
+ * @param mediaAvaliacao Média das avaliações informadas (null = nenhuma; 0.0 é "sem avaliação")
+ * @param primeiroLancamento Data do 1º episódio lançado (null = nenhuma data)
+ * @param ultimoLancamento Data do último episódio lançado (null = nenhuma data)
+ */
+public record TemporadaDTO(
+        Integer numero,
+        List<EpisodioDTO> episodios,
+        int totalEpisodios,
+        Double mediaAvaliacao,
+        LocalDate primeiroLancamento,
+        LocalDate ultimoLancamento
+) {
+}
@@ -3,13 +3,21 @@ package br.com.alura.screenmatch.model;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 
+import br.com.alura.screenmatch.model.evento.AlteracaoCatalogoListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 // @Entity: Marca esta classe como uma ENTIDADE JPA (será mapeada para uma tabela no banco)
 @Entity
 // @Table: Define o nome da tabela no banco de dados
+// Índice dos episódios por série/temporada: criado na subida pelo IndiceTemporadas
+// (serie_id, temporada, numero_episodio, id) INCLUDE (titulo, avaliacao, data_lancamento)
+// - a listagem paginada (keyset) e GET /series/{id}/temporadas/{numero} percorrem esse
+//   índice na ordem temporada → número do episódio, sem ordenar nada em memória
+// - não fica no @Index porque o JPA não tem INCLUDE (índice de cobertura)
 @Table(name = "episodios")
+// @EntityListeners: cada INSERT/UPDATE/DELETE vira um evento do Spring (ETag, caches...)
+@EntityListeners(AlteracaoCatalogoListener.class)
 public class Episodio {
 
     // ========================================
@@ -18,13 +26,18 @@ public class Episodio {
     
     // @Id: Define este campo como CHAVE PRIMÁRIA da tabela
     @Id
-    // @GeneratedValue: O banco gera o valor automaticamente (auto-increment)
-    // IDENTITY: Usa a estratégia de auto-incremento do próprio banco (SERIAL no PostgreSQL)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // @GeneratedValue: O valor do id vem de uma SEQUENCE do banco
+    // ANTES: IDENTITY (auto-incremento) → o Hibernate só descobre o id depois do INSERT,
+    //        então NÃO consegue agrupar INSERTs em lote (1 ida ao banco por linha)
+    // AGORA: SEQUENCE com allocationSize = 50 (otimizador "pooled") → uma chamada à
+    //        sequence reserva 50 ids e os INSERTs saem em lotes (hibernate.jdbc.batch_size)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "episodio_seq")
+    @SequenceGenerator(name = "episodio_seq", sequenceName = "episodios_seq", allocationSize = 50)
     private Long id;
 
     private Integer temporada;
     private String titulo;
+    @Column(name = "numero_episodio")
     private Integer numeroEpisodio;
     private Double avaliacao;
     private LocalDate dataLancamento;
@@ -55,7 +68,8 @@ public class Episodio {
     public Episodio(Integer numeroTemporada, DadosEpisodio dadosEpisodio) {
         this.temporada = numeroTemporada;
         this.titulo = dadosEpisodio.titulo();
-        this.numeroEpisodio = dadosEpisodio.numero();
+        // Sem null: a paginação por keyset compara (temporada, numeroEpisodio, id)
+        this.numeroEpisodio = dadosEpisodio.numero() != null ? dadosEpisodio.numero() : 0;
 
         try {
             this.avaliacao = Double.valueOf(dadosEpisodio.avaliacao());
@@ -1,19 +1,41 @@
 package br.com.alura.screenmatch.model;
 
+import br.com.alura.screenmatch.model.evento.AlteracaoCatalogoListener;
 import com.fasterxml.jackson.annotation.JsonAlias;
 
-import br.com.alura.screenmatch.service.traducao.ConsultaMyMemory;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
 
+import java.text.Normalizer;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 // Classe que representa uma série de TV
 // @Entity: Marca esta classe como uma ENTIDADE JPA (será mapeada para uma tabela no banco)
 @Entity
 // @Table: Define o nome da tabela no banco (se não usar, o nome será o nome da classe)
-@Table(name = "series")
+// indexes: a fila de tradução busca as séries PENDENTES sem varrer a tabela inteira;
+// (coluna, id) atendem a paginação por keyset de GET /series (ordem=avaliacao / totalTemporadas)
+// - ordem=titulo usa o índice único que já existe em titulo
+// (ultimo_lancamento DESC, id DESC) atende /series/lancamentos: as 5 primeiras entradas do índice
+@Table(name = "series", indexes = {
+        @Index(name = "idx_series_status_traducao", columnList = "status_traducao"),
+        @Index(name = "idx_series_avaliacao_id", columnList = "avaliacao, id"),
+        @Index(name = "idx_series_total_temporadas_id", columnList = "total_temporadas, id"),
+        @Index(name = "idx_series_ultimo_lancamento", columnList = "ultimo_lancamento DESC, id DESC")
+})
+// @EntityListeners: cada INSERT/UPDATE/DELETE vira um evento do Spring (ETag, caches...)
+@EntityListeners(AlteracaoCatalogoListener.class)
 public class Serie {
     
     // ========================================
@@ -22,15 +44,20 @@ public class Serie {
     
     // @Id: Define este campo como CHAVE PRIMÁRIA da tabela
     @Id
-    // @GeneratedValue: O banco gera o valor automaticamente (auto-increment)
-    // IDENTITY: Usa a estratégia de auto-incremento do próprio banco (SERIAL no PostgreSQL)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // @GeneratedValue: O valor do id vem de uma SEQUENCE do banco
+    // ANTES: IDENTITY (auto-incremento) → o Hibernate só descobre o id depois do INSERT,
+    //        então NÃO consegue agrupar INSERTs em lote (1 ida ao banco por linha)
+    // AGORA: SEQUENCE com allocationSize = 50 (otimizador "pooled") → uma chamada à
+    //        sequence reserva 50 ids e os INSERTs saem em lotes (hibernate.jdbc.batch_size)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "serie_seq")
+    @SequenceGenerator(name = "serie_seq", sequenceName = "series_seq", allocationSize = 50)
     private Long id;
 
     // @Column(unique = true): Este campo deve ser Único no banco (não pode ter títulos duplicados)
     @Column(unique = true)
     private String titulo;
 
+    @Column(name = "total_temporadas")
     private Integer totalTemporadas;
     private Double avaliacao;
 
@@ -44,6 +71,32 @@ public class Serie {
     private String poster;
     private String sinopse;
 
+    // Sinopse em inglês como veio da OMDB (texto de entrada da fila de tradução)
+    private String sinopseOriginal;
+
+    // PENDENTE até o FilaTraducaoService traduzir (null = série anterior à fila, nada a fazer)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_traducao")
+    private StatusTraducao statusTraducao;
+
+    // Quantas vezes a tradução falhou (ao chegar no limite, vira FALHOU)
+    private int tentativasTraducao;
+
+    // @Version: o Hibernate soma 1 a cada UPDATE da série (UPDATE ... SET versao = versao + 1)
+    // Usado no ETag de GET /series/{id}: mesma versão = mesma resposta
+    // (a AtualizacaoEpisodiosService também incrementa quando os episódios mudam)
+    // Séries anteriores à coluna recebem 0 na subida (NormalizacaoColunas)
+    @Version
+    private Long versao;
+
+    // Data do episódio mais recente (cópia desnormalizada de MAX(episodios.data_lancamento))
+    // ANTES: /series/lancamentos fazia JOIN com TODOS os episódios + GROUP BY + MAX
+    // AGORA: lê as 5 primeiras entradas do índice idx_series_ultimo_lancamento
+    // Mantida por atualizarUltimoLancamento(); séries antigas são preenchidas na
+    // subida (NormalizacaoColunas)
+    @Column(name = "ultimo_lancamento")
+    private LocalDate ultimoLancamento;
+
     // ========================================
     // RELACIONAMENTO UM-PARA-MUITOS (One-to-Many)
     // ========================================
@@ -52,10 +105,35 @@ public class Serie {
     // mappedBy = "serie": Indica que o relacionamento é mapeado pelo atributo "serie" na classe Episodio
     // Isso significa que a tabela "episodios" terá a coluna "serie_id" (chave estrangeira)
     // cascade = CascadeType.ALL: Operações na série afetam os episódios (salvar, deletar, etc.)
-    // fetch = FetchType.EAGER: Carrega os episódios IMEDIATAMENTE junto com a série
-    @OneToMany(mappedBy = "serie", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // fetch = FetchType.LAZY: Os episódios só são carregados quando a lista é usada (dentro de uma transação)
+    //   ANTES: EAGER → toda série lida do banco trazia todos os episódios junto,
+    //   mesmo nas listagens da API, que nunca mostram episódios
+    // orphanRemoval = true: Episódio removido da lista é apagado do banco (usado na atualização incremental)
+    @OneToMany(mappedBy = "serie", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Episodio> episodios = new ArrayList<>();
 
+    // ========================================
+    // ELENCO NORMALIZADO (busca por ator)
+    // ========================================
+    // O campo "atores" continua sendo o texto da API ("Karl Urban, Jack Quaid, ...")
+    // exibido no SerieDTO; o elenco é o MESMO conteúdo separado, um ator por linha
+    // na tabela series_atores (serie_id, ator), com o nome sem acento e em minúsculas
+    // ANTES: busca por ator = LOWER(atores) LIKE '%nome%' em TODAS as séries
+    // AGORA: a busca procura no índice de series_atores e só então vai às séries
+    // - idx_series_atores_ator (B-tree): nome exato → séries
+    // - idx_series_atores_ator_trgm (GIN de trigramas, ver IndiceTrigramas): parte do nome
+    // Mantido pelo construtor e por setAtores(); séries antigas são preenchidas na
+    // subida (NormalizacaoColunas)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "series_atores", joinColumns = @JoinColumn(name = "serie_id"),
+            indexes = @Index(name = "idx_series_atores_ator", columnList = "ator, serie_id"))
+    @Column(name = "ator", nullable = false)
+    private Set<String> elenco = new HashSet<>();
+
+    // Sequência de acentos/diacríticos que sobra depois da decomposição (NFD): "é" → "e" + "´"
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
     // ========================================
     // CONSTRUTORES
     // ========================================
@@ -64,9 +142,12 @@ public class Serie {
     public Serie() {}
 
     // Construtor que recebe um objeto DadosSerie e converte para Serie
+    // A sinopse NÃO é traduzida aqui (nenhuma chamada de rede ao criar a entidade):
+    // a série é salva com o texto original e entra na fila de tradução (PENDENTE)
     public Serie(DadosSerie dadosSerie) {
         this.titulo = dadosSerie.titulo();
-        this.totalTemporadas = dadosSerie.totalTemporadas();
+        // Sem null nas colunas de ordenação: a paginação por keyset compara (coluna, id)
+        this.totalTemporadas = dadosSerie.totalTemporadas() != null ? dadosSerie.totalTemporadas() : 0;
         
         // Trata avaliação nula ou inválida
         // API pode retornar null, "N/A" ou string vazia
@@ -89,15 +170,19 @@ public class Serie {
             this.genero = Categoria.ACAO; // Categoria padrão quando não informado
         }
         
-        this.atores = dadosSerie.atores();
+        setAtores(dadosSerie.atores());
         this.poster = dadosSerie.poster();
         
-        // Traduz a sinopse usando MyMemory API (gratuita, 5000 caracteres/dia)
-        // Verifica se a sinopse não é nula antes de traduzir
+        // Guarda a sinopse original e marca para tradução em segundo plano
+        // ANTES: this.sinopse = ConsultaMyMemory.obterTraducao(...) → bloqueava na API
+        // e uma falha no tradutor impedia de salvar a série
         if (dadosSerie.sinopse() != null && !dadosSerie.sinopse().isEmpty()) {
-            this.sinopse = ConsultaMyMemory.obterTraducao(dadosSerie.sinopse()).trim();
+            this.sinopseOriginal = dadosSerie.sinopse().trim();
+            this.sinopse = this.sinopseOriginal;
+            this.statusTraducao = StatusTraducao.PENDENTE;
         } else {
             this.sinopse = "Sinopse não disponível";
+            this.statusTraducao = StatusTraducao.CONCLUIDA;
         }
     }
 
@@ -151,6 +236,36 @@ public class Serie {
 
     public void setAtores(String atores) {
         this.atores = atores;
+        // Só mexe na coleção se o elenco mudou (senão o Hibernate regravaria as linhas)
+        Set<String> novoElenco = separarAtores(atores);
+        if (!elenco.equals(novoElenco)) {
+            elenco.retainAll(novoElenco);
+            elenco.addAll(novoElenco);
+        }
+    }
+
+    /**
+     * Nome de ator como fica no elenco: sem acentos, em minúsculas e com um
+     * espaço só entre as palavras ("  Zoë  SALDAÑA " → "zoe saldana")
+     * Usado na gravação e na busca, para as duas compararem o mesmo texto
+     */
+    public static String normalizarAtor(String nome) {
+        String semAcento = DIACRITICOS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcento.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Separa o texto de atores da API ("Karl Urban, Jack Quaid") em nomes normalizados
+     * (a API usa "N/A" quando não informa o elenco)
+     */
+    public static Set<String> separarAtores(String atores) {
+        if (atores == null) {
+            return Set.of();
+        }
+        return Arrays.stream(atores.split(","))
+                .map(Serie::normalizarAtor)
+                .filter(nome -> !nome.isEmpty() && !nome.equals("n/a"))
+                .collect(Collectors.toSet());
     }
 
     public String getPoster() {
@@ -169,6 +284,47 @@ public class Serie {
         this.sinopse = sinopse;
     }
 
+    public String getSinopseOriginal() {
+        return sinopseOriginal;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public LocalDate getUltimoLancamento() {
+        return ultimoLancamento;
+    }
+
+    // Recalcula a data do episódio mais recente a partir da lista de episódios
+    // Chamar sempre que episódios entrarem, saírem ou mudarem de data
+    // (a lista precisa estar carregada: dentro de uma transação)
+    public void atualizarUltimoLancamento() {
+        this.ultimoLancamento = episodios.stream()
+                .map(Episodio::getDataLancamento)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    public StatusTraducao getStatusTraducao() {
+        return statusTraducao;
+    }
+
+    // Chamado pela fila quando a tradução chega
+    public void concluirTraducao(String sinopseTraduzida) {
+        this.sinopse = sinopseTraduzida.trim();
+        this.statusTraducao = StatusTraducao.CONCLUIDA;
+    }
+
+    // Chamado pela fila quando a tradução falha; depois do limite, desiste (mantém o original)
+    public void registrarFalhaTraducao(int maximoTentativas) {
+        this.tentativasTraducao++;
+        if (this.tentativasTraducao >= maximoTentativas) {
+            this.statusTraducao = StatusTraducao.FALHOU;
+        }
+    }
+
     public List<Episodio> getEpisodios() {
         return episodios;
     }
@@ -180,8 +336,13 @@ public class Serie {
         // Sem isso, os episódios seriam salvos com serie_id = NULL
         episodios.forEach(e -> e.setSerie(this));
         
-        // Atribui a lista de episódios ao atributo da classe
-        this.episodios = episodios;
+        // Substitui o CONTEÚDO da lista (não a lista em si)
+        // Com orphanRemoval, o Hibernate exige que a coleção gerenciada continue a mesma
+        if (episodios != this.episodios) {
+            this.episodios.clear();
+            this.episodios.addAll(episodios);
+        }
+        atualizarUltimoLancamento();
     }
 
     // Método toString para exibir as informações da série de forma legível
@@ -194,7 +355,9 @@ public class Serie {
                 "\nAvaliação: " + avaliacao +
                 "\nAtores: " + atores +
                 "\nSinopse: " + sinopse +
-                "\nEpisódios salvos: " + episodios.size() +
+                // Só conta os episódios se já estiverem carregados
+                // (episodios.size() fora de transação lançaria LazyInitializationException)
+                (Hibernate.isInitialized(episodios) ? "\nEpisódios salvos: " + episodios.size() : "") +
                 "\n";
     }
 }
@@ -0,0 +1,11 @@
+package br.com.alura.screenmatch.model;
+
+// Situação da tradução da sinopse de uma série (fila de tradução em segundo plano)
+public enum StatusTraducao {
+    // Salva com a sinopse original, aguardando o FilaTraducaoService
+    PENDENTE,
+    // Sinopse já traduzida
+    CONCLUIDA,
+    // Esgotou as tentativas: fica com a sinopse original
+    FALHOU
+}
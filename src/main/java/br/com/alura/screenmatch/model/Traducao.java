@@ -0,0 +1,57 @@
+package br.com.alura.screenmatch.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Tradução já feita por um provedor (MyMemory, OpenAI...), guardada para não pagar a API de novo
+// É a 2ª camada do CacheTraducoes (a 1ª fica em memória)
+@Entity
+@Table(name = "traducoes")
+public class Traducao {
+
+    // SHA-256 de (provedor + idiomas + texto original): o texto pode ser grande demais para chave
+    @Id
+    @Column(length = 64)
+    private String chave;
+
+    private String provedor;
+    private String idiomas;
+
+    // TEXT: sinopses traduzidas podem passar dos 255 caracteres do VARCHAR padrão
+    @Column(columnDefinition = "TEXT")
+    private String textoTraduzido;
+
+    private Instant criadaEm;
+
+    // Construtor padrão vazio (OBRIGATÓRIO para o JPA funcionar!)
+    public Traducao() {}
+
+    public Traducao(String chave, String provedor, String idiomas, String textoTraduzido) {
+        this.chave = chave;
+        this.provedor = provedor;
+        this.idiomas = idiomas;
+        this.textoTraduzido = textoTraduzido;
+        this.criadaEm = Instant.now();
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public String getProvedor() {
+        return provedor;
+    }
+
+    public String getIdiomas() {
+        return idiomas;
+    }
+
+    public String getTextoTraduzido() {
+        return textoTraduzido;
+    }
+
+    public Instant getCriadaEm() {
+        return criadaEm;
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.alura.screenmatch.model.evento;
+
+import br.com.alura.screenmatch.model.Episodio;
+import br.com.alura.screenmatch.model.Serie;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Listener JPA de Serie e Episodio: transforma cada INSERT/UPDATE/DELETE em um
+ * evento do Spring (SerieAlterada / EpisodioAlterado)
+ *
+ * POR QUE NO LISTENER E NÃO NOS SERVICES?
+ * - Séries e episódios são gravados em vários lugares (menu, importação em lote,
+ *   fila de tradução, atualização incremental); o listener pega todos
+ * - Só dispara quando o Hibernate realmente executa o SQL (entidade sem mudança
+ *   não gera UPDATE nem evento)
+ *
+ * COMO USAR:
+ * - Quem depende do catálogo escuta com @TransactionalEventListener: o evento só
+ *   é entregue DEPOIS do commit (rollback = nenhum evento)
+ * - fallbackExecution = true: gravação fora de transação também é entregue
+ *
+ * O Spring Boot cria os listeners JPA pelo contexto do Spring
+ * (SpringBeanContainer do Hibernate), por isso o @Autowired funciona aqui.
+ */
+public class AlteracaoCatalogoListener {
+
+    @Autowired
+    private ApplicationEventPublisher publicador;
+
+    @PostPersist
+    public void incluido(Object entidade) {
+        publicar(entidade, TipoAlteracao.INCLUSAO);
+    }
+
+    @PostUpdate
+    public void alterado(Object entidade) {
+        publicar(entidade, TipoAlteracao.ALTERACAO);
+    }
+
+    @PostRemove
+    public void removido(Object entidade) {
+        publicar(entidade, TipoAlteracao.EXCLUSAO);
+    }
+
+    private void publicar(Object entidade, TipoAlteracao tipo) {
+        if (publicador == null) {
+            return; // Hibernate fora do Spring (ex: exercícios e testes isolados)
+        }
+        if (entidade instanceof Serie serie) {
+            publicador.publishEvent(new SerieAlterada(serie.getId(), serie.getAvaliacao(), serie.getGenero(),
+                    serie.getVersao(), tipo));
+        } else if (entidade instanceof Episodio episodio) {
+            Long serieId = episodio.getSerie() != null ? episodio.getSerie().getId() : null;
+            publicador.publishEvent(new EpisodioAlterado(episodio.getId(), serieId, episodio.getTemporada(),
+                    episodio.getNumeroEpisodio(), episodio.getTitulo(), episodio.getAvaliacao(), tipo));
+        }
+    }
+}
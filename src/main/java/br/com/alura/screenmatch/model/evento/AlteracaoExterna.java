@@ -0,0 +1,12 @@
+package br.com.alura.screenmatch.model.evento;
+
+/**
+ * Evento: o catálogo mudou no banco por OUTRO processo (ex: o menu rodando junto
+ * com a API). Não diz o que mudou: quem guarda cópias do catálogo descarta tudo.
+ *
+ * Publicado pela VersaoCatalogo quando a assinatura do banco muda por algo que os
+ * eventos SerieAlterada desta aplicação não explicam (as gravações daqui já são
+ * descontadas da assinatura e não disparam este evento).
+ */
+public record AlteracaoExterna() {
+}
@@ -0,0 +1,19 @@
+package br.com.alura.screenmatch.model.evento;
+
+/**
+ * Evento: um episódio foi gravado ou removido (publicado pelo AlteracaoCatalogoListener)
+ *
+ * Leva os campos que os índices em memória usam (rankings), como estavam no
+ * momento da gravação.
+ *
+ * @param id Id do episódio
+ * @param serieId Série do episódio
+ * @param temporada Temporada
+ * @param numeroEpisodio Número do episódio na temporada
+ * @param titulo Título
+ * @param avaliacao Avaliação gravada
+ * @param tipo Inclusão, alteração ou exclusão
+ */
+public record EpisodioAlterado(Long id, Long serieId, Integer temporada, Integer numeroEpisodio,
+                               String titulo, Double avaliacao, TipoAlteracao tipo) {
+}
@@ -0,0 +1,19 @@
+package br.com.alura.screenmatch.model.evento;
+
+import br.com.alura.screenmatch.model.Categoria;
+
+/**
+ * Evento: uma série foi gravada ou removida (publicado pelo AlteracaoCatalogoListener)
+ *
+ * Leva os campos que os índices em memória usam (rankings), como estavam no
+ * momento da gravação.
+ *
+ * @param id Id da série
+ * @param avaliacao Avaliação gravada
+ * @param genero Gênero gravado
+ * @param versao Versão (@Version) depois da gravação; a VersaoCatalogo usa para
+ *               descontar esta gravação da assinatura do banco
+ * @param tipo Inclusão, alteração ou exclusão
+ */
+public record SerieAlterada(Long id, Double avaliacao, Categoria genero, Long versao, TipoAlteracao tipo) {
+}
@@ -0,0 +1,10 @@
+package br.com.alura.screenmatch.model.evento;
+
+/**
+ * O que aconteceu com a linha no banco (INSERT, UPDATE ou DELETE)
+ */
+public enum TipoAlteracao {
+    INCLUSAO,
+    ALTERACAO,
+    EXCLUSAO
+}
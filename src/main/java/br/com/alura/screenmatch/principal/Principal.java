@@ -1,5 +1,8 @@
 package br.com.alura.screenmatch.principal;
 
+import br.com.alura.screenmatch.dto.EpisodioEncontradoDTO;
+import br.com.alura.screenmatch.dto.PaginaDTO;
+import br.com.alura.screenmatch.dto.SerieDTO;
 import br.com.alura.screenmatch.exercicios.ExerciciosResolvidos;
 import br.com.alura.screenmatch.exerciciosjpa.TesteExerciciosJPA;
 import br.com.alura.screenmatch.model.Categoria;
@@ -7,12 +10,14 @@ import br.com.alura.screenmatch.model.DadosSerie;
 import br.com.alura.screenmatch.model.DadosTemporada;
 import br.com.alura.screenmatch.model.Episodio;
 import br.com.alura.screenmatch.model.Serie;
+import br.com.alura.screenmatch.repository.OrdenacaoSerie;
 import br.com.alura.screenmatch.repository.SerieRepository;
+import br.com.alura.screenmatch.service.AtualizacaoEpisodiosService;
+import br.com.alura.screenmatch.service.ConsultaTemporadas;
 import br.com.alura.screenmatch.service.ConsumoApi;
-import br.com.alura.screenmatch.service.ConverteDados;
+import br.com.alura.screenmatch.service.EnderecoOmdb;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.Map;
@@ -23,18 +28,16 @@ import java.util.stream.Collectors;
 public class Principal {
 
     private Scanner leitura = new Scanner(System.in);
-    private ConsumoApi consumo = new ConsumoApi();
-    private ConverteDados conversor = new ConverteDados();
-    private final String ENDERECO = "https://www.omdbapi.com/?t=";
+    private ConsumoApi consumo;
 
-    // 🔒 SEGURANÇA: API Key da variável de ambiente OMDB_API_KEY
-    // Fallback temporário: Se não encontrar a variável, usa a chave do .env
-    private final String API_KEY = "&apikey=" + (System.getenv("OMDB_API_KEY") != null ? System.getenv("OMDB_API_KEY") : "6585022c");
+    // URLs da API OMDB (endereço + API Key ficam centralizados no EnderecoOmdb)
+    private EnderecoOmdb enderecoOmdb;
 
     private List<DadosSerie> dadosSeries = new ArrayList<>();
     private List<Episodio> episodios = new ArrayList<>();
 
-    private List<Serie> series = new ArrayList<>();
+    // Séries por página na opção 3 (Listar series buscadas)
+    private static final int TAMANHO_PAGINA = 20;
 
     // Variável para armazenar a última série buscada (reutilização entre métodos)
     // Usado em buscarSerieporTitulo() e topEpisodiosPorSerie()
@@ -46,11 +49,23 @@ public class Principal {
     // Teste dos exercícios JPA
     private TesteExerciciosJPA testeExerciciosJPA;
 
+    // Busca paralela das temporadas na API OMDB
+    private ConsultaTemporadas consultaTemporadas;
+
+    // Grava só os episódios novos/alterados/removidos (em vez de apagar e reinserir todos)
+    private AtualizacaoEpisodiosService atualizacaoEpisodios;
+
     // Construtor que recebe o repositório por injeção de dependência
     // O Spring passa automaticamente o repositório quando cria esta classe
-    public Principal(SerieRepository repositorio, TesteExerciciosJPA testeExerciciosJPA) {
+    public Principal(SerieRepository repositorio, TesteExerciciosJPA testeExerciciosJPA,
+                     ConsultaTemporadas consultaTemporadas, ConsumoApi consumo,
+                     EnderecoOmdb enderecoOmdb, AtualizacaoEpisodiosService atualizacaoEpisodios) {
         this.repositorio = repositorio;
         this.testeExerciciosJPA = testeExerciciosJPA;
+        this.consultaTemporadas = consultaTemporadas;
+        this.consumo = consumo;
+        this.enderecoOmdb = enderecoOmdb;
+        this.atualizacaoEpisodios = atualizacaoEpisodios;
     }
 
     public void exibeMenu() {
@@ -140,6 +155,8 @@ public class Principal {
         DadosSerie dados = getDadosSerie();
 
         // 2. Converte os dados da API para um objeto Serie (entidade JPA)
+        // A sinopse é salva no original e traduzida depois pelo FilaTraducaoService
+        // (a busca não espera mais pela API de tradução)
         Serie serie = new Serie(dados);
 
         // 3. Salva a série no banco de dados usando o repositório
@@ -153,8 +170,8 @@ public class Principal {
     private DadosSerie getDadosSerie() {
         System.out.println("Digite o nome da série para busca");
         var nomeSerie = leitura.nextLine();
-        var json = consumo.obterDados(ENDERECO + nomeSerie.replace(" ", "+") + API_KEY);
-        DadosSerie dados = conversor.obterDados(json, DadosSerie.class);
+        // Decodifica direto da resposta HTTP (sem passar por uma String intermediária)
+        DadosSerie dados = consumo.obterDados(enderecoOmdb.serie(nomeSerie), DadosSerie.class);
         return dados;
     }
 
@@ -195,57 +212,46 @@ public class Principal {
             var serieEncontrada = serie.get();
             
             // 6. Verifica se a série já tem episódios salvos
-            if (!serieEncontrada.getEpisodios().isEmpty()) {
-                System.out.println("⚠️  Esta série já possui " + serieEncontrada.getEpisodios().size() + " episódios salvos.");
-                System.out.println("Deseja buscar novamente? Isso irá substituir os episódios existentes. (S/N)");
+            // (COUNT no banco: os episódios são LAZY e não vêm junto com a série)
+            long episodiosSalvos = repositorio.contarEpisodios(serieEncontrada.getId());
+            if (episodiosSalvos > 0) {
+                System.out.println("⚠️  Esta série já possui " + episodiosSalvos + " episódios salvos.");
+                System.out.println("Deseja atualizar? Só episódios novos, alterados ou removidos serão gravados. (S/N)");
                 var resposta = leitura.nextLine();
                 if (!resposta.equalsIgnoreCase("S")) {
                     System.out.println("❌ Operação cancelada.");
                     return;
                 }
-                // Limpa os episódios antigos antes de buscar novos
-                serieEncontrada.getEpisodios().clear();
+                // ANTES: getEpisodios().clear() → apagava e reinseria TODOS os episódios
+                // AGORA: o diff é feito no passo 9 pelo AtualizacaoEpisodiosService
             }
             
-            // 7. Lista para armazenar dados de todas as temporadas
-            List<DadosTemporada> temporadas = new ArrayList<>();
-
-            // 8. Busca dados de cada temporada na API OMDB
-            for (int i = 1; i <= serieEncontrada.getTotalTemporadas(); i++) {
-                var json = consumo.obterDados(ENDERECO + serieEncontrada.getTitulo().replace(" ", "+") + "&season=" + i + API_KEY);
-                DadosTemporada dadosTemporada = conversor.obterDados(json, DadosTemporada.class);
-                temporadas.add(dadosTemporada);
-            }
+            // 7. Busca dados de todas as temporadas na API OMDB (em paralelo)
+            // ANTES: for (i = 1..total) { consumo.obterDados(...) } → uma requisição por vez
+            // AGORA: ConsultaTemporadas dispara as requisições ao mesmo tempo e mantém a ordem
+            var resultado = consultaTemporadas.buscar(
+                    i -> enderecoOmdb.temporada(serieEncontrada.getTitulo(), i),
+                    serieEncontrada.getTotalTemporadas());
+
+            // 8. Exibe as temporadas obtidas e as que falharam (sem abortar a importação)
+            List<DadosTemporada> temporadas = resultado.temporadas();
             temporadas.forEach(System.out::println);
+            resultado.falhas().forEach((numero, motivo) ->
+                    System.out.println("⚠️  Falha ao buscar temporada " + numero + ": " + motivo));
 
-            // 9. Converte os dados das temporadas em objetos Episodio
-            // flatMap: Achata a lista de listas em uma única lista
-            // map: Transforma DadosEpisodio em Episodio
-            // filter: Remove temporadas com dados nulos (erro da API)
-            List<Episodio> episodios = temporadas.stream()
-                .filter(t -> t.episodios() != null)  // Filtra temporadas válidas
-                .flatMap(d -> d.episodios().stream()
-                    .map(e -> new Episodio(d.numero(), e)))
-                .collect(Collectors.toList());
-            
             // Verifica se conseguiu buscar episódios
-            if (episodios.isEmpty()) {
+            if (temporadas.isEmpty()) {
                 System.out.println("❌ Erro: Não foi possível buscar episódios da API.");
                 System.out.println("⚠️  Verifique se a API key está correta no arquivo .env");
                 return;
             }
-            
-            // 10. Associa cada episódio à série (define o relacionamento)
-            episodios.forEach(e -> e.setSerie(serieEncontrada));
-            
-            // 11. Define a lista de episódios na série
-            serieEncontrada.setEpisodios(episodios);
-            
-            // 12. Salva a série com os episódios no banco
-            // cascade = CascadeType.ALL: Salva automaticamente os episódios junto com a série
-            repositorio.save(serieEncontrada);
-            
-            System.out.println("\n✅ Episódios salvos com sucesso! Total: " + episodios.size());
+
+            // 9. Compara com o que já está no banco e grava SÓ as diferenças
+            // ANTES: setEpisodios(todos) + save() → DELETE/INSERT de todos os episódios
+            // AGORA: INSERT dos novos, UPDATE dos alterados, DELETE dos que sumiram da API
+            var resumo = atualizacaoEpisodios.atualizar(serieEncontrada.getId(), temporadas);
+
+            System.out.println("\n✅ Episódios salvos com sucesso! Total: " + resumo.total() + " (" + resumo + ")");
 
         } else {
             System.out.println("❌ Série não encontrada!");
@@ -253,19 +259,35 @@ public class Principal {
     }
 
     private void ListarSeriesBuscadas() {
-        // 1. Cria uma lista vazia de objetos Serie
-        series = repositorio.findAll(); // vai pegar no repositorio e trazer todos do banco
-
-        // 2. Transforma a lista de DadosSerie em lista de Serie
-        // series = dadosSeries.stream() // Cria um stream da lista dadosSeries
-        // .map(d -> new Serie(d)) // Para cada DadosSerie (d), cria um novo objeto
-        // Serie
-        // .collect(Collectors.toList()); // Coleta todos os objetos Serie em uma lista
-
-        // 3. Ordena e exibe as séries
-        series.stream() // Cria um novo stream da lista series
-                .sorted(Comparator.comparing(Serie::getGenero)) // Ordena por gênero (categoria)
-                .forEach(System.out::println); // Imprime cada série no console
+        // ANTES: repositorio.findAll() → trazia o catálogo inteiro (com os episódios) para a memória
+        // AGORA: uma página por vez, com a mesma paginação por cursor (keyset) da API REST
+        System.out.println("Ordenar por: 1 - Título | 2 - Avaliação | 3 - Total de temporadas");
+        var ordenacao = switch (leitura.nextLine().trim()) {
+            case "2" -> OrdenacaoSerie.AVALIACAO;
+            case "3" -> OrdenacaoSerie.TOTAL_TEMPORADAS;
+            default -> OrdenacaoSerie.TITULO;
+        };
+        // Avaliação e temporadas: maior primeiro
+        boolean decrescente = ordenacao != OrdenacaoSerie.TITULO;
+
+        String cursor = null;
+        do {
+            PaginaDTO<SerieDTO> pagina = repositorio.paginarSeries(ordenacao, decrescente, cursor, TAMANHO_PAGINA);
+            if (cursor == null && pagina.itens().isEmpty()) {
+                System.out.println("Nenhuma série cadastrada.");
+                return;
+            }
+            pagina.itens().forEach(s -> System.out.printf("%-40s | %-12s | ⭐ %.1f | %d temporadas%n",
+                    s.titulo(), s.genero(), s.avaliacao(), s.totalTemporadas()));
+
+            cursor = pagina.proximoCursor();
+            if (cursor != null) {
+                System.out.println("Mostrar mais? (S/N)");
+                if (!leitura.nextLine().equalsIgnoreCase("S")) {
+                    cursor = null;
+                }
+            }
+        } while (cursor != null);
     }
 
 
@@ -322,24 +344,29 @@ public class Principal {
      * ANTES: Buscava apenas por ator
      *   - findByAtoresContainingIgnoreCase(nomeAtor)
      * 
-     * AGORA: Busca por ator E avaliação mínima
+     * DEPOIS: Busca por ator E avaliação mínima
      *   - findByAtoresContainingIgnoreCaseAndAvaliacaoGreaterThanEqual(nomeAtor, avaliacao)
      *   - And: Combina duas condições (WHERE ... AND ...)
      *   - GreaterThanEqual: Maior ou igual (>=)
+     *   - Problema: LOWER(atores) LIKE '%nome%' lia TODAS as séries
+     * 
+     * AGORA: repositorio.buscarSeriesPorAtor(nomeAtor, avaliacao) (mesma busca de
+     *   GET /series/atores): procura no elenco normalizado (tabela series_atores,
+     *   sem acento e em minúsculas, com índice) e só então lê as séries
      * 
      * Como funciona:
      * 1. Solicita nome do ator ao usuário
      * 2. Solicita avaliação mínima
      * 3. Converte String para Double
      * 4. Busca no banco com DUAS condições:
-     *    - Atores contém o nome (case-insensitive)
+     *    - Algum ator do elenco contém o nome (sem diferenciar maiúsculas nem acentos)
      *    - Avaliação >= valor informado
-     * 5. Exibe séries encontradas com avaliação
+     * 5. Exibe séries encontradas com avaliação (da maior para a menor)
      * 
      * Exemplo SQL gerado:
-     * SELECT * FROM series 
-     * WHERE LOWER(atores) LIKE LOWER('%nomeAtor%') 
-     * AND avaliacao >= 8.0
+     * SELECT s.id, s.titulo, ... FROM series s
+     * WHERE s.avaliacao >= 8.0 AND EXISTS
+     *   (SELECT 1 FROM series_atores a WHERE a.serie_id = s.id AND a.ator LIKE '%karl%')
      * 
      * Exemplos de uso:
      * - Ator: "Karl", Avaliação: 8.0 → Encontra "The Boys" (8.7)
@@ -353,9 +380,8 @@ public class Principal {
         var avaliacao = leitura.nextDouble();
         leitura.nextLine(); // Limpa o buffer do scanner
         
-        // Busca no banco usando Derived Query Method COMPOSTO
-        // Combina duas condições: ator E avaliação mínima
-        List<Serie> seriesEncontradas = repositorio.findByAtoresContainingIgnoreCaseAndAvaliacaoGreaterThanEqual(nomeAtor, avaliacao);
+        // Busca pelo elenco normalizado: ator E avaliação mínima
+        List<SerieDTO> seriesEncontradas = repositorio.buscarSeriesPorAtor(nomeAtor, avaliacao);
         
         // Verifica se encontrou séries
         if (seriesEncontradas.isEmpty()) {
@@ -363,7 +389,7 @@ public class Principal {
         } else {
             System.out.println("\n✅ Séries encontradas com " + nomeAtor + " e avaliação >= " + avaliacao + ":");
             seriesEncontradas.forEach(s -> 
-                System.out.println("- " + s.getTitulo() + " (" + s.getGenero() + ") - Avaliação: " + s.getAvaliacao() + " - Atores: " + s.getAtores())
+                System.out.println("- " + s.titulo() + " (" + s.genero() + ") - Avaliação: " + s.avaliacao() + " - Atores: " + s.atores())
             );
             System.out.println(); // Linha em branco após resultado
         }
@@ -538,52 +564,64 @@ public class Principal {
     }
 
     /**
-     * Método para buscar episódios por trecho do título usando JPQL com JOIN
+     * Método para buscar episódios por trecho do título (mesma busca de
+     * GET /series/episodios/busca)
      * 
      * O QUE FAZ:
-     * Busca episódios em TODAS as séries que contenham o trecho no título
-     * 
-     * JPQL USADO:
-     * SELECT e FROM Serie s JOIN s.episodios e WHERE e.titulo ILIKE %:trechoEpisodio%
-     * 
-     * EXPLICAÇÃO DA QUERY:
-     * - SELECT e: Seleciona apenas os episódios (não a série inteira)
-     * - FROM Serie s: Começa pela entidade Serie (alias 's')
-     * - JOIN s.episodios e: Faz JOIN com a lista de episódios da série (alias 'e')
-     * - WHERE e.titulo ILIKE %:trechoEpisodio%: Busca parcial case-insensitive
-     *   - ILIKE: Case-insensitive LIKE (PostgreSQL)
-     *   - %:trechoEpisodio%: Parâmetro nomeado com wildcards
-     * 
-     * SQL GERADO:
-     * SELECT e.* FROM episodios e
-     * JOIN series s ON e.serie_id = s.id
-     * WHERE LOWER(e.titulo) LIKE LOWER('%trecho%')
-     * 
-     * EXEMPLO DE USO:
-     * - Usuário digita: "pilot" → Encontra todos os episódios com "pilot" no título
-     * - Usuário digita: "finale" → Encontra todos os episódios finais
-     * 
-     * VANTAGENS DO JPQL COM JOIN:
-     * ✅ Busca em TODAS as séries de uma vez
-     * ✅ Retorna apenas episódios (não séries completas)
-     * ✅ Query otimizada com JOIN no banco
-     * ✅ Case-insensitive (ILIKE)
+     * Busca episódios em TODAS as séries que contenham o trecho no título,
+     * os mais relevantes primeiro, uma página por vez (como a opção 3)
+     * 
+     * ANTES: repositorio.episodiosPorTrecho() → SELECT e FROM Serie s JOIN s.episodios e
+     *        WHERE e.titulo ILIKE %:trechoEpisodio% (lia todos os episódios, sem ordem)
+     * AGORA: repositorio.buscarEpisodios() → o ILIKE usa o índice de trigramas
+     *        (IndiceTrigramas) e a página vem ordenada por relevância:
+     *        título igual > começa com o trecho > palavra que começa com ele > meio de palavra
+     * 
+     * EXIBIÇÃO:
+     * - A parte encontrada aparece entre [colchetes] (posições devolvidas na busca)
+     * - Ex: trecho "pilot" → "Breaking Bad | T1E1 | [Pilot]"
      */
     private void buscarEpisodioPorTrecho() {
         System.out.println("Qual o nome do episódio para busca?");
-        var trechoEpisodio = leitura.nextLine();
-        
-        // Busca episódios usando JPQL com JOIN
-        List<Episodio> episodiosEncontrados = repositorio.episodiosPorTrecho(trechoEpisodio);
-        
-        // Verifica se encontrou episódios
-        if (episodiosEncontrados.isEmpty()) {
-            System.out.println("❌ Nenhum episódio encontrado com o trecho: " + trechoEpisodio);
-        } else {
-            System.out.println("\n✅ Episódios encontrados:");
-            episodiosEncontrados.forEach(System.out::println);
-            System.out.println();
+        var trechoEpisodio = leitura.nextLine().strip();
+        if (trechoEpisodio.isEmpty()) {
+            System.out.println("❌ Informe um trecho do título.");
+            return;
+        }
+
+        String cursor = null;
+        do {
+            PaginaDTO<EpisodioEncontradoDTO> pagina = repositorio.buscarEpisodios(trechoEpisodio, cursor, TAMANHO_PAGINA);
+            if (cursor == null && pagina.itens().isEmpty()) {
+                System.out.println("❌ Nenhum episódio encontrado com o trecho: " + trechoEpisodio);
+                return;
+            }
+            if (cursor == null) {
+                System.out.println("\n✅ Episódios encontrados:");
+            }
+            pagina.itens().forEach(e -> System.out.printf("%-30s | T%dE%d | %s%n",
+                    e.serie(), e.temporada(), e.numeroEpisodio(), destacar(e)));
+
+            cursor = pagina.proximoCursor();
+            if (cursor != null) {
+                System.out.println("Mostrar mais? (S/N)");
+                if (!leitura.nextLine().equalsIgnoreCase("S")) {
+                    cursor = null;
+                }
+            }
+        } while (cursor != null);
+        System.out.println();
+    }
+
+    // Título com cada ocorrência do trecho entre [colchetes]
+    private static String destacar(EpisodioEncontradoDTO episodio) {
+        StringBuilder titulo = new StringBuilder(episodio.titulo());
+        // Do fim para o início: inserir um colchete não desloca as posições anteriores
+        List<EpisodioEncontradoDTO.Trecho> trechos = episodio.trechos();
+        for (int i = trechos.size() - 1; i >= 0; i--) {
+            titulo.insert(trechos.get(i).fim(), ']').insert(trechos.get(i).inicio(), '[');
         }
+        return titulo.toString();
     }
 
     /**
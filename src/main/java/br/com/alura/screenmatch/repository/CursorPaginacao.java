@@ -0,0 +1,52 @@
+package br.com.alura.screenmatch.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica/decodifica o cursor opaco da paginação por keyset
+ *
+ * O cursor guarda a POSIÇÃO do último item entregue (valores da ordenação + id),
+ * não um número de página. Por isso séries/episódios inseridos enquanto o cliente
+ * pagina não deslocam as páginas seguintes (com OFFSET, um item novo no início
+ * empurraria o último item de uma página para a próxima, repetindo-o).
+ *
+ * Formato: Base64 URL-safe de "tipo|parte1|parte2|...|parteN"; a última parte
+ * pode conter "|" (ex: um título), por isso é lida como resto do texto.
+ */
+final class CursorPaginacao {
+
+    private static final String SEPARADOR = "|";
+
+    private CursorPaginacao() {
+    }
+
+    static String codificar(String tipo, Object... partes) {
+        StringBuilder texto = new StringBuilder(tipo);
+        for (Object parte : partes) {
+            texto.append(SEPARADOR).append(parte);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(texto.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return As partes do cursor (sem o tipo)
+     * @throws IllegalArgumentException se o cursor for inválido ou de outro tipo de listagem
+     */
+    static String[] decodificar(String cursor, String tipo, int quantidadePartes) {
+        String texto;
+        try {
+            texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        String[] partes = texto.split("\\|", quantidadePartes + 1);
+        if (partes.length != quantidadePartes + 1 || !partes[0].equals(tipo)) {
+            throw new IllegalArgumentException("Cursor inválido para esta listagem");
+        }
+        String[] resultado = new String[quantidadePartes];
+        System.arraycopy(partes, 1, resultado, 0, quantidadePartes);
+        return resultado;
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.alura.screenmatch.repository;
+
+import br.com.alura.screenmatch.dto.EpisodioDTO;
+
+/**
+ * Linha da paginação de episódios (SerieRepositoryPaginadoImpl.paginarEpisodios)
+ *
+ * O EpisodioDTO não tem id, mas o cursor da próxima página precisa dele (desempate
+ * de temporada + número): a consulta projeta direto neste record (SELECT new) e
+ * só o EpisodioDTO vai para a resposta.
+ *
+ * Campos nulos: a série existe, mas não tem (mais) episódios - linha "vazia" do LEFT JOIN.
+ *
+ * @param id Id do episódio (entra no cursor)
+ */
+public record EpisodioPaginado(Long id, Integer temporada, Integer numeroEpisodio, String titulo) {
+
+    EpisodioDTO paraDTO() {
+        return new EpisodioDTO(temporada, numeroEpisodio, titulo);
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.alura.screenmatch.repository;
+
+import br.com.alura.screenmatch.dto.SerieDTO;
+
+import java.util.function.Function;
+
+/**
+ * Ordenações aceitas na paginação de séries
+ *
+ * Cada uma tem um índice (coluna, id) em Serie: a página seguinte começa com
+ * uma busca no índice a partir do último item, sem OFFSET.
+ * O id desempata valores iguais (ex: várias séries com avaliação 8.5).
+ */
+public enum OrdenacaoSerie {
+
+    AVALIACAO("avaliacao", SerieDTO::avaliacao, Double::valueOf),
+    TITULO("titulo", SerieDTO::titulo, Function.identity()),
+    TOTAL_TEMPORADAS("totalTemporadas", SerieDTO::totalTemporadas, Integer::valueOf);
+
+    // Nome do atributo na entidade (usado no JPQL) e no parâmetro ?ordem= da API
+    private final String atributo;
+    private final Function<SerieDTO, Object> valorNoItem;
+    private final Function<String, Object> valorNoCursor;
+
+    OrdenacaoSerie(String atributo, Function<SerieDTO, ?> valorNoItem, Function<String, ?> valorNoCursor) {
+        this.atributo = atributo;
+        this.valorNoItem = valorNoItem::apply;
+        this.valorNoCursor = valorNoCursor::apply;
+    }
+
+    public String getAtributo() {
+        return atributo;
+    }
+
+    Object valorDe(SerieDTO serie) {
+        return valorNoItem.apply(serie);
+    }
+
+    Object converter(String valor) {
+        return valorNoCursor.apply(valor);
+    }
+
+    /**
+     * Aceita o nome do atributo ("avaliacao", "titulo", "totalTemporadas")
+     *
+     * @throws IllegalArgumentException se não for uma ordenação suportada
+     */
+    public static OrdenacaoSerie fromString(String texto) {
+        for (OrdenacaoSerie ordenacao : values()) {
+            if (ordenacao.atributo.equalsIgnoreCase(texto) || ordenacao.name().equalsIgnoreCase(texto)) {
+                return ordenacao;
+            }
+        }
+        throw new IllegalArgumentException("Ordenação não suportada: " + texto
+                + " (use avaliacao, titulo ou totalTemporadas)");
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.alura.screenmatch.repository;
+
+/**
+ * Monta os padrões de LIKE/ILIKE das buscas por trecho
+ *
+ * % e _ são curingas do LIKE: com a barra na frente (ESCAPE '\' nas consultas)
+ * viram texto comum, então "100%" procura literalmente "100%".
+ */
+public final class PadraoLike {
+
+    private PadraoLike() {
+    }
+
+    // Texto em qualquer posição: '%texto%'
+    public static String contem(String texto) {
+        return "%" + escapar(texto) + "%";
+    }
+
+    // Texto no início: 'texto%'
+    public static String comecaCom(String texto) {
+        return escapar(texto) + "%";
+    }
+
+    // Texto no início de uma palavra que não é a primeira: '% texto%'
+    public static String comecaPalavra(String texto) {
+        return "% " + escapar(texto) + "%";
+    }
+
+    private static String escapar(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
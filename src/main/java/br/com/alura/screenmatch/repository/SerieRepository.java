@@ -1,14 +1,30 @@
 package br.com.alura.screenmatch.repository;
 
+import br.com.alura.screenmatch.dto.EpisodioDTO;
+import br.com.alura.screenmatch.dto.SerieDTO;
 import br.com.alura.screenmatch.model.Categoria;
 import br.com.alura.screenmatch.model.Episodio;
 import br.com.alura.screenmatch.model.Serie;
+import br.com.alura.screenmatch.model.StatusTraducao;
+import br.com.alura.screenmatch.service.cache.AssinaturaCatalogo;
+import br.com.alura.screenmatch.service.cache.SerieVersionada;
+import br.com.alura.screenmatch.service.ranking.EntradaEpisodio;
+import br.com.alura.screenmatch.service.ranking.EntradaSerie;
+import br.com.alura.screenmatch.service.temporada.EpisodioTemporada;
+import br.com.alura.screenmatch.service.traducao.SinopsePendente;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 
 // Interface que extende JpaRepository para operações de banco de dados
@@ -24,8 +40,11 @@ import java.util.Optional;
 //   - count(): Conta quantas séries existem
 //   - E muitos outros métodos prontos!
 //
+// SerieRepositoryPaginado: fragmento com a paginação por cursor (keyset),
+// implementado à mão em SerieRepositoryPaginadoImpl
+//
 // NÃO precisamos implementar nada! O Spring Data JPA cria a implementação automaticamente
-public interface SerieRepository extends JpaRepository<Serie, Long> {
+public interface SerieRepository extends JpaRepository<Serie, Long>, SerieRepositoryPaginado {
     
     // ========================================
     // DERIVED QUERY METHODS (Métodos Derivados)
@@ -54,38 +73,9 @@ public interface SerieRepository extends JpaRepository<Serie, Long> {
      */
     Optional<Serie> findByTituloContainingIgnoreCase(String nomeSerie);
     
-    /**
-     * Busca séries por ator/atriz E avaliação mínima (DERIVED QUERY METHOD COMPOSTO)
-     * 
-     * Nomenclatura do método:
-     * - findBy: Indica que é uma busca
-     * - Atores: Primeiro critério de busca
-     * - Containing: Busca parcial no campo atores
-     * - IgnoreCase: Ignora maiúsculas/minúsculas
-     * - And: Combina dois critérios (WHERE ... AND ...)
-     * - Avaliacao: Segundo critério de busca
-     * - GreaterThanEqual: Maior ou igual (>=)
-     * 
-     * SQL gerado automaticamente:
-     * SELECT * FROM series 
-     * WHERE LOWER(atores) LIKE LOWER('%nomeAtor%') 
-     * AND avaliacao >= :avaliacao
-     * 
-     * @param nomeAtor Nome ou parte do nome do ator
-     * @param avaliacao Avaliação mínima (ex: 8.0)
-     * @return List<Serie> - Lista de séries que atendem AMBOS os critérios
-     * 
-     * Exemplos de uso:
-     * - findBy...(...("Karl", 8.0) → Séries com Karl Urban E avaliação >= 8.0
-     * - findBy...(...("Jennifer", 9.0) → Séries com Jennifer Aniston E avaliação >= 9.0
-     * 
-     * Outros operadores disponíveis:
-     * - GreaterThan: Maior que (>)
-     * - LessThan: Menor que (<)
-     * - LessThanEqual: Menor ou igual (<=)
-     * - Between: Entre dois valores
-     */
-    List<Serie> findByAtoresContainingIgnoreCaseAndAvaliacaoGreaterThanEqual(String nomeAtor, Double avaliacao);
+    // Busca por ator/atriz E avaliação mínima: ver buscarSeriesPorAtor() (PROJEÇÕES PARA A API REST)
+    // ANTES: findByAtoresContainingIgnoreCaseAndAvaliacaoGreaterThanEqual(nomeAtor, avaliacao)
+    //        → WHERE LOWER(atores) LIKE LOWER('%nomeAtor%') AND avaliacao >= ? em TODAS as séries
 
     /**
      * Busca Top 5 séries com melhor avaliação (LIMIT + ORDER BY)
@@ -230,42 +220,10 @@ public interface SerieRepository extends JpaRepository<Serie, Long> {
     @Query("SELECT s FROM Serie s WHERE s.totalTemporadas <= :temporadas AND s.avaliacao >= :avaliacao")
     List<Serie> seriesPorTemporadaEAvaliacao(@Param("temporadas") Integer totalTemporadas, @Param("avaliacao") Double avaliacao);
 
-    /**
-     * Busca episódios por trecho do título usando JPQL com JOIN
-     * 
-     * JPQL SYNTAX:
-     * - SELECT e: Seleciona apenas os episódios (entidade Episodio)
-     * - FROM Serie s: Começa pela entidade Serie (alias 's')
-     * - JOIN s.episodios e: Faz JOIN com a lista de episódios (alias 'e')
-     *   - s.episodios: Atributo da entidade Serie (relacionamento @OneToMany)
-     * - WHERE e.titulo ILIKE %:trechoEpisodio%: Busca parcial case-insensitive
-     *   - ILIKE: Case-insensitive LIKE (PostgreSQL)
-     *   - %:trechoEpisodio%: Parâmetro nomeado com wildcards
-     * 
-     * SQL GERADO:
-     * SELECT e.* FROM episodios e
-     * JOIN series s ON e.serie_id = s.id
-     * WHERE LOWER(e.titulo) LIKE LOWER('%trecho%')
-     * 
-     * POR QUE USAR JOIN?
-     * - Busca episódios em TODAS as séries de uma vez
-     * - Retorna apenas episódios (não séries completas)
-     * - Query otimizada no banco de dados
-     * 
-     * DIFERENÇA: ILIKE vs LIKE
-     * - ILIKE: Case-insensitive (PostgreSQL específico)
-     * - LIKE: Case-sensitive
-     * - Para outros bancos, use: LOWER(e.titulo) LIKE LOWER(CONCAT('%', :trechoEpisodio, '%'))
-     * 
-     * @param trechoEpisodio Trecho do título do episódio
-     * @return Lista de episódios que contém o trecho no título
-     * 
-     * Exemplos de uso:
-     * - episodiosPorTrecho("pilot") → Todos os episódios com "pilot" no título
-     * - episodiosPorTrecho("finale") → Todos os episódios finais
-     */
-    @Query("SELECT e FROM Serie s JOIN s.episodios e WHERE e.titulo ILIKE %:trechoEpisodio%")
-    List<Episodio> episodiosPorTrecho(@Param("trechoEpisodio") String trechoEpisodio);
+    // Busca de episódios por trecho do título: ver buscarEpisodios() no fragmento
+    // SerieRepositoryPaginado (relevância + cursor + índice de trigramas).
+    // ANTES: @Query("SELECT e FROM Serie s JOIN s.episodios e WHERE e.titulo ILIKE %:trechoEpisodio%")
+    //        → lia todos os episódios (o "%" do início impede o uso de índice B-tree)
 
     /**
      * Busca Top 5 episódios de uma série específica usando JPQL com JOIN, ORDER BY e LIMIT
@@ -384,68 +342,238 @@ public interface SerieRepository extends JpaRepository<Serie, Long> {
      * - ORDER BY MAX(...) DESC: Ordena séries pela data do episódio mais recente
      * - LIMIT 5: Retorna 5 SÉRIES distintas
      * 
-     * SQL GERADO:
-     * SELECT s.* FROM series s
-     * INNER JOIN episodios e ON s.id = e.serie_id
-     * GROUP BY s.id
-     * ORDER BY MAX(e.data_lancamento) DESC
-     * LIMIT 5
-     * 
      * DIFERENÇA:
      * - Derived Query: Pode retornar 1-5 séries (depende dos dados)
      * - JPQL com GROUP BY: SEMPRE retorna 5 séries distintas
      * 
+     * VERSÃO ATUAL (coluna desnormalizada):
+     * - O GROUP BY ainda lia TODOS os episódios a cada chamada
+     * - Agora cada série guarda a data do seu episódio mais recente (ultimoLancamento)
+     *   e a consulta lê só as 5 primeiras entradas do índice idx_series_ultimo_lancamento
+     * - MUDANÇA DE COMPORTAMENTO: séries sem nenhum episódio com data agora ficam de
+     *   fora. No GROUP BY de antes elas entravam com MAX(data) = NULL e, no
+     *   ORDER BY ... DESC do PostgreSQL (NULLS FIRST), apareciam NA FRENTE das
+     *   séries com lançamentos de verdade
+     * 
+     * SQL GERADO:
+     * SELECT s.* FROM series s
+     * WHERE s.ultimo_lancamento IS NOT NULL
+     * ORDER BY s.ultimo_lancamento DESC, s.id DESC
+     * LIMIT 5
+     * 
      * @return Lista com 5 séries distintas (episódios mais recentes)
      */
-    @Query("SELECT s FROM Serie s " +
-            "JOIN s.episodios e " +
-            "GROUP BY s " +
-            "ORDER BY MAX(e.dataLancamento) DESC LIMIT 5")
+    @Query("SELECT s FROM Serie s WHERE s.ultimoLancamento IS NOT NULL " +
+            "ORDER BY s.ultimoLancamento DESC, s.id DESC LIMIT 5")
     List<Serie> encontrarEpisodiosMaisRecentes();
 
     /**
      * Busca episódios de uma temporada específica de uma série
-     * Usa JPQL com JOIN e WHERE para filtrar por série E temporada
      * 
-     * JPQL SYNTAX:
-     * - SELECT e: Seleciona apenas os episódios (entidade Episodio)
-     * - FROM Serie s: Começa pela entidade Serie (alias 's')
-     * - JOIN s.episodios e: Faz JOIN com a lista de episódios (alias 'e')
-     *   - s.episodios: Atributo da entidade Serie (relacionamento @OneToMany)
-     * - WHERE s.id = :id: Filtra por ID da série
-     * - AND e.temporada = :numero: Filtra por número da temporada
+     * EVOLUÇÃO:
+     * ANTES: SELECT e FROM Serie s JOIN s.episodios e WHERE s.id = :id AND e.temporada = :numero
+     *   - entidades Episodio inteiras, sem ordem definida
+     *   - temporada vazia e série inexistente davam o mesmo resultado (lista vazia)
+     * AGORA:
+     * - SELECT new EpisodioTemporada(...): só as colunas usadas pela API (episódio +
+     *   avaliação e data para o resumo da temporada)
+     * - ORDER BY número do episódio, id: ordem estável (o id desempata números repetidos)
+     * - LEFT JOIN a partir da série, com a temporada no ON: sem linhas = série
+     *   inexistente; uma linha com campos nulos = série sem essa temporada
+     * - Todas as colunas estão no índice de cobertura idx_episodios_temporada_cobertura
+     *   (ver IndiceTemporadas): Index Only Scan, sem ler a tabela de episódios
      * 
      * SQL GERADO:
-     * SELECT e.* FROM series s
-     * JOIN episodios e ON s.id = e.serie_id
-     * WHERE s.id = ? AND e.temporada = ?
-     * 
-     * POR QUE USAR JPQL?
-     * - Busca direta no banco (mais rápido)
-     * - Filtra por série E temporada em uma única query
-     * - Não carrega todos os episódios da série
-     * - Retorna apenas episódios da temporada solicitada
-     * 
-     * ALTERNATIVA (menos eficiente):
-     * - Buscar série completa: findById(id)
-     * - Filtrar episódios em memória: serie.getEpisodios().stream().filter(...)
-     * - Problema: Carrega TODOS os episódios da série
+     * SELECT e.id, e.temporada, e.numero_episodio, e.titulo, e.avaliacao, e.data_lancamento
+     * FROM series s
+     * LEFT JOIN episodios e ON s.id = e.serie_id AND e.temporada = ?
+     * WHERE s.id = ?
+     * ORDER BY e.numero_episodio, e.id
      * 
      * @param id ID da série
      * @param numero Número da temporada (1, 2, 3...)
-     * @return Lista de episódios da temporada
+     * @return Linhas da temporada (vazia = série inexistente)
      * 
      * Exemplos de uso:
-     * - obterEpisodiosPorTemporada(7, 1) → Episódios da temporada 1 de Breaking Bad
-     * - obterEpisodiosPorTemporada(1, 2) → Episódios da temporada 2 de The Boys
+     * - episodiosDaTemporada(7, 1) → Episódios da temporada 1 de Breaking Bad
+     * - episodiosDaTemporada(1, 2) → Episódios da temporada 2 de The Boys
+     */
+    @Query("SELECT new br.com.alura.screenmatch.service.temporada.EpisodioTemporada(" +
+            "e.id, e.temporada, e.numeroEpisodio, e.titulo, e.avaliacao, e.dataLancamento) " +
+            "FROM Serie s LEFT JOIN s.episodios e ON e.temporada = :numero " +
+            "WHERE s.id = :id ORDER BY e.numeroEpisodio, e.id")
+    List<EpisodioTemporada> episodiosDaTemporada(@Param("id") Long id, @Param("numero") Integer numero);
+
+    /**
+     * Lista apenas os TÍTULOS de todas as séries cadastradas
      * 
-     * VANTAGENS:
-     * ✅ Query otimizada (busca apenas o necessário)
-     * ✅ Não carrega episódios de outras temporadas
-     * ✅ Mais rápido que filtrar em memória
-     * ✅ Menos uso de memória
+     * Usado pela importação em lote para descobrir quais séries já existem
+     * sem carregar as entidades (nem os episódios) de todo o catálogo.
+     * 
+     * SQL GERADO:
+     * SELECT s.titulo FROM series s
+     * 
+     * @return Lista de títulos
+     */
+    @Query("SELECT s.titulo FROM Serie s")
+    List<String> listarTitulos();
+
+    /**
+     * Próximo lote da fila de tradução (séries salvas com a sinopse original)
+     * 
+     * Traz só id + sinopse original (SELECT new ...), sem carregar as entidades
+     * nem os episódios. O Pageable vira LIMIT no SQL.
+     * 
+     * SQL GERADO:
+     * SELECT s.id, s.sinopse_original FROM series s
+     * WHERE s.status_traducao = ? AND s.id > ? ORDER BY s.id LIMIT ?
+     * 
+     * @param status Normalmente StatusTraducao.PENDENTE
+     * @param depoisDe Só séries com id maior (último id do lote anterior no mesmo ciclo; 0 = do início)
+     * @param pagina Tamanho do lote (ex: PageRequest.of(0, 20))
+     * @return Sinopses a traduzir, na ordem em que as séries foram salvas
+     */
+    @Query("SELECT new br.com.alura.screenmatch.service.traducao.SinopsePendente(s.id, s.sinopseOriginal) " +
+            "FROM Serie s WHERE s.statusTraducao = :status AND s.id > :depoisDe ORDER BY s.id")
+    List<SinopsePendente> buscarSinopsesPendentes(@Param("status") StatusTraducao status,
+                                                  @Param("depoisDe") Long depoisDe, Pageable pagina);
+
+    long countByStatusTraducao(StatusTraducao status);
+
+    // ========================================
+    // PROJEÇÕES PARA A API REST (SELECT new SerieDTO)
+    // ========================================
+    // ANTES: findAll()/findTop5.../findByGenero() carregavam a entidade Serie inteira
+    //        (e, com FetchType.EAGER, TODOS os episódios de cada série) só para
+    //        o SerieService copiar 8 campos para o SerieDTO
+    // AGORA: o SELECT traz só as colunas do SerieDTO; nada de entidade gerenciada,
+    //        nada de episódios, nada de dirty checking no fim da transação
+
+    // Colunas do SerieDTO, na ordem do construtor do record
+    String SELECT_SERIE_DTO = "SELECT new br.com.alura.screenmatch.dto.SerieDTO(" +
+            "s.id, s.titulo, s.totalTemporadas, s.avaliacao, s.genero, s.atores, s.poster, s.sinopse) ";
+
+    // Top N por avaliação (geral ou de um gênero) - usado só enquanto o RankingCatalogo
+    // não está pronto; mesma ordem do ranking (empate → menor id)
+    @Query(SELECT_SERIE_DTO + "FROM Serie s WHERE (:genero IS NULL OR s.genero = :genero) " +
+            "ORDER BY s.avaliacao DESC NULLS LAST, s.id")
+    List<SerieDTO> topSeriesDTO(@Param("genero") Categoria genero, Pageable pagina);
+
+    // Mesma consulta do encontrarEpisodiosMaisRecentes(): top 5 pelo índice
+    // (ultimo_lancamento DESC, id DESC), sem tocar na tabela de episódios
+    // (séries sem episódio datado ficam de fora - antes apareciam primeiro, com data NULL)
+    @Query(SELECT_SERIE_DTO + "FROM Serie s WHERE s.ultimoLancamento IS NOT NULL " +
+            "ORDER BY s.ultimoLancamento DESC, s.id DESC LIMIT 5")
+    List<SerieDTO> lancamentosDTO();
+
+    @Query(SELECT_SERIE_DTO + "FROM Serie s WHERE s.genero = :genero")
+    List<SerieDTO> seriesDTOPorGenero(@Param("genero") Categoria genero);
+
+    // Colunas do SerieDTO + a versão, lidas juntas: o ETag de GET /series/{id}
+    // sai do mesmo valor que vira o corpo da resposta (ver SerieVersionada)
+    @Query("SELECT new br.com.alura.screenmatch.service.cache.SerieVersionada(s.id, s.titulo, " +
+            "s.totalTemporadas, s.avaliacao, s.genero, s.atores, s.poster, s.sinopse, s.versao) " +
+            "FROM Serie s WHERE s.id = :id")
+    Optional<SerieVersionada> serieVersionadaPorId(@Param("id") Long id);
+
+    /**
+     * Busca séries por ator/atriz E avaliação mínima, pelo elenco normalizado
+     *
+     * COMO FUNCIONA:
+     * - O nome procurado é normalizado como o elenco foi gravado (sem acento,
+     *   minúsculas): "zoë" encontra "Zoe Saldana" e "ZOE" também
+     * - O LIKE vai à tabela series_atores (uma linha por ator, índice de trigramas);
+     *   só as séries que aparecem ali são lidas e filtradas pela avaliação
+     *
+     * SQL GERADO:
+     * SELECT s.id, s.titulo, ... FROM series s
+     * WHERE s.avaliacao >= ? AND EXISTS
+     *   (SELECT 1 FROM series_atores a WHERE a.serie_id = s.id AND a.ator LIKE '%karl%' ESCAPE '\')
+     * ORDER BY s.avaliacao DESC, s.id
+     *
+     * @param nomeAtor Nome ou parte do nome do ator
+     * @param avaliacao Avaliação mínima (ex: 8.0)
+     * @return Séries da melhor para a pior avaliação
+     *
+     * Exemplos de uso:
+     * - buscarSeriesPorAtor("Karl", 8.0) → Séries com Karl Urban E avaliação >= 8.0
+     * - buscarSeriesPorAtor("aniston", 9.0) → Séries com Jennifer Aniston E avaliação >= 9.0
+     */
+    default List<SerieDTO> buscarSeriesPorAtor(String nomeAtor, Double avaliacao) {
+        return seriesDTOPorAtor(PadraoLike.contem(Serie.normalizarAtor(nomeAtor)), avaliacao);
+    }
+
+    // Use buscarSeriesPorAtor() (normaliza o nome e monta o padrão do LIKE)
+    @Query(SELECT_SERIE_DTO + "FROM Serie s WHERE s.avaliacao >= :avaliacao AND EXISTS " +
+            "(SELECT 1 FROM s.elenco a WHERE a LIKE :padrao ESCAPE '\\') ORDER BY s.avaliacao DESC, s.id")
+    List<SerieDTO> seriesDTOPorAtor(@Param("padrao") String padrao, @Param("avaliacao") Double avaliacao);
+
+    // Top N episódios de uma série, já como EpisodioDTO (também só até o ranking ficar pronto)
+    // LEFT JOIN a partir da série: a MESMA consulta diz se a série existe
+    // (sem linhas = não existe; uma linha com campos nulos = série sem episódios)
+    @Query("SELECT new br.com.alura.screenmatch.dto.EpisodioDTO(e.temporada, e.numeroEpisodio, e.titulo) " +
+            "FROM Serie s LEFT JOIN s.episodios e WHERE s.id = :id ORDER BY e.avaliacao DESC NULLS LAST, e.id")
+    List<EpisodioDTO> topEpisodiosDTO(@Param("id") Long serieId, Pageable pagina);
+
+    // ========================================
+    // RANKINGS EM MEMÓRIA (carga do RankingCatalogo)
+    // ========================================
+
+    @Query("SELECT new br.com.alura.screenmatch.service.ranking.EntradaSerie(s.id, s.avaliacao, s.genero) FROM Serie s")
+    List<EntradaSerie> entradasRankingSeries();
+
+    // Todos os episódios: Stream com cursor JDBC (só dentro de transação)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = TAMANHO_FETCH),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new br.com.alura.screenmatch.service.ranking.EntradaEpisodio(" +
+            "e.id, e.serie.id, e.temporada, e.numeroEpisodio, e.titulo, e.avaliacao) FROM Episodio e")
+    Stream<EntradaEpisodio> transmitirEntradasRankingEpisodios();
+
+    // ========================================
+    // VERSÕES (ETag das respostas da API)
+    // ========================================
+
+    // Quantidade de séries + soma das versões: muda a cada INSERT, UPDATE ou DELETE,
+    // inclusive os feitos por OUTRO processo (ex: o menu rodando junto com a API)
+    @Query("SELECT new br.com.alura.screenmatch.service.cache.AssinaturaCatalogo(" +
+            "COUNT(s), COALESCE(SUM(s.versao), 0L)) FROM Serie s")
+    AssinaturaCatalogo assinaturaCatalogo();
+
+    // ========================================
+    // STREAMING (GET /series?formato=ndjson)
+    // ========================================
+    // Stream<>: o Hibernate usa um cursor JDBC (ScrollableResults) e entrega uma linha
+    // por vez, em vez de montar a List inteira antes de devolver
+    // HINT_FETCH_SIZE: o driver do PostgreSQL busca TAMANHO_FETCH linhas por ida ao banco
+    // (sem isso ele traz o resultado todo de uma vez para a memória)
+    // IMPORTANTE: só funciona dentro de uma transação (autocommit desligado) e o Stream
+    // precisa ser fechado (try-with-resources) - ver SerieService.transmitirSeries()
+
+    String TAMANHO_FETCH = "500";
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = TAMANHO_FETCH),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_SERIE_DTO + "FROM Serie s ORDER BY s.titulo, s.id")
+    Stream<SerieDTO> transmitirSeriesDTO();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = TAMANHO_FETCH),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new br.com.alura.screenmatch.dto.EpisodioDTO(e.temporada, e.numeroEpisodio, e.titulo) " +
+            "FROM Episodio e WHERE e.serie.id = :id ORDER BY e.temporada, e.numeroEpisodio, e.id")
+    Stream<EpisodioDTO> transmitirEpisodiosDTO(@Param("id") Long serieId);
+
+    /**
+     * Quantidade de episódios salvos de uma série
+     * Com episodios LAZY, substitui serie.getEpisodios().size() fora de transação
+     * (que lançaria LazyInitializationException)
      */
-    @Query("SELECT e FROM Serie s JOIN s.episodios e WHERE s.id = :id AND e.temporada = :numero")
-    List<Episodio> obterEpisodiosPorTemporada(@Param("id") Long id, @Param("numero") Long numero);
+    @Query("SELECT COUNT(e) FROM Serie s JOIN s.episodios e WHERE s.id = :id")
+    long contarEpisodios(@Param("id") Long id);
 
 }
@@ -0,0 +1,42 @@
+package br.com.alura.screenmatch.repository;
+
+import br.com.alura.screenmatch.dto.EpisodioDTO;
+import br.com.alura.screenmatch.dto.EpisodioEncontradoDTO;
+import br.com.alura.screenmatch.dto.PaginaDTO;
+import br.com.alura.screenmatch.dto.SerieDTO;
+
+/**
+ * Paginação por cursor (keyset) de séries e episódios (listagens e busca por trecho)
+ *
+ * Fragmento do SerieRepository: o Spring Data junta esta interface ao
+ * repositório e usa a implementação SerieRepositoryPaginadoImpl
+ * (as consultas mudam conforme a ordenação, então não cabem num @Query fixo).
+ */
+public interface SerieRepositoryPaginado {
+
+    /**
+     * @param ordenacao Coluna da ordenação (o id desempata)
+     * @param decrescente true = maior primeiro
+     * @param cursor Cursor devolvido pela página anterior (null = primeira página)
+     * @param tamanho Itens por página
+     * @throws IllegalArgumentException se o cursor for de outra ordenação ou inválido
+     */
+    PaginaDTO<SerieDTO> paginarSeries(OrdenacaoSerie ordenacao, boolean decrescente, String cursor, int tamanho);
+
+    /**
+     * Episódios de uma série na ordem temporada → número do episódio
+     *
+     * @return null se a série não existir (descoberto na mesma consulta)
+     * @throws IllegalArgumentException se o cursor for de outra série ou inválido
+     */
+    PaginaDTO<EpisodioDTO> paginarEpisodios(Long serieId, String cursor, int tamanho);
+
+    /**
+     * Episódios de TODAS as séries com o trecho no título (sem diferenciar
+     * maiúsculas/minúsculas), do mais relevante para o menos relevante
+     *
+     * @param trecho Texto procurado (% e _ são procurados literalmente)
+     * @throws IllegalArgumentException se o cursor for de outra busca ou inválido
+     */
+    PaginaDTO<EpisodioEncontradoDTO> buscarEpisodios(String trecho, String cursor, int tamanho);
+}
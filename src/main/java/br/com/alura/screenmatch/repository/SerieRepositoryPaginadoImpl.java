@@ -0,0 +1,229 @@
+package br.com.alura.screenmatch.repository;
+
+import br.com.alura.screenmatch.dto.EpisodioDTO;
+import br.com.alura.screenmatch.dto.EpisodioEncontradoDTO;
+import br.com.alura.screenmatch.dto.PaginaDTO;
+import br.com.alura.screenmatch.dto.SerieDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação da paginação por keyset (ver SerieRepositoryPaginado)
+ *
+ * COMO FUNCIONA:
+ * - Primeira página: ORDER BY coluna, id LIMIT tamanho + 1
+ * - Próximas: WHERE (coluna, id) > (:valor, :id) com os valores do último item
+ *   entregue (comparação de tuplas do PostgreSQL: usa o índice (coluna, id) direto)
+ * - O item a mais (tamanho + 1) só indica se existe próxima página; não é entregue
+ *
+ * POR QUE NÃO OFFSET?
+ * - OFFSET 10000 lê e descarta 10000 linhas: cada página fica mais lenta que a anterior
+ * - Com keyset, toda página custa o mesmo (busca no índice + tamanho linhas)
+ *
+ * SQL GERADO (ex: ordem=avaliacao, decrescente, página 2):
+ * SELECT s.id, s.titulo, ..., s.sinopse FROM series s
+ * WHERE (s.avaliacao, s.id) < (?, ?)
+ * ORDER BY s.avaliacao DESC, s.id DESC
+ * LIMIT 21
+ *
+ * BUSCA POR TRECHO (buscarEpisodios):
+ * - Mesma ideia, mas a "coluna" da ordenação é a RELEVÂNCIA do episódio:
+ *   1. faixa: 0 = título igual ao trecho, 1 = começa com ele, 2 = alguma palavra
+ *      começa com ele, 3 = aparece no meio de uma palavra
+ *   2. posição da 1ª ocorrência (mais perto do início = mais relevante)
+ *   3. tamanho do título (mais curto = o trecho ocupa mais dele)
+ *   4. id (desempate)
+ * - O filtro (titulo ILIKE '%trecho%') usa o índice GIN de trigramas
+ *   idx_episodios_titulo_trgm (ver IndiceTrigramas); a relevância só é calculada
+ *   para os episódios que passaram pelo filtro
+ */
+class SerieRepositoryPaginadoImpl implements SerieRepositoryPaginado {
+
+    private static final String CURSOR_SERIE = "serie";
+    private static final String CURSOR_EPISODIO = "episodio";
+    private static final String CURSOR_BUSCA = "busca";
+
+    // Relevância do episódio na busca por trecho (ver comentário da classe)
+    private static final String FAIXA_BUSCA = "CASE WHEN LOWER(e.titulo) = LOWER(:trecho) THEN 0 " +
+            "WHEN e.titulo ILIKE :prefixo ESCAPE '\\' THEN 1 " +
+            "WHEN e.titulo ILIKE :palavra ESCAPE '\\' THEN 2 ELSE 3 END";
+    private static final String POSICAO_BUSCA = "LOCATE(LOWER(:trecho), LOWER(e.titulo))";
+    private static final String RELEVANCIA_BUSCA = FAIXA_BUSCA + ", " + POSICAO_BUSCA + ", LENGTH(e.titulo), e.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public PaginaDTO<SerieDTO> paginarSeries(OrdenacaoSerie ordenacao, boolean decrescente, String cursor, int tamanho) {
+        String coluna = "s." + ordenacao.getAtributo();
+        String direcao = decrescente ? "DESC" : "ASC";
+
+        StringBuilder jpql = new StringBuilder(SerieRepository.SELECT_SERIE_DTO).append("FROM Serie s");
+        String[] posicao = null;
+        if (cursor != null) {
+            // ordenação | direção | id | valor (o valor por último: títulos podem ter "|")
+            posicao = CursorPaginacao.decodificar(cursor, CURSOR_SERIE, 4);
+            if (!posicao[0].equals(ordenacao.name()) || !posicao[1].equals(direcao)) {
+                throw new IllegalArgumentException("O cursor é de outra ordenação (" + posicao[0] + " " + posicao[1] + ")");
+            }
+            jpql.append(" WHERE (").append(coluna).append(", s.id) ")
+                    .append(decrescente ? "<" : ">").append(" (:valor, :id)");
+        }
+        jpql.append(" ORDER BY ").append(coluna).append(' ').append(direcao)
+                .append(", s.id ").append(direcao);
+
+        TypedQuery<SerieDTO> consulta = entityManager.createQuery(jpql.toString(), SerieDTO.class)
+                .setMaxResults(tamanho + 1);
+        if (posicao != null) {
+            consulta.setParameter("id", lerId(posicao[2]));
+            consulta.setParameter("valor", converter(ordenacao, posicao[3]));
+        }
+
+        List<SerieDTO> series = new ArrayList<>(consulta.getResultList());
+        String proximo = null;
+        if (series.size() > tamanho) {
+            series.remove(tamanho);
+            SerieDTO ultima = series.get(tamanho - 1);
+            proximo = CursorPaginacao.codificar(CURSOR_SERIE, ordenacao.name(), direcao,
+                    ultima.id(), ordenacao.valorDe(ultima));
+        }
+        return new PaginaDTO<>(series, proximo);
+    }
+
+    @Override
+    public PaginaDTO<EpisodioDTO> paginarEpisodios(Long serieId, String cursor, int tamanho) {
+        // LEFT JOIN a partir da série: uma consulta só responde "quais episódios" E
+        // "a série existe?" (sem linhas = série inexistente; uma linha com o episódio
+        // nulo = série sem episódios depois do cursor). Por isso o keyset fica no ON.
+        // SELECT new EpisodioPaginado: o EpisodioDTO + o id do episódio (o cursor precisa dele)
+        StringBuilder jpql = new StringBuilder("SELECT new br.com.alura.screenmatch.repository.EpisodioPaginado(" +
+                "e.id, e.temporada, e.numeroEpisodio, e.titulo) FROM Serie s LEFT JOIN s.episodios e");
+        String[] posicao = null;
+        if (cursor != null) {
+            // série | temporada | número | id
+            posicao = CursorPaginacao.decodificar(cursor, CURSOR_EPISODIO, 4);
+            if (!posicao[0].equals(String.valueOf(serieId))) {
+                throw new IllegalArgumentException("O cursor é de outra série");
+            }
+            jpql.append(" ON (e.temporada, e.numeroEpisodio, e.id) > (:temporada, :numero, :id)");
+        }
+        jpql.append(" WHERE s.id = :serieId ORDER BY e.temporada, e.numeroEpisodio, e.id");
+
+        TypedQuery<EpisodioPaginado> consulta = entityManager.createQuery(jpql.toString(), EpisodioPaginado.class)
+                .setParameter("serieId", serieId)
+                .setMaxResults(tamanho + 1);
+        if (posicao != null) {
+            try {
+                consulta.setParameter("temporada", Integer.valueOf(posicao[1]));
+                consulta.setParameter("numero", Integer.valueOf(posicao[2]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            consulta.setParameter("id", lerId(posicao[3]));
+        }
+
+        List<EpisodioPaginado> linhas = consulta.getResultList();
+        if (linhas.isEmpty()) {
+            return null;
+        }
+        List<EpisodioDTO> episodios = new ArrayList<>();
+        for (EpisodioPaginado linha : linhas.subList(0, Math.min(tamanho, linhas.size()))) {
+            if (linha.id() != null) {
+                episodios.add(linha.paraDTO());
+            }
+        }
+        String proximo = null;
+        if (linhas.size() > tamanho) {
+            EpisodioPaginado ultima = linhas.get(tamanho - 1);
+            proximo = CursorPaginacao.codificar(CURSOR_EPISODIO, serieId,
+                    ultima.temporada(), ultima.numeroEpisodio(), ultima.id());
+        }
+        return new PaginaDTO<>(episodios, proximo);
+    }
+
+    @Override
+    public PaginaDTO<EpisodioEncontradoDTO> buscarEpisodios(String trecho, String cursor, int tamanho) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT e.id, s.id, s.titulo, e.temporada, e.numeroEpisodio, e.titulo, e.avaliacao, ")
+                .append(RELEVANCIA_BUSCA)
+                .append(" FROM Episodio e JOIN e.serie s WHERE e.titulo ILIKE :contem ESCAPE '\\'");
+        String[] posicao = null;
+        if (cursor != null) {
+            // faixa | posição | tamanho do título | id | trecho (o trecho por último: pode ter "|")
+            posicao = CursorPaginacao.decodificar(cursor, CURSOR_BUSCA, 5);
+            if (!posicao[4].equals(trecho)) {
+                throw new IllegalArgumentException("O cursor é de outra busca");
+            }
+            jpql.append(" AND (").append(RELEVANCIA_BUSCA).append(") > (:faixa, :posicao, :comprimento, :id)");
+        }
+        jpql.append(" ORDER BY ").append(RELEVANCIA_BUSCA);
+
+        TypedQuery<Object[]> consulta = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("trecho", trecho)
+                .setParameter("contem", PadraoLike.contem(trecho))
+                .setParameter("prefixo", PadraoLike.comecaCom(trecho))
+                .setParameter("palavra", PadraoLike.comecaPalavra(trecho))
+                .setMaxResults(tamanho + 1);
+        if (posicao != null) {
+            try {
+                consulta.setParameter("faixa", Integer.valueOf(posicao[0]));
+                consulta.setParameter("posicao", Integer.valueOf(posicao[1]));
+                consulta.setParameter("comprimento", Integer.valueOf(posicao[2]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            consulta.setParameter("id", lerId(posicao[3]));
+        }
+
+        List<Object[]> linhas = consulta.getResultList();
+        List<EpisodioEncontradoDTO> episodios = new ArrayList<>();
+        for (int i = 0; i < Math.min(tamanho, linhas.size()); i++) {
+            Object[] linha = linhas.get(i);
+            String titulo = (String) linha[5];
+            episodios.add(new EpisodioEncontradoDTO((Long) linha[1], (String) linha[2], (Integer) linha[3],
+                    (Integer) linha[4], titulo, (Double) linha[6], localizar(titulo, trecho)));
+        }
+        String proximo = null;
+        if (linhas.size() > tamanho) {
+            Object[] ultima = linhas.get(tamanho - 1);
+            proximo = CursorPaginacao.codificar(CURSOR_BUSCA, ultima[7], ultima[8], ultima[9], ultima[0], trecho);
+        }
+        return new PaginaDTO<>(episodios, proximo);
+    }
+
+    // Todas as ocorrências do trecho no título, sem diferenciar maiúsculas/minúsculas
+    // (regionMatches compara no próprio título: os índices valem para o texto original)
+    private static List<EpisodioEncontradoDTO.Trecho> localizar(String titulo, String trecho) {
+        List<EpisodioEncontradoDTO.Trecho> trechos = new ArrayList<>();
+        int inicio = 0;
+        while (inicio + trecho.length() <= titulo.length()) {
+            if (titulo.regionMatches(true, inicio, trecho, 0, trecho.length())) {
+                trechos.add(new EpisodioEncontradoDTO.Trecho(inicio, inicio + trecho.length()));
+                inicio += trecho.length();
+            } else {
+                inicio++;
+            }
+        }
+        return trechos;
+    }
+
+    private static Long lerId(String texto) {
+        try {
+            return Long.valueOf(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    private static Object converter(OrdenacaoSerie ordenacao, String valor) {
+        try {
+            return ordenacao.converter(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.alura.screenmatch.repository;
+
+import br.com.alura.screenmatch.model.Traducao;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// Camada persistente do cache de traduções (chave = hash do texto original)
+public interface TraducaoRepository extends JpaRepository<Traducao, String> {
+}
@@ -0,0 +1,162 @@
+package br.com.alura.screenmatch.service;
+
+import br.com.alura.screenmatch.model.DadosEpisodio;
+import br.com.alura.screenmatch.model.DadosTemporada;
+import br.com.alura.screenmatch.model.Episodio;
+import br.com.alura.screenmatch.model.Serie;
+import br.com.alura.screenmatch.repository.SerieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Atualização INCREMENTAL dos episódios de uma série
+ *
+ * PROBLEMA:
+ * - buscarEpisodioPorSerie() fazia getEpisodios().clear() e salvava tudo de novo
+ * - Série longa (ex: 30 temporadas) = milhares de DELETE + INSERT a cada atualização,
+ *   mesmo quando só um episódio novo saiu
+ *
+ * COMO FUNCIONA (diff):
+ * - Compara os episódios vindos da API com os do banco pela chave (temporada, numeroEpisodio)
+ * - Existe nos dois e mudou título/avaliação/data → UPDATE só desse episódio
+ * - Só existe na API → INSERT
+ * - Só existe no banco (numa temporada que a API devolveu) → DELETE (orphanRemoval)
+ * - Igual nos dois → nenhum SQL (o Hibernate não marca a entidade como suja)
+ *
+ * IMPORTANTE:
+ * - Temporadas que FALHARAM na busca não entram no diff: os episódios delas
+ *   ficam como estão (uma falha de rede não apaga dados do banco)
+ * - Se algum episódio mudou, a versão da série (@Version) também sobe: assim a
+ *   assinatura do catálogo (VersaoCatalogo) percebe a mudança mesmo quando ela
+ *   foi feita por outro processo
+ */
+@Service
+public class AtualizacaoEpisodiosService {
+
+    @Autowired
+    private SerieRepository repositorio;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Aplica no banco as diferenças entre os episódios salvos e os da API
+     *
+     * @param serieId Série que será atualizada
+     * @param temporadas Temporadas obtidas da API (apenas as que vieram com sucesso)
+     * @return Quantos episódios foram inseridos, atualizados, removidos e mantidos
+     */
+    @Transactional
+    public Resumo atualizar(Long serieId, Iterable<DadosTemporada> temporadas) {
+        Serie serie = repositorio.findById(serieId)
+                .orElseThrow(() -> new IllegalArgumentException("Série não encontrada: " + serieId));
+
+        // 1. Episódios recebidos, indexados por (temporada, número)
+        // Se a API repetir um episódio, vale o primeiro
+        Map<Chave, Episodio> recebidos = new LinkedHashMap<>();
+        Set<Integer> temporadasRecebidas = new HashSet<>();
+        for (DadosTemporada temporada : temporadas) {
+            if (temporada.episodios() == null) {
+                continue;
+            }
+            temporadasRecebidas.add(temporada.numero());
+            for (DadosEpisodio dados : temporada.episodios()) {
+                Episodio episodio = new Episodio(temporada.numero(), dados);
+                recebidos.putIfAbsent(new Chave(episodio.getTemporada(), episodio.getNumeroEpisodio()), episodio);
+            }
+        }
+
+        int atualizados = 0;
+        int removidos = 0;
+        int inalterados = 0;
+
+        // 2. Percorre o que já está no banco: atualiza, mantém ou remove
+        Iterator<Episodio> existentes = serie.getEpisodios().iterator();
+        while (existentes.hasNext()) {
+            Episodio existente = existentes.next();
+            Episodio novo = recebidos.remove(new Chave(existente.getTemporada(), existente.getNumeroEpisodio()));
+            if (novo != null) {
+                if (copiarAlteracoes(novo, existente)) {
+                    atualizados++;
+                } else {
+                    inalterados++;
+                }
+            } else if (temporadasRecebidas.contains(existente.getTemporada())) {
+                // Sumiu de uma temporada que a API devolveu: orphanRemoval gera o DELETE
+                existentes.remove();
+                removidos++;
+            } else {
+                inalterados++;
+            }
+        }
+
+        // 3. O que sobrou nos recebidos é episódio novo
+        recebidos.values().forEach(episodio -> {
+            episodio.setSerie(serie);
+            serie.getEpisodios().add(episodio);
+        });
+
+        if (!recebidos.isEmpty() || atualizados > 0 || removidos > 0) {
+            // Data do episódio mais recente (coluna usada por /series/lancamentos)
+            serie.atualizarUltimoLancamento();
+            // OPTIMISTIC_FORCE_INCREMENT: UPDATE series SET versao = versao + 1 no commit
+            entityManager.lock(serie, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+
+        // Entidade gerenciada: o flush no commit grava só o que mudou
+        return new Resumo(recebidos.size(), atualizados, removidos, inalterados);
+    }
+
+    // Copia os campos que a API pode alterar; retorna true se algo mudou
+    private boolean copiarAlteracoes(Episodio origem, Episodio destino) {
+        boolean mudou = false;
+        if (!Objects.equals(origem.getTitulo(), destino.getTitulo())) {
+            destino.setTitulo(origem.getTitulo());
+            mudou = true;
+        }
+        if (!Objects.equals(origem.getAvaliacao(), destino.getAvaliacao())) {
+            destino.setAvaliacao(origem.getAvaliacao());
+            mudou = true;
+        }
+        if (!Objects.equals(origem.getDataLancamento(), destino.getDataLancamento())) {
+            destino.setDataLancamento(origem.getDataLancamento());
+            mudou = true;
+        }
+        return mudou;
+    }
+
+    private record Chave(Integer temporada, Integer numero) {
+    }
+
+    /**
+     * Resultado da atualização
+     *
+     * @param inseridos Episódios novos
+     * @param atualizados Episódios com título, avaliação ou data alterados
+     * @param removidos Episódios que não existem mais na API
+     * @param inalterados Episódios que continuaram iguais (nenhum SQL)
+     */
+    public record Resumo(int inseridos, int atualizados, int removidos, int inalterados) {
+
+        public int total() {
+            return inseridos + atualizados + inalterados;
+        }
+
+        @Override
+        public String toString() {
+            return "inseridos=" + inseridos + ", atualizados=" + atualizados
+                    + ", removidos=" + removidos + ", inalterados=" + inalterados;
+        }
+    }
+}
@@ -1,93 +1,95 @@
 package br.com.alura.screenmatch.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import javax.net.ssl.*;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.security.cert.X509Certificate;
-import java.time.Duration;
-
-public class ConsultaChatGPT {
+import br.com.alura.screenmatch.service.traducao.CacheTraducoes;
+import br.com.alura.screenmatch.service.traducao.ProvedorTraducao;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+// @Service: para usar o CacheTraducoes compartilhado (textos já traduzidos não vão à OpenAI)
+// ProvedorTraducao: participa da cadeia do TraducaoService (fallback da MyMemory)
+@Service
+public class ConsultaChatGPT implements ProvedorTraducao {
     
     // IMPORTANTE: Substitua pela sua chave da OpenAI ou configure como variável de ambiente
-    private static final String API_KEY = System.getenv("OPENAI_API_KEY") != null ? 
-            System.getenv("OPENAI_API_KEY") : "sua-chave-openai-aqui";
-    private static final String API_URL = "https://api.openai.com/v1/completions";
-    
-    public static String obterTraducao(String texto) {
-        try {
-            // Cria HttpClient que ignora validação SSL (igual projeto FIPE)
-            HttpClient client = HttpClient.newBuilder()
-                    .sslContext(createInsecureSSLContext())
-                    .connectTimeout(Duration.ofSeconds(30))
-                    .build();
-            
-            // Monta o JSON da requisição
-            String textoEscapado = texto.replace("\"", "\\\"").replace("\n", " ");
-            String jsonBody = "{" +
-                    "\"model\": \"gpt-3.5-turbo-instruct\"," +
-                    "\"prompt\": \"traduza para o português o texto: " + textoEscapado + "\"," +
-                    "\"max_tokens\": 1000," +
-                    "\"temperature\": 0.7" +
-                    "}";
-            
-            // Cria a requisição HTTP
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_URL))
-                    .header("Content-Type", "application/json")
-                    .header("Authorization", "Bearer " + API_KEY)
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                    .build();
-            
-            System.out.println("[INFO] Enviando requisição para OpenAI...");
-            
-            // Envia a requisição
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            // Processa a resposta
-            if (response.statusCode() == 200) {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response.body());
-                String traducao = root.path("choices").get(0).path("text").asText().trim();
-                System.out.println("[INFO] Tradução recebida com sucesso!");
-                return traducao;
-            } else {
-                System.err.println("[ERRO] API retornou status: " + response.statusCode());
-                System.err.println("[ERRO] Resposta: " + response.body());
-                return texto;
-            }
-            
-        } catch (Exception e) {
-            System.err.println("[ERRO] Falha ao traduzir: " + e.getMessage());
-            return texto;
+    private static final String CHAVE_EXEMPLO = "sua-chave-openai-aqui";
+
+    // ANTES: HttpClient próprio (com SSL sem validação), fora do limite de taxa e das novas tentativas
+    // AGORA: o POST passa pelo ConsumoApi compartilhado, como as chamadas à OMDB e à MyMemory
+    @Autowired
+    private ConsumoApi consumo;
+
+    @Autowired
+    private CacheTraducoes cache;
+
+    // Codec JSON compartilhado (antes: um ObjectMapper novo a cada tradução)
+    @Autowired
+    private ConverteDados conversor;
+
+    // Endereço da API (configurável para apontar para o simulador local)
+    @Value("${screenmatch.openai.url:https://api.openai.com/v1/completions}")
+    private String apiUrl;
+
+    // Chave: screenmatch.openai.chave (ex: perfil simulador) ou variável de ambiente OPENAI_API_KEY
+    @Value("${screenmatch.openai.chave:${OPENAI_API_KEY:" + CHAVE_EXEMPLO + "}}")
+    private String apiKey;
+
+    public String obterTraducao(String texto) {
+        return cache.obter(nome(), "en|pt-br", texto, this::traduzirNaApi);
+    }
+
+    @Override
+    public String nome() {
+        return "openai";
+    }
+
+    // Sem chave configurada a cadeia nem tenta a OpenAI
+    @Override
+    public boolean habilitado() {
+        return !CHAVE_EXEMPLO.equals(apiKey);
+    }
+
+    @Override
+    public String traduzir(String texto) {
+        return obterTraducao(texto);
+    }
+
+    // ANTES: qualquer erro devolvia o próprio texto (em inglês) como se fosse a tradução
+    // AGORA: lança ConsumoApiException, e a cadeia de tradução tenta o próximo provedor
+    private String traduzirNaApi(String texto) {
+        // Monta o JSON da requisição (o Jackson escapa aspas, barras e quebras de linha)
+        String jsonBody = conversor.escrever(new RequisicaoCompletion("gpt-3.5-turbo-instruct",
+                "traduza para o português o texto: " + texto.replace("\n", " "), 1000, 0.7));
+
+        System.out.println("[INFO] Enviando requisição para OpenAI...");
+
+        // Status diferente de 200 (depois das novas tentativas) já vem como ConsumoApiException
+        RespostaCompletion resposta = consumo.enviarDados(apiUrl, jsonBody,
+                Map.of("Authorization", "Bearer " + apiKey), RespostaCompletion.class);
+        if (resposta.choices() == null || resposta.choices().isEmpty()) {
+            throw new ConsumoApiException("OpenAI não retornou nenhuma tradução", 200, null);
         }
+        String traducao = resposta.choices().get(0).text().trim();
+        System.out.println("[INFO] Tradução recebida com sucesso!");
+        return traducao;
     }
-    
-    // Método para criar SSLContext que ignora validação de certificados
-    // Necessário para contornar problemas de SSL em ambientes corporativos
-    private static SSLContext createInsecureSSLContext() {
-        try {
-            TrustManager[] trustAllCerts = new TrustManager[]{
-                new X509TrustManager() {
-                    public X509Certificate[] getAcceptedIssuers() {
-                        return null;
-                    }
-                    public void checkClientTrusted(X509Certificate[] certs, String authType) {
-                    }
-                    public void checkServerTrusted(X509Certificate[] certs, String authType) {
-                    }
-                }
-            };
-            
-            SSLContext sslContext = SSLContext.getInstance("TLS");
-            sslContext.init(null, trustAllCerts, new java.security.SecureRandom());
-            return sslContext;
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao criar SSLContext", e);
+
+    // Corpo da requisição /v1/completions
+    record RequisicaoCompletion(String model, String prompt,
+                                @JsonProperty("max_tokens") int maxTokens, double temperature) {
+    }
+
+    // Só o que é usado da resposta: choices[0].text
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record RespostaCompletion(List<Escolha> choices) {
+
+        @JsonIgnoreProperties(ignoreUnknown = true)
+        record Escolha(String text) {
         }
     }
 }
@@ -0,0 +1,109 @@
+package br.com.alura.screenmatch.service;
+
+import br.com.alura.screenmatch.model.DadosTemporada;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Busca as temporadas de uma série na API OMDB em PARALELO
+ *
+ * PROBLEMA:
+ * - Principal.buscarEpisodioPorSerie() buscava uma temporada por vez
+ * - Série com 20 temporadas = 20 requisições em sequência (uma esperando a outra)
+ *
+ * SOLUÇÃO:
+ * - Dispara todas as requisições "&season=N" ao mesmo tempo
+ * - Um pool de threads limita quantas requisições rodam simultaneamente
+ * - A ordem das temporadas é preservada no resultado
+ * - Falha em UMA temporada não aborta a importação inteira
+ *
+ * CONFIGURAÇÃO (application.properties):
+ * - screenmatch.temporadas.concorrencia: máximo de requisições simultâneas
+ *   (1 = comportamento sequencial antigo)
+ *
+ * OBS: O projeto usa Java 17, que ainda não tem virtual threads (Java 21+).
+ * Por isso usamos um pool fixo de threads com o tamanho do limite de concorrência.
+ */
+@Service
+public class ConsultaTemporadas {
+
+    @Autowired
+    private ConsumoApi consumo;
+
+    private final ExecutorService executor;
+
+    public ConsultaTemporadas(@Value("${screenmatch.temporadas.concorrencia:4}") int concorrencia) {
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, concorrencia), r -> {
+            Thread thread = new Thread(r, "temporadas-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Busca todas as temporadas de uma série
+     *
+     * @param enderecoTemporada Função que monta a URL de cada temporada (recebe o número da temporada)
+     * @param totalTemporadas Quantidade de temporadas da série
+     * @return Temporadas obtidas (em ordem) e falhas por temporada
+     */
+    public Resultado buscar(IntFunction<String> enderecoTemporada, int totalTemporadas) {
+        List<CompletableFuture<DadosTemporada>> futuros = new ArrayList<>();
+        for (int i = 1; i <= totalTemporadas; i++) {
+            String endereco = enderecoTemporada.apply(i);
+            futuros.add(CompletableFuture.supplyAsync(() -> buscarTemporada(endereco), executor));
+        }
+
+        List<DadosTemporada> temporadas = new ArrayList<>();
+        Map<Integer, String> falhas = new TreeMap<>();
+
+        // Percorre os futuros NA ORDEM em que foram criados (temporada 1, 2, 3...)
+        // assim a lista final fica ordenada mesmo que as respostas cheguem fora de ordem
+        for (int i = 0; i < futuros.size(); i++) {
+            int numeroTemporada = i + 1;
+            try {
+                temporadas.add(futuros.get(i).join());
+            } catch (Exception e) {
+                Throwable causa = e.getCause() != null ? e.getCause() : e;
+                falhas.put(numeroTemporada, causa.getMessage());
+            }
+        }
+
+        return new Resultado(temporadas, falhas);
+    }
+
+    private DadosTemporada buscarTemporada(String endereco) {
+        DadosTemporada dadosTemporada = consumo.obterDados(endereco, DadosTemporada.class);
+        if (dadosTemporada.episodios() == null) {
+            throw new IllegalStateException("API não retornou episódios para a temporada");
+        }
+        return dadosTemporada;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Resultado da busca paralela
+     *
+     * @param temporadas Temporadas obtidas com sucesso, na ordem da série
+     * @param falhas Número da temporada → motivo da falha
+     */
+    public record Resultado(List<DadosTemporada> temporadas, Map<Integer, String> falhas) {
+    }
+}
@@ -1,10 +1,34 @@
 package br.com.alura.screenmatch.service;
 
+import br.com.alura.screenmatch.service.cache.CacheRespostasDisco;
+import br.com.alura.screenmatch.service.resiliencia.HistoricoLatencia;
+import br.com.alura.screenmatch.service.resiliencia.LimitadorTaxa;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
@@ -12,28 +36,469 @@ import java.security.cert.X509Certificate;
 import java.security.NoSuchAlgorithmException;
 import java.security.KeyManagementException;
 
+/**
+ * Cliente HTTP compartilhado por TODAS as chamadas externas (OMDB, MyMemory, OpenAI...)
+ *
+ * ANTES:
+ * - Cada chamada a obterDados() criava um HttpClient (e um SSLContext) novo
+ * - Nenhuma conexão era reaproveitada: novo handshake TLS a cada requisição
+ *
+ * AGORA:
+ * - @Component: o Spring cria UMA instância (singleton) e injeta onde precisar
+ * - Um único HttpClient de longa duração: reaproveita conexões, sessões TLS
+ *   e multiplexa requisições HTTP/2
+ * - Timeouts de conexão e de requisição configuráveis
+ * - Pede respostas compactadas (Accept-Encoding: gzip) e descompacta aqui
+ * - obterDadosAsync(): versão não bloqueante que retorna CompletableFuture
+ * - obterDados(endereco, tipo): decodifica o JSON direto do InputStream da resposta
+ * - enviarDados(): POST com corpo JSON (OpenAI) pelo mesmo caminho resiliente
+ * - Respostas da OMDB passam pelo CacheRespostasDisco: se a resposta estiver
+ *   no disco e dentro do TTL, nem vai à API; se a API falhar, usa a resposta vencida
+ *
+ * RESILIÊNCIA (vale para todos os chamadores de obterDados):
+ * - Limite de taxa por host (token bucket): não estoura a cota da API
+ * - Nova tentativa com backoff exponencial + jitter em falhas de rede, 429 e 5xx
+ * - Prazo por requisição adaptado ao p99 das latências observadas naquele host
+ *   (uma resposta lenta não trava mais o buscarEpisodioPorSerie indefinidamente)
+ * - Hedge opcional: se a resposta demorar mais que o p95, dispara uma 2ª requisição
+ *   igual e usa a que chegar primeiro (corta a cauda de latência)
+ * - Esgotadas as tentativas: lança ConsumoApiException
+ *
+ * CONFIGURAÇÃO (application.properties):
+ * - screenmatch.http.timeout-conexao: tempo máximo para abrir a conexão
+ * - screenmatch.http.timeout-requisicao: tempo máximo para receber a resposta
+ * - screenmatch.http.taxa-por-segundo / rajada: limite de requisições por host
+ * - screenmatch.http.tentativas / backoff-inicial / backoff-maximo: novas tentativas
+ * - screenmatch.http.prazo-minimo: piso do prazo adaptativo
+ * - screenmatch.http.hedge: liga/desliga as requisições de hedge
+ */
+@Component
 public class ConsumoApi {
 
+    // Amostras de latência guardadas por host e mínimo para confiar nos percentis
+    private static final int AMOSTRAS_LATENCIA = 200;
+    private static final int MINIMO_AMOSTRAS = 20;
+    // Folga sobre o p99 para definir o prazo da requisição
+    private static final double FOLGA_PRAZO = 2.0;
+
+    private final HttpClient client;
+    private final Duration timeoutRequisicao;
+    private final CacheRespostasDisco cache;
+    private final ConverteDados conversor;
+
+    private final double taxaPorSegundo;
+    private final int rajada;
+    private final int tentativas;
+    private final Duration backoffInicial;
+    private final Duration backoffMaximo;
+    private final Duration prazoMinimo;
+    private final boolean hedge;
+
+    // Um limitador e um histórico de latência para cada host (OMDB e MyMemory têm limites diferentes)
+    private final Map<String, LimitadorTaxa> limitadores = new ConcurrentHashMap<>();
+    private final Map<String, HistoricoLatencia> latencias = new ConcurrentHashMap<>();
+
+    public ConsumoApi(@Value("${screenmatch.http.timeout-conexao:10s}") Duration timeoutConexao,
+                      @Value("${screenmatch.http.timeout-requisicao:30s}") Duration timeoutRequisicao,
+                      @Value("${screenmatch.http.taxa-por-segundo:10}") double taxaPorSegundo,
+                      @Value("${screenmatch.http.rajada:20}") int rajada,
+                      @Value("${screenmatch.http.tentativas:3}") int tentativas,
+                      @Value("${screenmatch.http.backoff-inicial:200ms}") Duration backoffInicial,
+                      @Value("${screenmatch.http.backoff-maximo:5s}") Duration backoffMaximo,
+                      @Value("${screenmatch.http.prazo-minimo:2s}") Duration prazoMinimo,
+                      @Value("${screenmatch.http.hedge:false}") boolean hedge,
+                      CacheRespostasDisco cache,
+                      ConverteDados conversor) {
+        this.timeoutRequisicao = timeoutRequisicao;
+        this.taxaPorSegundo = taxaPorSegundo;
+        this.rajada = rajada;
+        this.tentativas = Math.max(1, tentativas);
+        this.backoffInicial = backoffInicial;
+        this.backoffMaximo = backoffMaximo;
+        this.prazoMinimo = prazoMinimo;
+        this.hedge = hedge;
+        this.cache = cache;
+        this.conversor = conversor;
+        this.client = createHttpClientWithDisabledSSL(timeoutConexao);
+    }
+
     public String obterDados(String endereco) {
-        HttpClient client = createHttpClientWithDisabledSSL();
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(endereco))
-                .build();
-        HttpResponse<String> response = null;
+        if (!cache.aplicavel(endereco)) {
+            return buscarNaApi(endereco);
+        }
+
+        // 1. Resposta no disco e dentro do TTL: nem vai à API
+        Optional<CacheRespostasDisco.Entrada> emCache = cache.buscar(endereco);
+        if (emCache.isPresent() && !emCache.get().vencida()) {
+            return emCache.get().corpo();
+        }
+
+        // 2. Vai à API e guarda a resposta; se a API falhar, usa a resposta vencida (se houver)
         try {
-            response = client
-                    .send(request, HttpResponse.BodyHandlers.ofString());
+            return buscarNaApi(endereco);
+        } catch (RuntimeException e) {
+            return usarObsoleta(emCache, e);
+        }
+    }
+
+    /**
+     * Busca e já converte a resposta no tipo pedido (DadosSerie, DadosTemporada...)
+     *
+     * Diferente de obterDados(String): o corpo é lido como InputStream e o Jackson
+     * decodifica direto da conexão, sem montar o corpo inteiro numa String antes.
+     * Só quando a resposta vai para o cache em disco é que os bytes são copiados.
+     *
+     * @param endereco URL completa da requisição
+     * @param tipo Record que representa o JSON da resposta
+     */
+    public <T> T obterDados(String endereco, Class<T> tipo) {
+        if (!cache.aplicavel(endereco)) {
+            return buscarNaApi(endereco, tipo);
+        }
+
+        Optional<CacheRespostasDisco.Entrada> emCache = cache.buscar(endereco);
+        if (emCache.isPresent() && !emCache.get().vencida()) {
+            return conversor.obterDados(emCache.get().corpo(), tipo);
+        }
+
+        try {
+            return buscarNaApi(endereco, tipo);
+        } catch (RuntimeException e) {
+            return conversor.obterDados(usarObsoleta(emCache, e), tipo);
+        }
+    }
+
+    private <T> T buscarNaApi(String endereco, Class<T> tipo) {
+        HttpResponse<InputStream> response;
+        try {
+            response = enviarComTentativas(Pedido.get(endereco), HttpResponse.BodyHandlers.ofInputStream(), 1).join();
+        } catch (CompletionException e) {
+            throw desembrulhar(e);
+        }
+
+        boolean gravarNoCache = response.statusCode() == 200 && cache.aplicavel(endereco);
+        ByteArrayOutputStream copia = gravarNoCache ? new ByteArrayOutputStream() : null;
+        T dados;
+        try (InputStream corpo = abrirCorpo(response, copia)) {
+            // O Jackson fecha o fluxo ao terminar (AUTO_CLOSE_SOURCE): a CopiaInputStream
+            // lê o que sobrou antes de fechar, então a cópia para o cache sai completa
+            dados = conversor.obterDados(corpo, tipo);
         } catch (IOException e) {
-            throw new RuntimeException(e);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
+        }
+        if (copia != null) {
+            cache.gravar(endereco, copia.toString(StandardCharsets.UTF_8));
         }
+        return dados;
+    }
 
-        String json = response.body();
-        return json;
+    // Versão síncrona: usa o mesmo caminho resiliente do modo assíncrono e aguarda o resultado
+    private String buscarNaApi(String endereco) {
+        try {
+            return enviarComTentativas(Pedido.get(endereco), HttpResponse.BodyHandlers.ofByteArray(), 1)
+                    .thenApply(response -> processarResposta(endereco, response))
+                    .join();
+        } catch (CompletionException e) {
+            throw desembrulhar(e);
+        }
     }
 
-    private HttpClient createHttpClientWithDisabledSSL() {
+    /**
+     * Envia um POST com corpo JSON e converte a resposta no tipo pedido (ex: OpenAI)
+     *
+     * Mesmo caminho resiliente do obterDados (limite de taxa por host, novas tentativas,
+     * prazo adaptativo), mas sem cache em disco e sem hedge: uma chamada paga não é duplicada
+     *
+     * @param endereco URL completa da requisição
+     * @param corpoJson Corpo da requisição (Content-Type: application/json)
+     * @param cabecalhos Cabeçalhos extras (ex: Authorization)
+     * @param tipo Record que representa o JSON da resposta
+     * @throws ConsumoApiException se a resposta final não for 200
+     */
+    public <T> T enviarDados(String endereco, String corpoJson, Map<String, String> cabecalhos, Class<T> tipo) {
+        HttpResponse<InputStream> response;
+        try {
+            response = enviarComTentativas(new Pedido(endereco, corpoJson, cabecalhos),
+                    HttpResponse.BodyHandlers.ofInputStream(), 1).join();
+        } catch (CompletionException e) {
+            throw desembrulhar(e);
+        }
+
+        if (response.statusCode() != 200) {
+            descartar(response);
+            throw new ConsumoApiException("Falha ao enviar para " + ocultarChave(endereco)
+                    + " - HTTP " + response.statusCode(), response.statusCode(), null);
+        }
+        try (InputStream corpo = abrirCorpo(response, null)) {
+            return conversor.obterDados(corpo, tipo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Versão não bloqueante de obterDados()
+     * A thread que chama não fica parada esperando a resposta da API
+     *
+     * @param endereco URL completa da requisição
+     * @return Futuro com o corpo da resposta
+     */
+    public CompletableFuture<String> obterDadosAsync(String endereco) {
+        if (!cache.aplicavel(endereco)) {
+            return enviarComTentativas(Pedido.get(endereco), HttpResponse.BodyHandlers.ofByteArray(), 1)
+                    .thenApply(response -> processarResposta(endereco, response));
+        }
+
+        Optional<CacheRespostasDisco.Entrada> emCache = cache.buscar(endereco);
+        if (emCache.isPresent() && !emCache.get().vencida()) {
+            return CompletableFuture.completedFuture(emCache.get().corpo());
+        }
+        return enviarComTentativas(Pedido.get(endereco), HttpResponse.BodyHandlers.ofByteArray(), 1)
+                .thenApply(response -> processarResposta(endereco, response))
+                .exceptionally(e -> usarObsoleta(emCache, desembrulhar(e)));
+    }
+
+    /**
+     * Envia a requisição respeitando o limite de taxa e repete em caso de falha temporária
+     *
+     * @param tentativa Número da tentativa atual (começa em 1)
+     */
+    private <B> CompletableFuture<HttpResponse<B>> enviarComTentativas(Pedido pedido, HttpResponse.BodyHandler<B> leitor,
+                                                                       int tentativa) {
+        String host = host(pedido.endereco());
+        long espera = limitador(host).reservar();
+
+        return CompletableFuture
+                .supplyAsync(() -> pedido, CompletableFuture.delayedExecutor(espera, TimeUnit.NANOSECONDS))
+                .thenCompose(p -> enviarComHedge(p, host, leitor))
+                .handle((response, erro) -> {
+                    if (erro == null && !statusTemporario(response.statusCode())) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    // Resposta descartada: libera a conexão antes de tentar de novo
+                    descartar(response);
+                    if (tentativa >= tentativas) {
+                        return CompletableFuture.<HttpResponse<B>>failedFuture(falha(pedido.endereco(), response, erro));
+                    }
+                    long atraso = backoff(tentativa, response);
+                    return CompletableFuture
+                            .supplyAsync(() -> pedido, CompletableFuture.delayedExecutor(atraso, TimeUnit.MILLISECONDS))
+                            .thenCompose(p -> enviarComTentativas(p, leitor, tentativa + 1));
+                })
+                .thenCompose(futuro -> futuro);
+    }
+
+    private LimitadorTaxa limitador(String host) {
+        return limitadores.computeIfAbsent(host, h -> new LimitadorTaxa(taxaPorSegundo, rajada));
+    }
+
+    /**
+     * Envia a requisição; com hedge ligado, se ela passar do p95 sem resposta,
+     * envia uma segunda igual e fica com a primeira que responder
+     *
+     * A segunda requisição também conta no limite de taxa do host: sem ficha
+     * disponível na hora, o hedge não é enviado (é justamente quando a API está
+     * lenta que não se pode estourar a cota). Quem perder a corrida é cancelado.
+     * POST nunca tem hedge (ex: cada chamada à OpenAI é cobrada).
+     */
+    private <B> CompletableFuture<HttpResponse<B>> enviarComHedge(Pedido pedido, String host,
+                                                                  HttpResponse.BodyHandler<B> leitor) {
+        HistoricoLatencia historico = latencias.computeIfAbsent(host, h -> new HistoricoLatencia(AMOSTRAS_LATENCIA));
+        HttpRequest requisicao = criarRequisicao(pedido, prazoAdaptativo(historico));
+
+        Optional<Duration> atrasoHedge = hedge && !pedido.post()
+                ? historico.percentil(0.95, MINIMO_AMOSTRAS) : Optional.empty();
+        if (atrasoHedge.isEmpty()) {
+            return enviarMedindo(requisicao, leitor, historico);
+        }
+
+        CompletableFuture<HttpResponse<B>> resultado = new CompletableFuture<>();
+        AtomicInteger pendentes = new AtomicInteger(1);
+        CompletableFuture<HttpResponse<B>> primeira = enviarMedindo(requisicao, leitor, historico);
+        AtomicReference<CompletableFuture<HttpResponse<B>>> segunda = new AtomicReference<>();
+        primeira.whenComplete((r, e) -> concluirHedge(resultado, pendentes, r, e));
+
+        CompletableFuture.delayedExecutor(atrasoHedge.get().toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (resultado.isDone() || !limitador(host).tentarReservar()) {
+                return;
+            }
+            pendentes.incrementAndGet();
+            CompletableFuture<HttpResponse<B>> hedge = enviarMedindo(requisicao, leitor, historico);
+            segunda.set(hedge);
+            hedge.whenComplete((r, e) -> concluirHedge(resultado, pendentes, r, e));
+            if (resultado.isDone()) {
+                hedge.cancel(true); // A primeira respondeu enquanto o hedge saía
+            }
+        });
+
+        // Quem perdeu a corrida é cancelado (cancelar a vencedora, já concluída, não faz nada)
+        resultado.whenComplete((r, e) -> {
+            primeira.cancel(true);
+            CompletableFuture<HttpResponse<B>> hedge = segunda.get();
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    // Primeira resposta OK vence; só falha quando TODAS as requisições em andamento falharem
+    private <B> void concluirHedge(CompletableFuture<HttpResponse<B>> resultado, AtomicInteger pendentes,
+                                   HttpResponse<B> response, Throwable erro) {
+        if (erro == null) {
+            if (!resultado.complete(response)) {
+                descartar(response);
+            }
+        } else if (pendentes.decrementAndGet() == 0) {
+            resultado.completeExceptionally(erro);
+        }
+    }
+
+    private <B> CompletableFuture<HttpResponse<B>> enviarMedindo(HttpRequest requisicao, HttpResponse.BodyHandler<B> leitor,
+                                                                 HistoricoLatencia historico) {
+        long inicio = System.nanoTime();
+        // Devolve o futuro do próprio HttpClient: cancel() nele interrompe a requisição
+        // (cancelar um futuro derivado, como o de whenComplete, não chegaria até ela)
+        CompletableFuture<HttpResponse<B>> envio = client.sendAsync(requisicao, leitor);
+        envio.whenComplete((response, erro) -> {
+            if (erro == null) {
+                historico.registrar(Duration.ofNanos(System.nanoTime() - inicio));
+            }
+        });
+        return envio;
+    }
+
+    // Prazo = p99 observado x folga, nunca abaixo do mínimo nem acima do timeout configurado
+    private Duration prazoAdaptativo(HistoricoLatencia historico) {
+        return historico.percentil(0.99, MINIMO_AMOSTRAS)
+                .map(p99 -> Duration.ofNanos((long) (p99.toNanos() * FOLGA_PRAZO)))
+                .map(prazo -> prazo.compareTo(prazoMinimo) < 0 ? prazoMinimo : prazo)
+                .map(prazo -> prazo.compareTo(timeoutRequisicao) > 0 ? timeoutRequisicao : prazo)
+                .orElse(timeoutRequisicao);
+    }
+
+    // Backoff exponencial com "full jitter": espera aleatória entre 0 e inicial * 2^(tentativa-1)
+    // Se a API mandou Retry-After (429), respeita esse tempo como mínimo
+    private long backoff(int tentativa, HttpResponse<?> response) {
+        long teto = Math.min(backoffMaximo.toMillis(), backoffInicial.toMillis() << Math.min(tentativa - 1, 20));
+        long atraso = ThreadLocalRandom.current().nextLong(teto + 1);
+        if (response != null) {
+            long retryAfter = response.headers().firstValue("Retry-After")
+                    .map(v -> {
+                        try {
+                            return Long.parseLong(v.trim()) * 1000;
+                        } catch (NumberFormatException e) {
+                            return 0L;
+                        }
+                    })
+                    .orElse(0L);
+            atraso = Math.max(atraso, Math.min(retryAfter, backoffMaximo.toMillis()));
+        }
+        return atraso;
+    }
+
+    // 429 (muitas requisições) e 5xx (erro no servidor) costumam passar se tentar de novo
+    private boolean statusTemporario(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private ConsumoApiException falha(String endereco, HttpResponse<?> response, Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        int status = response != null ? response.statusCode() : 0;
+        String motivo = causa != null ? causa.getClass().getSimpleName() + ": " + causa.getMessage() : "HTTP " + status;
+        return new ConsumoApiException("Falha ao consultar " + ocultarChave(endereco)
+                + " após " + tentativas + " tentativa(s) - " + motivo, status, causa);
+    }
+
+    private RuntimeException desembrulhar(Throwable erro) {
+        Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        if (causa instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new ConsumoApiException(causa.getMessage(), 0, causa);
+    }
+
+    // Lê o corpo e, se a resposta veio OK (200) de um host com cache, grava no disco
+    private String processarResposta(String endereco, HttpResponse<byte[]> response) {
+        String corpo = lerCorpo(response);
+        if (response.statusCode() == 200 && cache.aplicavel(endereco)) {
+            cache.gravar(endereco, corpo);
+        }
+        return corpo;
+    }
+
+    // Descompacta (se veio gzip) e, se pedido, copia os bytes lidos para o cache
+    private InputStream abrirCorpo(HttpResponse<InputStream> response, OutputStream copia) throws IOException {
+        InputStream corpo = response.body();
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(v -> v.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (gzip) {
+            corpo = new GZIPInputStream(corpo);
+        }
+        return copia == null ? corpo : new CopiaInputStream(corpo, copia);
+    }
+
+    // Resposta que não será usada: fecha o corpo se for um fluxo aberto (devolve a conexão ao pool)
+    private void descartar(HttpResponse<?> response) {
+        if (response != null && response.body() instanceof InputStream corpo) {
+            try {
+                corpo.close();
+            } catch (IOException ignorada) {
+                // Nada a fazer: a resposta já foi descartada
+            }
+        }
+    }
+
+    private String usarObsoleta(Optional<CacheRespostasDisco.Entrada> emCache, RuntimeException erro) {
+        if (emCache.isPresent()) {
+            System.err.println("[CACHE] API indisponível, usando resposta em cache vencida: " + erro.getMessage());
+            cache.registrarUsoObsoleto();
+            return emCache.get().corpo();
+        }
+        throw erro;
+    }
+
+    private HttpRequest criarRequisicao(Pedido pedido, Duration prazo) {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder()
+                .uri(URI.create(pedido.endereco()))
+                .timeout(prazo)
+                .header("Accept-Encoding", "gzip");
+        pedido.cabecalhos().forEach(requisicao::header);
+        if (pedido.post()) {
+            requisicao.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(pedido.corpo(), StandardCharsets.UTF_8));
+        }
+        return requisicao.build();
+    }
+
+    private String host(String endereco) {
+        String host = URI.create(endereco).getHost();
+        return host != null ? host.toLowerCase() : "";
+    }
+
+    // Não deixa a API Key aparecer em mensagens de erro e logs
+    private String ocultarChave(String endereco) {
+        return endereco.replaceAll("(?i)apikey=[^&]*", "apikey=***");
+    }
+
+    // Descompacta o corpo quando o servidor respondeu com Content-Encoding: gzip
+    private String lerCorpo(HttpResponse<byte[]> response) {
+        byte[] corpo = response.body();
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(v -> v.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (!gzip) {
+            return new String(corpo, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpClient createHttpClientWithDisabledSSL(Duration timeoutConexao) {
         try {
             TrustManager[] trustAllCerts = new TrustManager[] {
                 new X509TrustManager() {
@@ -48,9 +513,67 @@ public class ConsumoApi {
 
             return HttpClient.newBuilder()
                     .sslContext(sslContext)
+                    .connectTimeout(timeoutConexao)
                     .build();
         } catch (NoSuchAlgorithmException | KeyManagementException e) {
-            return HttpClient.newHttpClient();
+            return HttpClient.newBuilder()
+                    .connectTimeout(timeoutConexao)
+                    .build();
+        }
+    }
+
+    // O que enviar: GET (sem corpo) ou POST com corpo JSON, mais os cabeçalhos extras
+    private record Pedido(String endereco, String corpo, Map<String, String> cabecalhos) {
+
+        static Pedido get(String endereco) {
+            return new Pedido(endereco, null, Map.of());
+        }
+
+        boolean post() {
+            return corpo != null;
+        }
+    }
+
+    // Repassa os bytes lidos para o Jackson e, ao mesmo tempo, guarda uma cópia
+    // Ao fechar, copia o que ainda não foi lido (espaços/quebra de linha depois do JSON)
+    private static class CopiaInputStream extends FilterInputStream {
+        private final OutputStream copia;
+        private boolean fechado;
+
+        CopiaInputStream(InputStream origem, OutputStream copia) {
+            super(origem);
+            this.copia = copia;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                copia.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int tamanho) throws IOException {
+            int lidos = super.read(destino, inicio, tamanho);
+            if (lidos > 0) {
+                copia.write(destino, inicio, lidos);
+            }
+            return lidos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            try {
+                transferTo(OutputStream.nullOutputStream());
+            } finally {
+                super.close();
+            }
         }
     }
 }
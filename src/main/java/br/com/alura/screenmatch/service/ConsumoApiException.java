@@ -0,0 +1,24 @@
+package br.com.alura.screenmatch.service;
+
+/**
+ * Falha ao consultar uma API externa depois de esgotar as tentativas
+ *
+ * ANTES: ConsumoApi embrulhava qualquer IOException em RuntimeException genérica
+ * AGORA: exceção específica, com a URL e (quando houver) o status HTTP da última tentativa
+ */
+public class ConsumoApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public ConsumoApiException(String mensagem, int status, Throwable causa) {
+        super(mensagem, causa);
+        this.status = status;
+    }
+
+    // Status HTTP da última resposta (0 quando não houve resposta: timeout, conexão recusada...)
+    public int getStatus() {
+        return status;
+    }
+}
@@ -1,17 +1,157 @@
 package br.com.alura.screenmatch.service;
 
+import br.com.alura.screenmatch.dto.EpisodioDTO;
+import br.com.alura.screenmatch.dto.SerieDTO;
+import br.com.alura.screenmatch.model.DadosSerie;
+import br.com.alura.screenmatch.model.DadosTemporada;
+import br.com.alura.screenmatch.service.traducao.DadosTraducao;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CODEC JSON único da aplicação (leitura das APIs e escrita das respostas)
+ *
+ * PROBLEMA:
+ * - ConsultaChatGPT criava um ObjectMapper a cada tradução e o ConverteDados tinha
+ *   o seu próprio, separado do ObjectMapper do Spring MVC
+ * - Cada ObjectMapper novo refaz a introspecção das classes (caro)
+ *
+ * COMO FUNCIONA:
+ * - No Spring, usa o MESMO ObjectMapper do Spring MVC (o do Spring Boot), que
+ *   recebe o módulo Blackbird (JacksonConfiguration): getters/construtores são
+ *   chamados por acessores gerados em vez de reflexão
+ * - Um ObjectReader/ObjectWriter por tipo, guardado em cache: o Jackson só monta
+ *   o (des)serializador de cada record uma vez
+ * - Os tipos mais usados (Dados* das APIs e SerieDTO/EpisodioDTO das respostas)
+ *   ficam prontos na criação; como o cache de serializadores é do ObjectMapper,
+ *   as respostas do MVC também já saem "aquecidas"
+ * - Além de String, aceita InputStream e ByteBuffer: a resposta HTTP é
+ *   decodificada direto do fluxo, sem copiar o corpo inteiro para uma String
+ *
+ * Fora do Spring (benchmarks, testes): new ConverteDados() cria um ObjectMapper
+ * próprio, também com Blackbird.
+ */
+@Component
 public class ConverteDados implements IConverteDados {
-    private ObjectMapper mapper = new ObjectMapper();
+
+    private static final char FIM_LINHA_NDJSON = '\n';
+
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, ObjectReader> leitores = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> escritores = new ConcurrentHashMap<>();
+
+    public ConverteDados() {
+        this(criarMapper());
+    }
+
+    @Autowired
+    public ConverteDados(ObjectMapper mapper) {
+        this.mapper = mapper;
+        // Tipos mais usados já ficam prontos (evita o custo na 1ª resposta)
+        leitor(DadosSerie.class);
+        leitor(DadosTemporada.class);
+        leitor(DadosTraducao.class);
+        leitor(SerieDTO.class);
+        leitor(EpisodioDTO.class);
+        escritor(SerieDTO.class);
+        escritor(EpisodioDTO.class);
+    }
+
+    // ObjectMapper usado fora do Spring (no Spring, vem o do Spring Boot)
+    public static ObjectMapper criarMapper() {
+        return new ObjectMapper().registerModule(new BlackbirdModule());
+    }
 
     @Override
     public <T> T obterDados(String json, Class<T> classe) {
         try {
-            return mapper.readValue(json, classe);
+            return leitor(classe).readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> T obterDados(InputStream json, Class<T> classe) {
+        try {
+            return leitor(classe).readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public <T> T obterDados(ByteBuffer json, Class<T> classe) {
+        try {
+            if (json.hasArray()) {
+                return leitor(classe).readValue(json.array(), json.arrayOffset() + json.position(), json.remaining());
+            }
+            return leitor(classe).readValue(new ByteBufferBackedInputStream(json));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Converte um objeto em JSON (ex: corpo de requisição para a OpenAI)
+     */
+    public String escrever(Object objeto) {
+        try {
+            return escritor(objeto.getClass()).writeValueAsString(objeto);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Escreve os itens em NDJSON (um JSON por linha) direto no fluxo de saída
+     *
+     * Cada item termina com "\n", inclusive o último; sem itens, nada é escrito
+     * (corpo vazio - uma linha em branco seria rejeitada pelos leitores de NDJSON).
+     * A quebra vai pelo mesmo buffer do gerador: nenhum flush por item.
+     * O fluxo NÃO é fechado (quem abriu o fluxo é que fecha).
+     *
+     * @throws IOException normalmente o cliente desconectou
+     */
+    public void escreverNdjson(OutputStream saida, Class<?> classe, Iterator<?> itens) throws IOException {
+        ObjectWriter escritor = escritor(classe).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator gerador = mapper.getFactory().createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Sem o espaço que o Jackson põe entre valores soltos: a separação é o "\n"
+            gerador.setRootValueSeparator(null);
+            while (itens.hasNext()) {
+                escritor.writeValue(gerador, itens.next());
+                gerador.writeRaw(FIM_LINHA_NDJSON);
+            }
+        }
+    }
+
+    private ObjectReader leitor(Class<?> classe) {
+        return leitores.computeIfAbsent(classe, mapper::readerFor);
+    }
+
+    private ObjectWriter escritor(Class<?> classe) {
+        return escritores.computeIfAbsent(classe, mapper::writerFor);
+    }
 }
@@ -0,0 +1,46 @@
+package br.com.alura.screenmatch.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Monta as URLs da API OMDB em UM só lugar
+ *
+ * ANTES: ENDERECO e API_KEY ficavam dentro do Principal
+ * AGORA: Principal, ConsultaTemporadas e a importação em lote usam este componente
+ *
+ * O título é codificado com URLEncoder (espaço vira "+", "&" vira "%26"...)
+ * para que títulos como "Law & Order" não quebrem a URL.
+ *
+ * O endereço base vem de screenmatch.omdb.url (ex: o simulador local no perfil "simulador")
+ */
+@Component
+public class EnderecoOmdb {
+
+    private final String endereco;
+
+    // 🔒 SEGURANÇA: API Key da variável de ambiente OMDB_API_KEY
+    // Fallback temporário: Se não encontrar a variável, usa a chave do .env
+    private static final String API_KEY = "&apikey=" + (System.getenv("OMDB_API_KEY") != null ? System.getenv("OMDB_API_KEY") : "6585022c");
+
+    public EnderecoOmdb(@Value("${screenmatch.omdb.url:https://www.omdbapi.com/}") String url) {
+        this.endereco = url + "?t=";
+    }
+
+    // URL da série: https://www.omdbapi.com/?t=the+boys&apikey=...
+    public String serie(String titulo) {
+        return endereco + codificar(titulo) + API_KEY;
+    }
+
+    // URL de uma temporada: https://www.omdbapi.com/?t=the+boys&season=1&apikey=...
+    public String temporada(String titulo, int numeroTemporada) {
+        return endereco + codificar(titulo) + "&season=" + numeroTemporada + API_KEY;
+    }
+
+    private String codificar(String titulo) {
+        return URLEncoder.encode(titulo.trim(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,13 @@
 package br.com.alura.screenmatch.service;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
 public interface IConverteDados {
     <T> T  obterDados(String json, Class<T> classe);
+
+    // Lê o JSON direto do fluxo (ex.: corpo da resposta HTTP), sem montar uma String antes
+    <T> T  obterDados(InputStream json, Class<T> classe);
+
+    <T> T  obterDados(ByteBuffer json, Class<T> classe);
 }
@@ -0,0 +1,298 @@
+package br.com.alura.screenmatch.service;
+
+import br.com.alura.screenmatch.model.DadosSerie;
+import br.com.alura.screenmatch.model.Serie;
+import br.com.alura.screenmatch.repository.SerieRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importação em LOTE de séries a partir de um arquivo de títulos
+ *
+ * PROBLEMA:
+ * - A opção 1 do menu (buscarSerieWeb) importa UMA série por vez, digitando o nome
+ * - Para cadastrar um catálogo inteiro (milhares de títulos) isso não escala
+ *
+ * COMO FUNCIONA:
+ * 1. Lê o arquivo (um título por linha, linhas vazias e iniciadas com # são ignoradas)
+ * 2. Busca os DadosSerie na OMDB com concorrência limitada (pool de threads)
+ * 3. Converte DadosSerie → Serie (a sinopse é traduzida depois, pela fila de tradução)
+ * 4. Salva no banco em LOTES (saveAll a cada N séries)
+ * 5. Atualiza o progresso: processados, salvos, ignorados, falhas e séries/segundo
+ *
+ * FORMAS DE USO:
+ * - Linha de comando: ScreenmatchApplicationSemWeb --importar=catalogo.txt
+ * - REST: POST /importacoes?arquivo=catalogo.txt e GET /importacoes/{id}
+ *   (pelo REST só são lidos arquivos DENTRO de screenmatch.importacao.diretorio:
+ *   o cliente não escolhe qualquer arquivo do servidor)
+ *
+ * CONFIGURAÇÃO (application.properties):
+ * - screenmatch.importacao.concorrencia: requisições simultâneas à OMDB
+ * - screenmatch.importacao.tamanho-lote: quantas séries por saveAll()
+ * - screenmatch.importacao.diretorio: diretório dos arquivos aceitos pelo REST
+ */
+@Service
+public class ImportacaoCatalogoService {
+
+    // De quantos em quantos títulos o progresso é exibido no console
+    private static final int INTERVALO_LOG = 100;
+
+    @Autowired
+    private SerieRepository repositorio;
+
+    @Autowired
+    private ConsumoApi consumo;
+
+    @Autowired
+    private EnderecoOmdb enderecoOmdb;
+
+    @Value("${screenmatch.importacao.concorrencia:8}")
+    private int concorrencia;
+
+    @Value("${screenmatch.importacao.tamanho-lote:50}")
+    private int tamanhoLote;
+
+    @Value("${screenmatch.importacao.diretorio:${user.home}/.screenmatch/importacoes}")
+    private Path diretorio;
+
+    // Importações conhecidas (id → progresso), consultadas pelo endpoint REST
+    private final Map<Long, ProgressoImportacao> importacoes = new ConcurrentHashMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    // Importações disparadas via REST rodam UMA de cada vez, em segundo plano
+    private final ExecutorService coordenador = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "importacao-catalogo");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Agenda a importação em segundo plano e retorna imediatamente
+     *
+     * O nome vem do cliente (POST /importacoes): é resolvido DENTRO do diretório
+     * de importações e qualquer caminho que saia dele ("../", absoluto, link
+     * simbólico para fora) é recusado. Sem isso, qualquer arquivo legível pelo
+     * servidor seria importado e as linhas voltariam nas falhas do progresso.
+     *
+     * @param nomeArquivo Caminho relativo a screenmatch.importacao.diretorio
+     * @return Progresso da importação (consultar depois pelo id)
+     * @throws IllegalArgumentException se o arquivo estiver fora do diretório, não existir ou não puder ser lido
+     */
+    public ProgressoImportacao iniciar(String nomeArquivo) {
+        Path arquivo = resolverNoDiretorio(nomeArquivo);
+        validarArquivo(arquivo);
+        ProgressoImportacao progresso = registrar(diretorioReal().relativize(arquivo));
+        coordenador.submit(() -> executar(arquivo, progresso));
+        return progresso;
+    }
+
+    /**
+     * Executa a importação na thread atual (usado pela linha de comando)
+     *
+     * @param arquivo Arquivo com um título por linha
+     * @return Progresso final da importação
+     */
+    public ProgressoImportacao importar(Path arquivo) {
+        validarArquivo(arquivo);
+        ProgressoImportacao progresso = registrar(arquivo);
+        executar(arquivo, progresso);
+        return progresso;
+    }
+
+    public Optional<ProgressoImportacao> obterProgresso(Long id) {
+        return Optional.ofNullable(importacoes.get(id));
+    }
+
+    private ProgressoImportacao registrar(Path arquivo) {
+        ProgressoImportacao progresso = new ProgressoImportacao(sequencia.incrementAndGet(), arquivo.toString());
+        importacoes.put(progresso.getId(), progresso);
+        return progresso;
+    }
+
+    // Caminho real (links resolvidos) do arquivo; recusa o que não estiver dentro do diretório
+    private Path resolverNoDiretorio(String nomeArquivo) {
+        Path base = diretorioReal();
+        try {
+            Path arquivo = base.resolve(nomeArquivo).normalize();
+            if (!arquivo.startsWith(base)) {
+                throw new IllegalArgumentException("Arquivo fora do diretório de importações: " + nomeArquivo);
+            }
+            arquivo = arquivo.toRealPath();
+            if (!arquivo.startsWith(base)) {
+                throw new IllegalArgumentException("Arquivo fora do diretório de importações: " + nomeArquivo);
+            }
+            return arquivo;
+        } catch (InvalidPathException | IOException e) {
+            throw new IllegalArgumentException("Arquivo de títulos não encontrado: " + nomeArquivo);
+        }
+    }
+
+    private Path diretorioReal() {
+        try {
+            return diretorio.toRealPath();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Diretório de importações não encontrado: " + diretorio);
+        }
+    }
+
+    private void validarArquivo(Path arquivo) {
+        if (!Files.isRegularFile(arquivo) || !Files.isReadable(arquivo)) {
+            throw new IllegalArgumentException("Arquivo de títulos não encontrado: " + arquivo);
+        }
+    }
+
+    private void executar(Path arquivo, ProgressoImportacao progresso) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, concorrencia));
+        try {
+            List<String> titulos = lerTitulos(arquivo);
+            progresso.iniciar(titulos.size());
+            System.out.println("[IMPORTAÇÃO] Iniciando importação de " + titulos.size() + " títulos de " + arquivo);
+
+            // Títulos já cadastrados (em minúsculo) para não tentar salvar duplicados
+            Set<String> titulosExistentes = new HashSet<>();
+            repositorio.listarTitulos().forEach(t -> titulosExistentes.add(t.toLowerCase()));
+
+            // CompletionService: entrega os resultados na ordem em que FICAM PRONTOS
+            CompletionService<Busca> buscas = new ExecutorCompletionService<>(pool);
+            for (String titulo : titulos) {
+                buscas.submit(() -> buscarSerie(titulo));
+            }
+
+            List<Busca> lote = new ArrayList<>();
+            for (int i = 0; i < titulos.size(); i++) {
+                Busca busca = aguardarProxima(buscas);
+                progresso.registrarProcessado();
+
+                if (busca.serie() == null) {
+                    progresso.registrarFalha(busca.titulo(), busca.erro());
+                } else if (titulosExistentes.add(busca.serie().getTitulo().toLowerCase())) {
+                    lote.add(busca);
+                } else {
+                    progresso.registrarIgnorado();
+                }
+
+                if (lote.size() >= tamanhoLote) {
+                    salvarLote(lote, progresso);
+                }
+                if (progresso.getProcessados() % INTERVALO_LOG == 0) {
+                    System.out.println("[IMPORTAÇÃO] " + progresso);
+                }
+            }
+            salvarLote(lote, progresso);
+
+            progresso.concluir(ProgressoImportacao.Status.CONCLUIDA);
+            System.out.println("[IMPORTAÇÃO] Concluída: " + progresso);
+        } catch (RuntimeException e) {
+            progresso.concluir(ProgressoImportacao.Status.ERRO);
+            System.err.println("[ERRO] Importação interrompida: " + e.getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Roda nas threads do pool: consulta a OMDB e monta a entidade
+    // Nunca lança exceção: a falha volta dentro do resultado, junto com o título
+    private Busca buscarSerie(String titulo) {
+        try {
+            DadosSerie dados = consumo.obterDados(enderecoOmdb.serie(titulo), DadosSerie.class);
+            if (dados.titulo() == null) {
+                // OMDB responde {"Response":"False","Error":"Series not found!"}
+                return new Busca(titulo, null, null, "série não encontrada na OMDB");
+            }
+            // Sem tradução aqui: uma falha no tradutor não impede mais a importação
+            Serie serie = new Serie(dados);
+            return new Busca(titulo, dados, serie, null);
+        } catch (RuntimeException e) {
+            return new Busca(titulo, null, null, e.getMessage());
+        }
+    }
+
+    private Busca aguardarProxima(CompletionService<Busca> buscas) {
+        try {
+            return buscas.take().get();
+        } catch (ExecutionException e) {
+            // buscarSerie() já trata as exceções; aqui só chegaria um Error da JVM
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação cancelada", e);
+        }
+    }
+
+    /**
+     * Salva o lote inteiro de uma vez; se falhar (ex: título duplicado),
+     * salva série por série para isolar apenas as que deram erro
+     *
+     * Cada série da nova tentativa é montada DE NOVO a partir dos DadosSerie:
+     * a do lote que falhou já recebeu id e versão (e os episódios, ids) do
+     * rollback, e o save() faria um merge de uma linha que não existe
+     */
+    private void salvarLote(List<Busca> lote, ProgressoImportacao progresso) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            repositorio.saveAll(lote.stream().map(Busca::serie).toList());
+            progresso.registrarSalvos(lote.size());
+        } catch (RuntimeException erroLote) {
+            for (Busca busca : lote) {
+                try {
+                    repositorio.save(new Serie(busca.dados()));
+                    progresso.registrarSalvos(1);
+                } catch (RuntimeException e) {
+                    progresso.registrarFalha(busca.serie().getTitulo(), e.getMessage());
+                }
+            }
+        }
+        lote.clear();
+    }
+
+    private List<String> lerTitulos(Path arquivo) {
+        try {
+            // LinkedHashSet: remove títulos repetidos mantendo a ordem do arquivo
+            Set<String> titulos = new LinkedHashSet<>();
+            for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+                String titulo = linha.trim();
+                if (!titulo.isEmpty() && !titulo.startsWith("#")) {
+                    titulos.add(titulo);
+                }
+            }
+            return new ArrayList<>(titulos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        coordenador.shutdownNow();
+    }
+
+    // Resultado da busca de UM título: dados/serie preenchidos OU erro preenchido
+    // (os DadosSerie ficam guardados para remontar a série se o lote falhar)
+    private record Busca(String titulo, DadosSerie dados, Serie serie, String erro) {
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.alura.screenmatch.service;
+
+import br.com.alura.screenmatch.dto.ImportacaoDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Acompanha o andamento de uma importação em lote
+ *
+ * Os contadores são atualizados pela thread da importação e lidos
+ * ao mesmo tempo pelo endpoint GET /importacoes/{id}, por isso usam AtomicInteger.
+ */
+public class ProgressoImportacao {
+
+    // Limite de falhas guardadas com detalhe: ficam só as MAIS RECENTES (evita lista gigante em catálogos enormes)
+    private static final int MAXIMO_FALHAS_DETALHADAS = 100;
+
+    public enum Status { AGUARDANDO, EXECUTANDO, CONCLUIDA, ERRO }
+
+    private final Long id;
+    private final String arquivo;
+    private volatile Status status = Status.AGUARDANDO;
+    private volatile int total;
+    private final AtomicInteger processados = new AtomicInteger();
+    private final AtomicInteger salvos = new AtomicInteger();
+    private final AtomicInteger ignorados = new AtomicInteger();
+    private final AtomicInteger falhas = new AtomicInteger();
+    private final Deque<String> ultimasFalhas = new ArrayDeque<>(MAXIMO_FALHAS_DETALHADAS);
+    private volatile Instant inicio;
+    private volatile Instant fim;
+
+    public ProgressoImportacao(Long id, String arquivo) {
+        this.id = id;
+        this.arquivo = arquivo;
+    }
+
+    void iniciar(int total) {
+        this.total = total;
+        this.inicio = Instant.now();
+        this.status = Status.EXECUTANDO;
+    }
+
+    void concluir(Status statusFinal) {
+        this.fim = Instant.now();
+        this.status = statusFinal;
+    }
+
+    void registrarProcessado() {
+        processados.incrementAndGet();
+    }
+
+    void registrarSalvos(int quantidade) {
+        salvos.addAndGet(quantidade);
+    }
+
+    void registrarIgnorado() {
+        ignorados.incrementAndGet();
+    }
+
+    void registrarFalha(String titulo, String motivo) {
+        falhas.incrementAndGet();
+        synchronized (ultimasFalhas) {
+            if (ultimasFalhas.size() == MAXIMO_FALHAS_DETALHADAS) {
+                ultimasFalhas.removeFirst();
+            }
+            ultimasFalhas.addLast(titulo + ": " + motivo);
+        }
+    }
+
+    // Séries salvas por segundo desde o início da importação
+    public double seriesPorSegundo() {
+        if (inicio == null) {
+            return 0.0;
+        }
+        Instant ate = fim != null ? fim : Instant.now();
+        double segundos = Math.max(Duration.between(inicio, ate).toMillis(), 1) / 1000.0;
+        return salvos.get() / segundos;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getProcessados() {
+        return processados.get();
+    }
+
+    public int getSalvos() {
+        return salvos.get();
+    }
+
+    public int getIgnorados() {
+        return ignorados.get();
+    }
+
+    public int getFalhas() {
+        return falhas.get();
+    }
+
+    public ImportacaoDTO paraDTO() {
+        List<String> falhasDetalhadas;
+        synchronized (ultimasFalhas) {
+            falhasDetalhadas = List.copyOf(ultimasFalhas);
+        }
+        return new ImportacaoDTO(id, arquivo, status.name(), total, processados.get(), salvos.get(),
+                ignorados.get(), falhas.get(), seriesPorSegundo(), inicio, fim, falhasDetalhadas);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d processados | %d salvos | %d ignorados | %d falhas | %.1f séries/s",
+                processados.get(), total, salvos.get(), ignorados.get(), falhas.get(), seriesPorSegundo());
+    }
+}
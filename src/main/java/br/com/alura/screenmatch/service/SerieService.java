@@ -1,16 +1,42 @@
 package br.com.alura.screenmatch.service;
 
 import br.com.alura.screenmatch.dto.EpisodioDTO;
+import br.com.alura.screenmatch.dto.EpisodioEncontradoDTO;
+import br.com.alura.screenmatch.dto.PaginaDTO;
 import br.com.alura.screenmatch.dto.SerieDTO;
+import br.com.alura.screenmatch.dto.TemporadaDTO;
 import br.com.alura.screenmatch.model.Categoria;
-import br.com.alura.screenmatch.model.Serie;
+import br.com.alura.screenmatch.model.evento.AlteracaoExterna;
+import br.com.alura.screenmatch.model.evento.EpisodioAlterado;
+import br.com.alura.screenmatch.model.evento.SerieAlterada;
+import br.com.alura.screenmatch.repository.OrdenacaoSerie;
 import br.com.alura.screenmatch.repository.SerieRepository;
+import br.com.alura.screenmatch.service.cache.CacheConsultas;
+import br.com.alura.screenmatch.service.cache.SerieVersionada;
+import br.com.alura.screenmatch.service.ranking.RankingCatalogo;
+import br.com.alura.screenmatch.service.temporada.EpisodioTemporada;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.OptionalDouble;
+import java.util.stream.Stream;
 
 /**
  * SERVICE - Camada de Serviço (Lógica de Negócio)
@@ -86,6 +112,22 @@ import java.util.stream.Collectors;
  * ANOTAÇÕES:
  * - @Service: Marca como componente de serviço do Spring
  * - @Autowired: Injeção de dependência do Repository
+ * 
+ * CACHE EM MEMÓRIA (Caffeine, ver CacheConsultas):
+ * - obterLancamentos, obterSeriesPorCategoria, obterPorId e obterTemporada leem
+ *   de um cache por região; o banco só é consultado na falta ou na recarga
+ * - Invalidação depois do commit de qualquer gravação (SerieRepository.save,
+ *   importação, fila de tradução...), pelos eventos do AlteracaoCatalogoListener:
+ *   - Série gravada/removida → sai do cache "serie" e as listas são descartadas
+ *   - Episódio gravado/removido → "lancamentos" e as temporadas daquela série
+ *   - Alteração feita por outro processo (AlteracaoExterna) → descarta tudo
+ * - Uma consulta que já estava em andamento no commit não sobrevive à invalidação:
+ *   o Caffeine espera a carga da chave terminar antes de removê-la, e descarta a
+ *   recarga em segundo plano de uma chave removida no meio dela
+ * 
+ * RANKINGS EM MEMÓRIA (ver RankingCatalogo):
+ * - obterTopSeries / obterTop5Series / obterTopEpisodios leem o top N direto dos
+ *   rankings mantidos em memória; o banco só é usado enquanto eles são montados
  */
 @Service
 public class SerieService {
@@ -96,13 +138,112 @@ public class SerieService {
     @Autowired
     private SerieRepository repository;
 
+    // Codec JSON compartilhado (escrita em NDJSON no modo streaming)
+    @Autowired
+    private ConverteDados conversor;
+
+    // Itens por página quando o cliente não informa ?tamanho= (e o máximo aceito)
+    @Value("${screenmatch.paginacao.tamanho-padrao:50}")
+    private int tamanhoPadrao;
+
+    @Value("${screenmatch.paginacao.tamanho-maximo:500}")
+    private int tamanhoMaximo;
+
+    @Autowired
+    private CacheConsultas caches;
+
+    @Autowired
+    private RankingCatalogo ranking;
+
+    // N padrão dos rankings (?n= não informado) e maior N aceito
+    @Value("${screenmatch.ranking.tamanho-padrao:5}")
+    private int rankingPadrao;
+
+    @Value("${screenmatch.ranking.tamanho-maximo:100}")
+    private int rankingMaximo;
+
+    // Regiões do cache (uma por consulta); as listas têm uma chave só
+    private static final String CHAVE_UNICA = "todas";
+
+    private LoadingCache<String, List<SerieDTO>> cacheLancamentos;
+    private LoadingCache<Categoria, List<SerieDTO>> cacheCategoria;
+    private LoadingCache<Long, Optional<SerieVersionada>> cacheSerie;
+    private LoadingCache<ChaveTemporada, Optional<TemporadaDTO>> cacheTemporada;
+
+    // Chave do cache "temporada"
+    private record ChaveTemporada(Long serieId, Integer numero) {
+    }
+
+    // List.copyOf: quem recebe a lista do cache não consegue alterá-la
+    @PostConstruct
+    void criarCaches() {
+        cacheLancamentos = caches.criar("lancamentos", chave -> List.copyOf(repository.lancamentosDTO()));
+        cacheCategoria = caches.criar("categoria", categoria -> List.copyOf(repository.seriesDTOPorGenero(categoria)));
+        // Optional: id inexistente também fica guardado (o Caffeine não guarda null)
+        // A versão vem junto com o DTO: o ETag de GET /series/{id} sai do valor em cache
+        cacheSerie = caches.criar("serie", id -> repository.serieVersionadaPorId(id));
+        // Optional vazio = série inexistente
+        cacheTemporada = caches.criar("temporada", this::consultarTemporada);
+    }
+
+    // @Order(HIGHEST_PRECEDENCE): invalida ANTES de a VersaoCatalogo trocar o ETag
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void serieAlterada(SerieAlterada evento) {
+        if (evento.id() != null) {
+            cacheSerie.invalidate(evento.id());
+            invalidarTemporadas(evento.id());
+        }
+        cacheLancamentos.invalidateAll();
+        cacheCategoria.invalidateAll();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void episodioAlterado(EpisodioAlterado evento) {
+        cacheLancamentos.invalidateAll();
+        if (evento.serieId() != null) {
+            // Todas as temporadas da série: o episódio pode ter mudado de temporada
+            invalidarTemporadas(evento.serieId());
+        }
+    }
+
+    private void invalidarTemporadas(Long serieId) {
+        cacheTemporada.asMap().keySet().removeIf(chave -> chave.serieId().equals(serieId));
+    }
+
+    @EventListener
+    public void alteracaoExterna(AlteracaoExterna evento) {
+        cacheLancamentos.invalidateAll();
+        cacheCategoria.invalidateAll();
+        cacheSerie.invalidateAll();
+        cacheTemporada.invalidateAll();
+    }
+
     /**
-     * Obtém todas as séries do banco e converte para DTO
-     * 
-     * @return Lista de SerieDTO (sem episódios)
+     * Obtém UMA PÁGINA de séries (paginação por cursor / keyset)
+     * 
+     * ANTES: findAll() sem limite - a resposta e a memória cresciam com o catálogo
+     * AGORA: no máximo "tamanho" séries por chamada; o cursor da página seguinte
+     *        aponta para o último item entregue, então séries inseridas no meio da
+     *        paginação não fazem itens repetirem ou sumirem
+     * 
+     * @param ordem avaliacao, titulo ou totalTemporadas
+     * @param direcao asc ou desc
+     * @param cursor null para a primeira página
+     * @param tamanho null = screenmatch.paginacao.tamanho-padrao
+     * @throws IllegalArgumentException ordem, direção ou cursor inválidos
      */
-    public List<SerieDTO> obterTodasAsSeries() {
-        return converteDados(repository.findAll());
+    public PaginaDTO<SerieDTO> obterSeries(String ordem, String direcao, String cursor, Integer tamanho) {
+        boolean decrescente;
+        if ("desc".equalsIgnoreCase(direcao)) {
+            decrescente = true;
+        } else if ("asc".equalsIgnoreCase(direcao)) {
+            decrescente = false;
+        } else {
+            throw new IllegalArgumentException("Direção não suportada: " + direcao + " (use asc ou desc)");
+        }
+        return repository.paginarSeries(OrdenacaoSerie.fromString(ordem), decrescente, cursor, tamanhoPagina(tamanho));
     }
 
     /**
@@ -111,7 +252,32 @@ public class SerieService {
      * @return Lista com 5 SerieDTO (melhores avaliações)
      */
     public List<SerieDTO> obterTop5Series() {
-        return converteDados(repository.findTop5ByOrderByAvaliacaoDesc());
+        return obterTopSeries(5, null);
+    }
+
+    /**
+     * Obtém as N séries com melhor avaliação (geral ou de um gênero)
+     * 
+     * ANTES: ORDER BY avaliacao DESC LIMIT 5 no banco a cada chamada
+     * AGORA: os N primeiros ids do ranking em memória; cada SerieDTO vem do
+     *        cache "serie" (na falta, busca pela chave primária)
+     * 
+     * @param n null = screenmatch.ranking.tamanho-padrao (limitado a tamanho-maximo)
+     * @param nomeGenero null = ranking geral
+     */
+    public List<SerieDTO> obterTopSeries(Integer n, String nomeGenero) {
+        Categoria categoria = nomeGenero == null ? null : Categoria.fromPortugues(nomeGenero);
+        int tamanho = tamanhoRanking(n);
+        if (!ranking.pronto()) {
+            return repository.topSeriesDTO(categoria, PageRequest.of(0, tamanho));
+        }
+        List<Long> ids = ranking.topSeries(categoria, tamanho);
+        Map<Long, Optional<SerieVersionada>> series = cacheSerie.getAll(ids);
+        return ids.stream()
+                .map(series::get)
+                .flatMap(Optional::stream)
+                .map(SerieVersionada::serie)
+                .toList();
     }
 
     /**
@@ -122,171 +288,216 @@ public class SerieService {
      * - Se os 5 episódios mais recentes fossem da mesma série, retornava apenas 1
      * 
      * SOLUÇÃO:
-     * - JPQL com GROUP BY garante 5 séries DISTINTAS
-     * - MAX(e.dataLancamento) pega o episódio mais recente de cada série
-     * - ORDER BY MAX(...) ordena séries pela data mais recente
+     * - Cada série guarda a data do seu episódio mais recente (ultimoLancamento)
+     * - As 5 primeiras pelo índice (ultimo_lancamento DESC, id DESC) são 5 séries DISTINTAS
+     * - Séries sem episódio com data ficam de fora (no GROUP BY de antes, elas vinham
+     *   com MAX(data) = NULL e apareciam em primeiro lugar)
      * 
      * SQL GERADO:
-     * SELECT s.* FROM series s
-     * INNER JOIN episodios e ON s.id = e.serie_id
-     * GROUP BY s.id
-     * ORDER BY MAX(e.data_lancamento) DESC
+     * SELECT s.id, s.titulo, ... FROM series s
+     * WHERE s.ultimo_lancamento IS NOT NULL
+     * ORDER BY s.ultimo_lancamento DESC, s.id DESC
      * LIMIT 5
      * 
      * @return Lista com 5 SerieDTO (lançamentos mais recentes)
      */
     public List<SerieDTO> obterLancamentos() {
-        return converteDados(repository.encontrarEpisodiosMaisRecentes());
+        return cacheLancamentos.get(CHAVE_UNICA);
     }
 
     /**
      * Obtém uma série específica pelo ID
      * 
-     * Optional<Serie>:
-     * - findById() retorna Optional porque o ID pode não existir no banco
-     * - Optional evita NullPointerException
-     * - Precisa verificar se existe com isPresent()
-     * 
-     * FLUXO:
-     * 1. Busca série no banco: repository.findById(id)
-     * 2. Verifica se existe: serie.isPresent()
-     * 3. Se existe: Extrai objeto com serie.get()
-     * 4. Converte Serie → SerieDTO
-     * 5. Retorna SerieDTO
-     * 6. Se NÃO existe: Retorna null
+     * ANTES: findById() montava a entidade Serie (com TODOS os episódios, que eram EAGER)
+     *        e os campos eram copiados um a um para o SerieDTO
+     * AGORA: projeção serieVersionadaPorId() - o banco já devolve o DTO (+ versão)
      * 
      * SQL GERADO:
-     * SELECT * FROM series WHERE id = ?
-     * 
-     * ALTERNATIVA (mais elegante):
-     * return repository.findById(id)
-     *     .map(s -> new SerieDTO(...))
-     *     .orElse(null);
+     * SELECT s.id, s.titulo, ..., s.sinopse, s.versao FROM series s WHERE s.id = ?
      * 
      * @param id ID da série
      * @return SerieDTO ou null se não encontrar
      */
     public SerieDTO obterPorId(Long id) {
-        // findById() retorna Optional<Serie> (pode estar vazio)
-        Optional<Serie> serie = repository.findById(id);
-
-        // Verifica se a série existe no banco
-        if (serie.isPresent()) {
-            // Extrai o objeto Serie do Optional
-            Serie s = serie.get();
-            
-            // Converte Serie → SerieDTO manualmente
-            // (não usa converteDados porque é apenas 1 objeto, não lista)
-            return new SerieDTO(
-                    s.getId(),
-                    s.getTitulo(),
-                    s.getTotalTemporadas(),
-                    s.getAvaliacao(),
-                    s.getGenero(),
-                    s.getAtores(),
-                    s.getPoster(),
-                    s.getSinopse()
-            );
-        }
-        
-        // Se não encontrar, retorna null
-        // Alternativa: throw new RuntimeException("Série não encontrada");
-        return null;
+        SerieVersionada serie = obterSerieVersionada(id);
+        return serie == null ? null : serie.serie();
     }
 
     /**
-     * Obtém todos os episódios de todas as temporadas de uma série
+     * Série + versão do MESMO valor em cache (GET /series/{id} monta o ETag com ela)
      * 
-     * FLUXO:
-     * 1. Busca série no banco: repository.findById(id)
-     * 2. Verifica se existe: serie.isPresent()
-     * 3. Se existe: Extrai objeto com serie.get()
-     * 4. Pega lista de episódios: s.getEpisodios()
-     * 5. Converte cada Episodio → EpisodioDTO usando stream
-     * 6. Retorna List<EpisodioDTO>
-     * 7. Se NÃO existe: Retorna null
+     * @return null se a série não existir
+     */
+    public SerieVersionada obterSerieVersionada(Long id) {
+        // Projeção: SELECT só das colunas do DTO (a entidade nem é montada)
+        // Vem do cache "serie"; se não encontrar, retorna null
+        return cacheSerie.get(id).orElse(null);
+    }
+
+    /**
+     * Obtém UMA PÁGINA dos episódios de uma série (todas as temporadas)
      * 
-     * SQL GERADO:
-     * SELECT * FROM series WHERE id = ?
-     * SELECT * FROM episodios WHERE serie_id = ?
+     * ANTES: findById() + s.getEpisodios() - carregava TODOS os episódios da série
+     * AGORA: paginação por keyset na ordem temporada → número do episódio,
+     *        lendo só as colunas do EpisodioDTO (índice serie_id, temporada, numero_episodio, id)
+     * 
+     * UMA CONSULTA SÓ (também para descobrir se a série existe):
+     * - LEFT JOIN a partir da série: sem linhas = série inexistente; uma linha com
+     *   episódio nulo = série sem episódios (antes era um existsById() a mais)
+     * 
+     * SQL GERADO (página 2):
+     * SELECT e.id, e.temporada, e.numero_episodio, e.titulo FROM series s
+     * LEFT JOIN episodios e ON s.id = e.serie_id
+     *   AND (e.temporada, e.numero_episodio, e.id) > (?, ?, ?)
+     * WHERE s.id = ? ORDER BY e.temporada, e.numero_episodio, e.id LIMIT ?
      * 
      * POR QUE USAR DTO?
      * - Expõe apenas: temporada, numeroEpisodio, titulo
      * - NÃO expõe: id, avaliacao, dataLancamento, serie (evita loop infinito)
      * - JSON menor e mais rápido
      * 
-     * CONVERSÃO:
-     * Episodio (entidade) → EpisodioDTO (DTO)
-     * - e.getTemporada() → temporada
-     * - e.getNumeroEpisodio() → numeroEpisodio
-     * - e.getTitulo() → titulo
-     * 
      * @param id ID da série
-     * @return Lista de EpisodioDTO ou null se série não existir
+     * @param cursor null para a primeira página
+     * @param tamanho null = screenmatch.paginacao.tamanho-padrao
+     * @return Página de EpisodioDTO ou null se a série não existir
+     * @throws IllegalArgumentException cursor inválido ou de outra série
      */
-    public List<EpisodioDTO> obterTodasTemporadas(Long id) {
-        // Busca série no banco
-        Optional<Serie> serie = repository.findById(id);
-        
-        // Verifica se a série existe
-        if (serie.isPresent()) {
-            // Extrai o objeto Serie do Optional
-            Serie s = serie.get();
-            
-            // Converte lista de Episodio → lista de EpisodioDTO
-            return s.getEpisodios().stream()
-                    .map(e -> new EpisodioDTO(
-                            e.getTemporada(),
-                            e.getNumeroEpisodio(),
-                            e.getTitulo()
-                    ))
-                    .collect(Collectors.toList());
+    public PaginaDTO<EpisodioDTO> obterTodasTemporadas(Long id, String cursor, Integer tamanho) {
+        return repository.paginarEpisodios(id, cursor, tamanhoPagina(tamanho));
+    }
+
+    /**
+     * Busca episódios de todas as séries por trecho do título, os mais relevantes
+     * primeiro, uma página por vez (mesma paginação por cursor das listagens)
+     *
+     * ANTES: episodiosPorTrecho() → titulo ILIKE '%trecho%' lendo todos os episódios,
+     *        sem ordem definida e sem limite
+     * AGORA: o ILIKE usa o índice de trigramas (IndiceTrigramas) e a página é ordenada
+     *        por relevância (título igual > começa com o trecho > palavra que começa
+     *        com o trecho > meio de palavra)
+     *
+     * SQL GERADO (simplificado):
+     * SELECT e.id, s.id, s.titulo, ..., CASE ... END, position(...), length(e.titulo)
+     * FROM episodios e JOIN series s ON s.id = e.serie_id
+     * WHERE e.titulo ILIKE '%pilot%' ESCAPE '\'
+     * ORDER BY CASE ... END, position(...), length(e.titulo), e.id LIMIT ?
+     *
+     * @param trecho Texto procurado (espaços nas pontas são ignorados)
+     * @param tamanho null = screenmatch.paginacao.tamanho-padrao
+     * @throws IllegalArgumentException trecho vazio ou cursor inválido/de outra busca
+     */
+    public PaginaDTO<EpisodioEncontradoDTO> buscarEpisodios(String trecho, String cursor, Integer tamanho) {
+        if (trecho == null || trecho.isBlank()) {
+            throw new IllegalArgumentException("Informe o trecho do título");
         }
-        
-        // Se não encontrar, retorna null
-        return null;
+        return repository.buscarEpisodios(trecho.strip(), cursor, tamanhoPagina(tamanho));
+    }
+
+    /**
+     * Escreve TODAS as séries em NDJSON (um SerieDTO por linha) direto na saída
+     * 
+     * PROBLEMA (mesmo com projeção e paginação):
+     * - Exportar o catálogo inteiro exigia montar a List<SerieDTO> completa antes de
+     *   o Jackson escrever o 1º byte: memória e tempo até o 1º byte cresciam com o catálogo
+     * 
+     * COMO FUNCIONA:
+     * - transmitirSeriesDTO() devolve um Stream ligado a um cursor JDBC (fetch size 500)
+     * - Cada linha lida vira uma linha JSON na resposta e pode ser descartada
+     * - Memória constante: no máximo um lote de fetch + o buffer da resposta
+     * 
+     * @Transactional(readOnly = true): o cursor do PostgreSQL só existe dentro de
+     * uma transação, que fica aberta enquanto a resposta é escrita
+     * 
+     * @param saida Corpo da resposta HTTP (não é fechado aqui)
+     */
+    @Transactional(readOnly = true)
+    public void transmitirSeries(OutputStream saida) {
+        try (Stream<SerieDTO> series = repository.transmitirSeriesDTO()) {
+            escreverNdjson(series, SerieDTO.class, saida);
+        }
+    }
+
+    /**
+     * Escreve todos os episódios de uma série em NDJSON (ordem temporada → número)
+     * (série inexistente: nada é escrito - o controller responde 404 antes de chamar)
+     */
+    @Transactional(readOnly = true)
+    public void transmitirEpisodios(Long id, OutputStream saida) {
+        try (Stream<EpisodioDTO> episodios = repository.transmitirEpisodiosDTO(id)) {
+            escreverNdjson(episodios, EpisodioDTO.class, saida);
+        }
+    }
+
+    // NDJSON: cada item termina com quebra de linha; sem itens, o corpo fica vazio
+    private <T> void escreverNdjson(Stream<T> itens, Class<T> tipo, OutputStream saida) {
+        try {
+            conversor.escreverNdjson(saida, tipo, itens.iterator());
+        } catch (IOException e) {
+            // Normalmente o cliente desconectou: interrompe a leitura do banco
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Limita o tamanho pedido pelo cliente a [1, tamanho-maximo]
+    private int tamanhoPagina(Integer tamanho) {
+        if (tamanho == null) {
+            return tamanhoPadrao;
+        }
+        return Math.max(1, Math.min(tamanho, tamanhoMaximo));
     }
 
     /**
-     * Obtém episódios de uma temporada específica de uma série
+     * Obtém UMA temporada de uma série: episódios + resumo (GET /series/{id}/temporadas/{numero})
      * 
      * FLUXO:
      * 1. Controller recebe id da série e número da temporada
-     * 2. Service chama Repository: repository.obterEpisodiosPorTemporada(id, numero)
-     * 3. Repository executa JPQL com JOIN e WHERE
-     * 4. Service converte Episodio → EpisodioDTO
-     * 5. Retorna List<EpisodioDTO>
+     * 2. Service lê do cache "temporada" (chave: série + número)
+     * 3. Na falta: repository.episodiosDaTemporada(id, numero) - UMA consulta, só
+     *    pelo índice de cobertura, já na ordem do número do episódio
+     * 4. O resumo (quantidade, média, primeira/última data) é calculado em Java
+     *    sobre as mesmas linhas, sem uma 2ª consulta de agregação
      * 
-     * SQL GERADO:
-     * SELECT e.* FROM series s
-     * JOIN episodios e ON s.id = e.serie_id
-     * WHERE s.id = ? AND e.temporada = ?
-     * 
-     * POR QUE USAR JPQL?
-     * - Busca direta no banco (mais rápido)
-     * - Filtra por série E temporada em uma única query
-     * - Não carrega todos os episódios da série
+     * ANTES: obterTemporadasPorNumero() → entidades Episodio sem ordem definida,
+     *        convertidas para EpisodioDTO em Java; nenhuma rota usava o método
      * 
-     * CONVERSÃO:
-     * Episodio (entidade) → EpisodioDTO (DTO)
-     * - e.getTemporada() → temporada
-     * - e.getNumeroEpisodio() → numeroEpisodio
-     * - e.getTitulo() → titulo
+     * CACHE: invalidado quando a série ou um episódio dela é gravado (eventos do
+     * AlteracaoCatalogoListener) e em qualquer AlteracaoExterna
      * 
      * @param id ID da série
      * @param numero Número da temporada (1, 2, 3...)
-     * @return Lista de EpisodioDTO da temporada
+     * @return TemporadaDTO (sem episódios se a temporada não existir) ou null se a série não existir
      */
-    public List<EpisodioDTO> obterTemporadasPorNumero(Long id, Long numero) {
-        // Busca episódios da temporada específica no banco
-        return repository.obterEpisodiosPorTemporada(id, numero)
-                .stream()
-                .map(e -> new EpisodioDTO(
-                        e.getTemporada(),
-                        e.getNumeroEpisodio(),
-                        e.getTitulo()
-                ))
-                .collect(Collectors.toList());
+    public TemporadaDTO obterTemporada(Long id, Integer numero) {
+        return cacheTemporada.get(new ChaveTemporada(id, numero)).orElse(null);
+    }
+
+    private Optional<TemporadaDTO> consultarTemporada(ChaveTemporada chave) {
+        List<EpisodioTemporada> linhas = repository.episodiosDaTemporada(chave.serieId(), chave.numero());
+        if (linhas.isEmpty()) {
+            return Optional.empty(); // Série inexistente
+        }
+        // Série sem essa temporada: a única linha é o "episódio" nulo do LEFT JOIN
+        List<EpisodioTemporada> episodios = linhas.get(0).id() == null ? List.of() : linhas;
+
+        // 0.0 = avaliação "N/A" na API (ver Episodio): fica fora da média
+        OptionalDouble media = episodios.stream()
+                .map(EpisodioTemporada::avaliacao)
+                .filter(avaliacao -> avaliacao != null && avaliacao > 0)
+                .mapToDouble(Double::doubleValue)
+                .average();
+        List<LocalDate> datas = episodios.stream()
+                .map(EpisodioTemporada::dataLancamento)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+
+        return Optional.of(new TemporadaDTO(
+                chave.numero(),
+                episodios.stream().map(EpisodioTemporada::paraDTO).toList(),
+                episodios.size(),
+                media.isPresent() ? media.getAsDouble() : null,
+                datas.isEmpty() ? null : datas.get(0),
+                datas.isEmpty() ? null : datas.get(datas.size() - 1)));
     }
 
     /**
@@ -295,10 +506,10 @@ public class SerieService {
      * FLUXO:
      * 1. Controller recebe nome do gênero em português ("drama", "acao", "comedia")
      * 2. Service converte String → Enum: Categoria.fromPortugues(nomeGenero)
-     * 3. Service busca no Repository: repository.findByGenero(categoria)
-     * 4. Repository executa Derived Query: SELECT * FROM series WHERE genero = ?
-     * 5. Service converte Serie → SerieDTO usando converteDados()
-     * 6. Retorna List<SerieDTO>
+     * 3. Service devolve a lista do cache "categoria" (uma entrada por Categoria)
+     * 4. Na falta, chama repository.seriesDTOPorGenero(categoria): projeção
+     *    direto em SerieDTO (sem carregar a entidade Serie)
+     * 5. Retorna List<SerieDTO>
      * 
      * POR QUE CONVERTER STRING → ENUM?
      * - URL usa texto amigável: "drama", "acao", "comedia"
@@ -308,12 +519,12 @@ public class SerieService {
      *   - "comédia", "comedia", "comedy" → COMEDIA
      *   - "drama", "Drama", "DRAMA" → DRAMA
      * 
-     * SQL GERADO:
-     * SELECT * FROM series WHERE genero = 'DRAMA'
+     * SQL GERADO (só na falta do cache):
+     * SELECT s.id, s.titulo, ... FROM series s WHERE s.genero = 'DRAMA'
      * 
      * REUTILIZAÇÃO:
-     * - Usa converteDados() (DRY - Don't Repeat Yourself)
-     * - Usa findByGenero() do Repository (Derived Query Method)
+     * - Mesma projeção SerieDTO das outras consultas (SELECT_SERIE_DTO do Repository)
+     * - Cache "categoria" invalidado quando uma série muda (SerieAlterada)
      * - Usa fromPortugues() do Enum Categoria
      * 
      * @param nomeGenero Nome do gênero em português ("drama", "acao", "comedia"...)
@@ -328,105 +539,92 @@ public class SerieService {
         // Converte String ("drama") → Enum (DRAMA)
         Categoria categoria = Categoria.fromPortugues(nomeGenero);
         
-        // Busca séries no banco e converte para DTO
-        return converteDados(repository.findByGenero(categoria));
+        // Busca séries (cache "categoria" → banco) já como DTO
+        return cacheCategoria.get(categoria);
     }
 
     /**
-     * Obtém os Top 5 episódios com melhor avaliação de uma série específica
+     * Busca séries por ator/atriz E avaliação mínima (elenco normalizado)
      * 
-     * FLUXO:
+     * ANTES (menu): findByAtoresContainingIgnoreCaseAndAvaliacaoGreaterThanEqual()
+     *   → LOWER(atores) LIKE '%nome%' em todas as séries
+     * AGORA: o nome é procurado na tabela series_atores (sem acento, minúsculas,
+     *   com índice) e só as séries encontradas são lidas e filtradas pela avaliação
+     * 
+     * @param nomeAtor Nome ou parte do nome ("karl", "Zoë Saldaña", "saldana")
+     * @param avaliacao Avaliação mínima (null = qualquer avaliação)
+     * @return Séries da melhor para a pior avaliação
+     * @throws IllegalArgumentException se o nome estiver vazio
+     */
+    public List<SerieDTO> buscarSeriesPorAtor(String nomeAtor, Double avaliacao) {
+        if (nomeAtor == null || nomeAtor.isBlank()) {
+            throw new IllegalArgumentException("Informe o nome do ator");
+        }
+        return repository.buscarSeriesPorAtor(nomeAtor, avaliacao != null ? avaliacao : 0.0);
+    }
+
+    /**
+     * Obtém os Top N episódios com melhor avaliação de uma série específica
+     * 
+     * AGORA (RankingCatalogo): o passo a passo abaixo só roda enquanto o ranking em
+     * memória não está pronto - e mesmo assim sem o findById() (que carregava a série)
+     * 
+     * FLUXO (sem o ranking):
      * 1. Controller recebe ID da série
-     * 2. Service busca série no banco: repository.findById(id)
-     * 3. Verifica se série existe: serie.isPresent()
-     * 4. Se existe: Chama repository.topEpisodiosPorSerie(serie)
-     * 5. Repository executa JPQL com JOIN, ORDER BY e LIMIT 5
-     * 6. Service converte Episodio → EpisodioDTO
-     * 7. Retorna List<EpisodioDTO>
-     * 8. Se NÃO existe: Retorna null
+     * 2. Service chama repository.topEpisodiosDTO(id, PageRequest.of(0, N))
+     * 3. Repository executa UMA consulta: LEFT JOIN da série com os episódios,
+     *    já como EpisodioDTO (SELECT new), ORDER BY avaliação e LIMIT N
+     * 4. Nenhuma linha → série não existe → null
+     * 5. Uma linha com campos nulos → série sem episódios → lista vazia
+     * 
+     * ANTES: findById() (série inteira + episódios) → topEpisodiosPorSerie(serie)
+     *        (2ª consulta) → conversão Episodio → EpisodioDTO em Java
      * 
      * SQL GERADO:
-     * SELECT e.* FROM episodios e
-     * JOIN series s ON e.serie_id = s.id
+     * SELECT e.temporada, e.numero_episodio, e.titulo FROM series s
+     * LEFT JOIN episodios e ON s.id = e.serie_id
      * WHERE s.id = ?
-     * ORDER BY e.avaliacao DESC
-     * LIMIT 5
-     * 
-     * POR QUE USAR JPQL?
-     * - Busca direta no banco (mais rápido)
-     * - Ordenação no banco (ORDER BY e.avaliacao DESC)
-     * - LIMIT 5 otimizado (não carrega todos os episódios)
-     * - Retorna apenas os 5 melhores episódios
-     * 
-     * CONVERSÃO:
-     * Episodio (entidade) → EpisodioDTO (DTO)
-     * - e.getTemporada() → temporada
-     * - e.getNumeroEpisodio() → numeroEpisodio
-     * - e.getTitulo() → titulo
+     * ORDER BY e.avaliacao DESC NULLS LAST, e.id
+     * LIMIT ?
      * 
      * @param id ID da série
-     * @return Lista com até 5 EpisodioDTO (melhores avaliações) ou null se série não existir
+     * @param n null = screenmatch.ranking.tamanho-padrao (5)
+     * @return Lista com até N EpisodioDTO (melhores avaliações) ou null se série não existir
      * 
      * Exemplos de uso:
-     * - obterTop5Episodios(7) → Top 5 episódios de Breaking Bad
-     * - obterTop5Episodios(1) → Top 5 episódios de The Boys
+     * - obterTopEpisodios(7, null) → Top 5 episódios de Breaking Bad
+     * - obterTopEpisodios(1, 10) → Top 10 episódios de The Boys
      */
-    public List<EpisodioDTO> obterTop5Episodios(Long id) {
-        // Busca série no banco
-        Optional<Serie> serie = repository.findById(id);
-        
-        // Verifica se a série existe
-        if (serie.isPresent()) {
-            // Extrai o objeto Serie do Optional
-            Serie s = serie.get();
-            
-            // Busca top 5 episódios no banco usando JPQL
-            // Converte lista de Episodio → lista de EpisodioDTO
-            return repository.topEpisodiosPorSerie(s)
-                    .stream()
-                    .map(e -> new EpisodioDTO(
-                            e.getTemporada(),
-                            e.getNumeroEpisodio(),
-                            e.getTitulo()
-                    ))
-                    .collect(Collectors.toList());
+    public List<EpisodioDTO> obterTopEpisodios(Long id, Integer n) {
+        int tamanho = tamanhoRanking(n);
+
+        // Ranking em memória: nada de findById() nem ORDER BY no banco
+        if (ranking.pronto()) {
+            return ranking.contemSerie(id) ? ranking.topEpisodios(id, tamanho) : null;
         }
-        
-        // Se não encontrar, retorna null
-        return null;
+
+        // Ranking ainda sendo montado: UMA consulta ao banco (já como EpisodioDTO)
+        List<EpisodioDTO> linhas = repository.topEpisodiosDTO(id, PageRequest.of(0, tamanho));
+        // Nenhuma linha: a série não existe (o LEFT JOIN devolve a série mesmo sem episódios)
+        if (linhas.isEmpty()) {
+            return null;
+        }
+        // Série sem episódios: a única linha é o "episódio" nulo do LEFT JOIN
+        // (numeroEpisodio nunca é nulo num episódio gravado - ver NormalizacaoColunas)
+        return linhas.get(0).numeroEpisodio() == null ? List.of() : linhas;
     }
 
-    /**
-     * Método privado para converter List<Serie> em List<SerieDTO>
-     * 
-     * DRY (Don't Repeat Yourself):
-     * - Evita duplicação de código
-     * - Centraliza lógica de conversão em um único lugar
-     * - Se precisar mudar conversão, muda apenas aqui
-     * 
-     * REUTILIZAÇÃO:
-     * - Usado por obterTodasAsSeries()
-     * - Usado por obterTop5Series()
-     * - Pode ser usado por futuros métodos
-     * 
-     * @param series Lista de entidades Serie do banco
-     * @return Lista de SerieDTO (sem episódios)
-     */
-    private List<SerieDTO> converteDados(List<Serie> series) {
-        return series.stream()
-                .map(s -> new SerieDTO(
-                        s.getId(),
-                        s.getTitulo(),
-                        s.getTotalTemporadas(),
-                        s.getAvaliacao(),
-                        s.getGenero(),
-                        s.getAtores(),
-                        s.getPoster(),
-                        s.getSinopse()
-                ))
-                .collect(Collectors.toList());
+    // Limita o N pedido pelo cliente a [1, screenmatch.ranking.tamanho-maximo]
+    private int tamanhoRanking(Integer n) {
+        if (n == null) {
+            return rankingPadrao;
+        }
+        return Math.max(1, Math.min(n, rankingMaximo));
     }
 
+    // converteDados(List<Serie>) foi removido: as listas de séries vêm prontas do banco
+    // como SerieDTO (projeções do SerieRepository), sem carregar entidades nem episódios
+
     // FUTUROS MÉTODOS (exemplos):
     
     // public SerieDTO obterSeriePorId(Long id) {
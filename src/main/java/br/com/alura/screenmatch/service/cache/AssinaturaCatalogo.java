@@ -0,0 +1,29 @@
+package br.com.alura.screenmatch.service.cache;
+
+import br.com.alura.screenmatch.model.evento.TipoAlteracao;
+
+/**
+ * "Impressão digital" barata da tabela de séries (usada pela VersaoCatalogo)
+ *
+ * - INSERT/DELETE mudam a quantidade
+ * - UPDATE soma 1 na versão da série (@Version), então muda a soma das versões
+ *
+ * @param series Quantidade de séries
+ * @param somaVersoes Soma das colunas versao
+ */
+public record AssinaturaCatalogo(Long series, Long somaVersoes) {
+
+    /**
+     * Assinatura esperada depois de uma gravação de série feita por esta aplicação
+     *
+     * @param versao Versão da série depois da gravação (null conta como 0)
+     */
+    public AssinaturaCatalogo depoisDe(TipoAlteracao tipo, Long versao) {
+        long v = versao != null ? versao : 0L;
+        return switch (tipo) {
+            case INCLUSAO -> new AssinaturaCatalogo(series + 1, somaVersoes + v);
+            case ALTERACAO -> new AssinaturaCatalogo(series, somaVersoes + 1);
+            case EXCLUSAO -> new AssinaturaCatalogo(series - 1, somaVersoes - v);
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.alura.screenmatch.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fábrica dos caches EM MEMÓRIA (Caffeine) das consultas da API REST
+ *
+ * PROBLEMA:
+ * - /series/top5, /series/lancamentos, /series/categoria/{g} e /series/{id} iam ao
+ *   PostgreSQL a cada requisição, mas o catálogo só muda quando há importação
+ *
+ * CADA REGIÃO (um cache por consulta) TEM:
+ * - ttl: idade máxima de um valor; depois disso, a próxima leitura espera a consulta
+ * - atualizar-apos: passado esse tempo, a leitura devolve o valor antigo NA HORA e
+ *   dispara a recarga em segundo plano (stale-while-revalidate); só vale se for
+ *   menor que o ttl
+ * - tamanho-maximo: quantas chaves cabem (as menos usadas saem primeiro)
+ *
+ * PROTEÇÃO CONTRA "ESTOURO DA BOIADA" (cache stampede):
+ * - LoadingCache: se 100 requisições pedem a mesma chave ausente, UMA consulta vai
+ *   ao banco e as outras 99 esperam o resultado dela
+ * - A recarga em segundo plano também é única por chave
+ *
+ * INVALIDAÇÃO: fica com quem usa o cache (SerieService), pelos eventos de alteração
+ * do catálogo - o TTL é só uma rede de segurança.
+ *
+ * CONFIGURAÇÃO (application.properties):
+ * - screenmatch.cache-series.habilitado (false = toda leitura vai ao banco)
+ * - screenmatch.cache-series.<regiao>.ttl / .atualizar-apos / .tamanho-maximo
+ *
+ * MÉTRICAS (actuator):
+ * - GET /actuator/metrics/cache.gets?tag=cache:series.lancamentos&tag=result:hit
+ * - cache.gets (hit/miss), cache.evictions, cache.puts, cache.size, cache.load.duration
+ */
+@Component
+public class CacheConsultas {
+
+    private static final String PREFIXO = "screenmatch.cache-series.";
+
+    private static final Duration TTL_PADRAO = Duration.ofMinutes(10);
+    private static final Duration ATUALIZACAO_PADRAO = Duration.ofMinutes(1);
+    private static final long TAMANHO_PADRAO = 1000;
+
+    @Autowired
+    private Environment ambiente;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> metricas;
+
+    // Recargas em segundo plano: threads próprias (consultas JDBC bloqueiam;
+    // no ForkJoinPool comum atrasariam os parallel streams da aplicação)
+    private final ExecutorService executor;
+
+    public CacheConsultas() {
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(r, "cache-series-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cria o cache de uma região
+     *
+     * @param regiao Nome da região (chave das propriedades e tag "cache" das métricas)
+     * @param consulta Consulta ao banco executada numa falta ou recarga
+     */
+    public <K, V> LoadingCache<K, V> criar(String regiao, Function<K, V> consulta) {
+        boolean habilitado = ambiente.getProperty(PREFIXO + "habilitado", Boolean.class, true);
+        Duration ttl = ambiente.getProperty(PREFIXO + regiao + ".ttl", Duration.class, TTL_PADRAO);
+        Duration atualizarApos = ambiente.getProperty(PREFIXO + regiao + ".atualizar-apos", Duration.class, ATUALIZACAO_PADRAO);
+        long tamanhoMaximo = ambiente.getProperty(PREFIXO + regiao + ".tamanho-maximo", Long.class, TAMANHO_PADRAO);
+
+        Caffeine<Object, Object> construtor = Caffeine.newBuilder()
+                // Desabilitado: tamanho 0 (nada fica guardado, mas a proteção contra estouro continua)
+                .maximumSize(habilitado ? tamanhoMaximo : 0)
+                .expireAfterWrite(ttl)
+                .executor(executor)
+                .recordStats();
+        if (atualizarApos.compareTo(ttl) < 0) {
+            construtor.refreshAfterWrite(atualizarApos);
+        }
+        LoadingCache<K, V> cache = construtor.build(consulta::apply);
+
+        metricas.ifAvailable(registro -> CaffeineCacheMetrics.monitor(registro, cache, "series." + regiao));
+        return cache;
+    }
+}
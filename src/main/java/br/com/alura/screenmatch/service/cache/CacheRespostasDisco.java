@@ -0,0 +1,265 @@
+package br.com.alura.screenmatch.service.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache EM DISCO das respostas da API OMDB
+ *
+ * PROBLEMA:
+ * - Toda chamada ao ConsumoApi ia até a omdbapi.com, mesmo para títulos e
+ *   temporadas buscados minutos antes
+ * - Se a OMDB estiver lenta ou fora do ar, a importação para
+ *
+ * COMO FUNCIONA:
+ * - Chave: SHA-256 da URL NORMALIZADA (host minúsculo, parâmetros ordenados, sem apikey)
+ *   → a mesma consulta sempre cai no mesmo arquivo, com qualquer API Key
+ * - Arquivo: [8 bytes: criado em (epoch ms)] [1 byte: negativa?] [corpo compactado com GZIP]
+ * - Leitura com memory-mapped file (FileChannel.map): o SO entrega as páginas direto
+ * - TTL: respostas expiram depois de screenmatch.cache.ttl
+ * - Cache NEGATIVO: {"Response":"False"} (ex: "Series not found!") também é guardado,
+ *   mas com TTL menor (screenmatch.cache.ttl-negativo)
+ * - Resposta VENCIDA é usada como reserva quando a API falha (ConsumoApi decide)
+ *
+ * MÉTRICAS (actuator):
+ * - GET /actuator/metrics/screenmatch.cache.respostas?tag=resultado:acerto
+ * - resultado = acerto | acerto_negativo | falta | expirado | obsoleto_usado | gravacao
+ */
+@Component
+public class CacheRespostasDisco implements MeterBinder {
+
+    private static final int TAMANHO_CABECALHO = Long.BYTES + 1;
+
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final Duration ttl;
+    private final Duration ttlNegativo;
+    private final Set<String> hosts;
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong acertosNegativos = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+    private final AtomicLong expirados = new AtomicLong();
+    private final AtomicLong obsoletosUsados = new AtomicLong();
+    private final AtomicLong gravacoes = new AtomicLong();
+
+    public CacheRespostasDisco(@Value("${screenmatch.cache.habilitado:true}") boolean habilitado,
+                               @Value("${screenmatch.cache.diretorio:${user.home}/.screenmatch/cache}") Path diretorio,
+                               @Value("${screenmatch.cache.ttl:24h}") Duration ttl,
+                               @Value("${screenmatch.cache.ttl-negativo:1h}") Duration ttlNegativo,
+                               @Value("${screenmatch.cache.hosts:www.omdbapi.com}") List<String> hosts) {
+        this.habilitado = habilitado;
+        this.diretorio = diretorio;
+        this.ttl = ttl;
+        this.ttlNegativo = ttlNegativo;
+        this.hosts = hosts.stream().map(String::toLowerCase).collect(Collectors.toSet());
+    }
+
+    /**
+     * Indica se as respostas desta URL passam pelo cache (apenas hosts configurados)
+     */
+    public boolean aplicavel(String endereco) {
+        if (!habilitado) {
+            return false;
+        }
+        String host = URI.create(endereco).getHost();
+        return host != null && hosts.contains(host.toLowerCase());
+    }
+
+    /**
+     * Procura a resposta no disco
+     *
+     * @param endereco URL da requisição
+     * @return Entrada do cache (válida ou vencida) ou vazio se nunca foi gravada
+     */
+    public Optional<Entrada> buscar(String endereco) {
+        Path arquivo = arquivo(endereco);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            long criadoEm = mapa.getLong();
+            boolean negativa = mapa.get() == 1;
+            String corpo = descompactar(mapa);
+
+            Duration validade = negativa ? ttlNegativo : ttl;
+            boolean vencida = System.currentTimeMillis() - criadoEm > validade.toMillis();
+            if (vencida) {
+                expirados.incrementAndGet();
+            } else if (negativa) {
+                acertosNegativos.incrementAndGet();
+            } else {
+                acertos.incrementAndGet();
+            }
+            return Optional.of(new Entrada(corpo, negativa, vencida));
+        } catch (NoSuchFileException e) {
+            faltas.incrementAndGet();
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            // Arquivo corrompido ou truncado: trata como ausente (será regravado)
+            faltas.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Grava a resposta no disco (escreve em arquivo temporário e renomeia,
+     * assim um leitor nunca enxerga um arquivo pela metade)
+     */
+    public void gravar(String endereco, String corpo) {
+        Path arquivo = arquivo(endereco);
+        try {
+            Files.createDirectories(arquivo.getParent());
+            Path temporario = Files.createTempFile(arquivo.getParent(), "resposta", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temporario)) {
+                ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+                cabecalho.putLong(System.currentTimeMillis());
+                cabecalho.put((byte) (respostaNegativa(corpo) ? 1 : 0));
+                out.write(cabecalho.array());
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(corpo.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            try {
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+            gravacoes.incrementAndGet();
+        } catch (IOException e) {
+            // Falha no cache nunca deve derrubar a consulta à API
+            System.err.println("[CACHE] Não foi possível gravar resposta em disco: " + e.getMessage());
+        }
+    }
+
+    public void registrarUsoObsoleto() {
+        obsoletosUsados.incrementAndGet();
+    }
+
+    // OMDB responde 200 com {"Response":"False","Error":"Series not found!"}
+    private boolean respostaNegativa(String corpo) {
+        return corpo.replace(" ", "").contains("\"Response\":\"False\"");
+    }
+
+    private Path arquivo(String endereco) {
+        String hash = hash(normalizar(endereco));
+        // Subpasta com os 2 primeiros caracteres: evita milhares de arquivos num só diretório
+        return diretorio.resolve(hash.substring(0, 2)).resolve(hash + ".gz");
+    }
+
+    /**
+     * Normaliza a URL para que consultas equivalentes gerem a mesma chave
+     * - esquema e host em minúsculo
+     * - parâmetros em ordem alfabética
+     * - sem o parâmetro apikey (a chave não muda o conteúdo da resposta)
+     */
+    static String normalizar(String endereco) {
+        URI uri = URI.create(endereco);
+        String query = uri.getRawQuery() == null ? "" : Arrays.stream(uri.getRawQuery().split("&"))
+                .filter(p -> !p.isEmpty())
+                .filter(p -> !p.toLowerCase().startsWith("apikey="))
+                .sorted()
+                .collect(Collectors.joining("&"));
+        String esquema = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase();
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase();
+        String caminho = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return esquema + "://" + host + caminho + "?" + query;
+    }
+
+    private static String hash(String texto) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String descompactar(ByteBuffer buffer) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteBufferInputStream(buffer))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registrar(registry, "acerto", acertos);
+        registrar(registry, "acerto_negativo", acertosNegativos);
+        registrar(registry, "falta", faltas);
+        registrar(registry, "expirado", expirados);
+        registrar(registry, "obsoleto_usado", obsoletosUsados);
+        registrar(registry, "gravacao", gravacoes);
+    }
+
+    private void registrar(MeterRegistry registry, String resultado, AtomicLong contador) {
+        FunctionCounter.builder("screenmatch.cache.respostas", contador, AtomicLong::doubleValue)
+                .description("Consultas ao cache em disco das respostas da OMDB")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    /**
+     * Resposta encontrada no cache
+     *
+     * @param corpo JSON da resposta
+     * @param negativa true se a API respondeu "não encontrado"
+     * @param vencida true se passou do TTL (só deve ser usada se a API falhar)
+     */
+    public record Entrada(String corpo, boolean negativa, boolean vencida) {
+    }
+
+    // Adapta o ByteBuffer mapeado para InputStream (sem copiar o arquivo para o heap)
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int tamanho) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int lidos = Math.min(tamanho, buffer.remaining());
+            buffer.get(destino, inicio, lidos);
+            return lidos;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.alura.screenmatch.service.cache;
+
+import br.com.alura.screenmatch.dto.SerieDTO;
+import br.com.alura.screenmatch.model.Categoria;
+
+/**
+ * SerieDTO + a versão (@Version) lida NA MESMA consulta (cache "serie")
+ *
+ * O ETag de GET /series/{id} sai desta versão: ETag e corpo vêm sempre do mesmo
+ * valor em cache. Antes, o ETag vinha de um SELECT s.versao separado e o corpo do
+ * cache; enquanto o cache ainda guardava a série antiga (gravação de outro processo,
+ * recarga em andamento), a resposta juntava o ETag novo ao corpo antigo e os 304
+ * seguintes prendiam o cliente nesse corpo.
+ *
+ * @param serie Dados da série expostos na API
+ * @param versao Coluna versao da série quando o DTO foi lido
+ */
+public record SerieVersionada(SerieDTO serie, Long versao) {
+
+    // Usado pela projeção do SerieRepository (o HQL não aninha construtores)
+    public SerieVersionada(Long id, String titulo, Integer totalTemporadas, Double avaliacao, Categoria genero,
+                           String atores, String poster, String sinopse, Long versao) {
+        this(new SerieDTO(id, titulo, totalTemporadas, avaliacao, genero, atores, poster, sinopse), versao);
+    }
+}
@@ -0,0 +1,196 @@
+package br.com.alura.screenmatch.service.cache;
+
+import br.com.alura.screenmatch.model.evento.AlteracaoExterna;
+import br.com.alura.screenmatch.model.evento.EpisodioAlterado;
+import br.com.alura.screenmatch.model.evento.SerieAlterada;
+import br.com.alura.screenmatch.repository.SerieRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * VERSÃO DO CATÁLOGO: contador de alterações que gera os ETags da API REST
+ *
+ * PROBLEMA:
+ * - O front-end consulta /series, /series/top5, /series/{id}... o tempo todo e
+ *   recebe sempre o mesmo JSON: consulta no banco + resposta inteira na rede
+ *
+ * COMO FUNCIONA:
+ * - Listagens (/series, /series/top5...): ETag = "<início>-<contador>"
+ *   - O contador sobe a cada série/episódio gravado (eventos do
+ *     AlteracaoCatalogoListener, entregues depois do commit)
+ *   - <início> = instante em que a aplicação subiu: depois de reiniciar, o
+ *     contador volta a 0 mas os ETags antigos não coincidem mais
+ * - Uma série (/series/{id}): ETag = "s<id>-<versao>", a coluna @Version da série
+ *   (vale entre reinícios e entre instâncias da API); a versão é a que foi lida
+ *   JUNTO com o SerieDTO em cache (SerieVersionada), nunca um SELECT à parte
+ * - Nada disso executa a consulta da resposta: o controller compara com o
+ *   If-None-Match e responde 304 direto
+ *
+ * VERSÕES JÁ ENTREGUES (/series/{id}):
+ * - Cada ETag de série entregue fica guardado (id → versão, só dois números por série)
+ * - Com o If-None-Match igual à versão conhecida, o 304 sai SEM consulta, mesmo que o
+ *   SerieDTO já tenha saído do cache "serie" (que é maior e mais curto)
+ * - Esquecida quando a série (ou um episódio dela) é gravada e quando o banco é
+ *   alterado por outro processo: a próxima requisição lê a versão de novo
+ *
+ * GRAVAÇÕES DE OUTRO PROCESSO:
+ * - O menu (ScreenmatchApplicationSemWeb) grava no mesmo banco, mas os eventos dele
+ *   não chegam aqui
+ * - A cada screenmatch.etag.verificacao, assinaturaCatalogo() (quantidade de séries +
+ *   soma das versões) é comparada com a ESPERADA; se for diferente, o contador sobe
+ * - Esperada = última lida do banco + as gravações DESTA aplicação (cada SerieAlterada
+ *   ajusta a assinatura: inclusão +1 série, alteração +1 versão, exclusão -1 série).
+ *   Assim uma importação ou um lote de traduções não parece "externo": sem isso,
+ *   cada lote disparava a reconstrução completa dos rankings
+ * - Ou seja: alteração de outro processo aparece em até screenmatch.etag.verificacao
+ * - Antes de mudar o contador, publica AlteracaoExterna (os caches de consulta
+ *   descartam o que têm)
+ * - Se uma gravação daqui terminar durante a leitura da assinatura, a comparação
+ *   fica para a próxima verificação. Resta uma janela mínima (commit já visível,
+ *   evento ainda não entregue) em que a gravação parece externa: custa só uma
+ *   recarga extra
+ *
+ * ORDEM:
+ * - O contador sobe DEPOIS dos outros listeners (@Order LOWEST_PRECEDENCE): quando
+ *   o ETag novo aparece, os caches já foram invalidados. Na ordem inversa, uma
+ *   requisição no meio receberia o ETag novo com o dado antigo do cache.
+ */
+@Component
+public class VersaoCatalogo {
+
+    private final String inicio = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong contador = new AtomicLong();
+
+    // Assinatura esperada no banco (null = ainda não verificou); protegida por "this"
+    private AssinaturaCatalogo assinaturaEsperada;
+    // Quantas gravações de série desta aplicação já foram descontadas (protegido por "this")
+    private long gravacoesLocais;
+
+    // Série → última versão entregue (ausente = desconhecida, vai ao banco)
+    private final Cache<Long, Long> versoesEntregues;
+
+    @Autowired
+    private SerieRepository repositorio;
+
+    @Autowired
+    private ApplicationEventPublisher publicador;
+
+    public VersaoCatalogo(@Value("${screenmatch.etag.versoes.tamanho-maximo:100000}") long tamanhoMaximo,
+                          @Value("${screenmatch.etag.versoes.ttl:30m}") Duration ttl) {
+        this.versoesEntregues = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * ETag das listagens (muda a cada alteração no catálogo)
+     */
+    public String etagColecao() {
+        return "\"" + inicio + "-" + contador.get() + "\"";
+    }
+
+    /**
+     * ETag de uma série, a partir da versão lida junto com o DTO que vai no corpo
+     * (a versão fica guardada para o próximo GET condicional)
+     */
+    public String etagSerie(SerieVersionada serie) {
+        versoesEntregues.put(serie.serie().id(), serie.versao());
+        return etagSerie(serie.serie().id(), serie.versao());
+    }
+
+    /**
+     * ETag da última versão entregue desta série, sem consulta ao banco
+     *
+     * @return null se a versão não é conhecida (nunca entregue ou já descartada)
+     */
+    public String etagSerieConhecida(Long id) {
+        Long versao = versoesEntregues.getIfPresent(id);
+        return versao == null ? null : etagSerie(id, versao);
+    }
+
+    private String etagSerie(Long id, Long versao) {
+        return "\"s" + id + "-" + versao + "\"";
+    }
+
+    // Esquece a versão ANTES dos outros listeners e do contador (como os caches de consulta)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void esquecerVersaoSerie(SerieAlterada evento) {
+        if (evento.id() != null) {
+            versoesEntregues.invalidate(evento.id());
+        }
+    }
+
+    // Episódio gravado: a AtualizacaoEpisodiosService também sobe a versão da série
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void esquecerVersaoSerie(EpisodioAlterado evento) {
+        if (evento.serieId() != null) {
+            versoesEntregues.invalidate(evento.serieId());
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void serieAlterada(SerieAlterada evento) {
+        descontarGravacaoLocal(evento);
+        contador.incrementAndGet();
+    }
+
+    // A gravação foi DESTA aplicação: a assinatura do banco já vai refleti-la
+    private synchronized void descontarGravacaoLocal(SerieAlterada evento) {
+        gravacoesLocais++;
+        if (assinaturaEsperada != null) {
+            assinaturaEsperada = assinaturaEsperada.depoisDe(evento.tipo(), evento.versao());
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void episodioAlterado(EpisodioAlterado evento) {
+        contador.incrementAndGet();
+    }
+
+    /**
+     * Percebe as gravações feitas por outro processo no mesmo banco
+     */
+    @Scheduled(fixedDelayString = "${screenmatch.etag.verificacao:5s}")
+    public void verificarBanco() {
+        try {
+            long gravacoesAntes;
+            synchronized (this) {
+                gravacoesAntes = gravacoesLocais;
+            }
+            AssinaturaCatalogo atual = repositorio.assinaturaCatalogo();
+            boolean externa;
+            synchronized (this) {
+                if (gravacoesLocais != gravacoesAntes) {
+                    return; // Gravação local no meio da leitura: compara na próxima verificação
+                }
+                externa = assinaturaEsperada != null && !Objects.equals(assinaturaEsperada, atual);
+                assinaturaEsperada = atual;
+            }
+            if (externa) {
+                versoesEntregues.invalidateAll();
+                publicador.publishEvent(new AlteracaoExterna());
+                contador.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            // Nunca deixa a exceção escapar: o agendador pararia de chamar este método
+            System.err.println("[ERRO] Não foi possível verificar a versão do catálogo: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.alura.screenmatch.service.ranking;
+
+import br.com.alura.screenmatch.dto.EpisodioDTO;
+
+import java.util.Comparator;
+
+/**
+ * Posição de um episódio no ranking da sua série (já com os campos do EpisodioDTO)
+ *
+ * @param id Id do episódio
+ * @param serieId Série do episódio
+ * @param temporada Temporada
+ * @param numeroEpisodio Número na temporada
+ * @param titulo Título
+ * @param avaliacao Avaliação (null conta como a menor)
+ */
+public record EntradaEpisodio(Long id, Long serieId, Integer temporada, Integer numeroEpisodio,
+                              String titulo, Double avaliacao) {
+
+    // Maior avaliação primeiro; empate → menor id (ordem estável)
+    static final Comparator<EntradaEpisodio> ORDEM = Comparator
+            .comparing(EntradaEpisodio::avaliacao, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(EntradaEpisodio::id);
+
+    EpisodioDTO paraDTO() {
+        return new EpisodioDTO(temporada, numeroEpisodio, titulo);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.alura.screenmatch.service.ranking;
+
+import br.com.alura.screenmatch.model.Categoria;
+
+import java.util.Comparator;
+
+/**
+ * Posição de uma série nos rankings (só o necessário para ordenar)
+ *
+ * @param id Id da série
+ * @param avaliacao Avaliação (null conta como a menor)
+ * @param genero Ranking por gênero em que a série entra
+ */
+public record EntradaSerie(Long id, Double avaliacao, Categoria genero) {
+
+    // Maior avaliação primeiro; empate → menor id (ordem estável)
+    static final Comparator<EntradaSerie> ORDEM = Comparator
+            .comparing(EntradaSerie::avaliacao, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(EntradaSerie::id);
+}
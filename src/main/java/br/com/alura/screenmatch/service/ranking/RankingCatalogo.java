@@ -0,0 +1,264 @@
+package br.com.alura.screenmatch.service.ranking;
+
+import br.com.alura.screenmatch.dto.EpisodioDTO;
+import br.com.alura.screenmatch.model.Categoria;
+import br.com.alura.screenmatch.model.evento.AlteracaoExterna;
+import br.com.alura.screenmatch.model.evento.EpisodioAlterado;
+import br.com.alura.screenmatch.model.evento.SerieAlterada;
+import br.com.alura.screenmatch.model.evento.TipoAlteracao;
+import br.com.alura.screenmatch.repository.SerieRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * RANKINGS EM MEMÓRIA: séries (geral e por gênero) e episódios de cada série
+ *
+ * PROBLEMA:
+ * - /series/top5 ordenava a tabela de séries a cada chamada
+ * - /series/{id}/temporadas/top fazia findById() + ORDER BY avaliacao nos episódios
+ *
+ * COMO FUNCIONA:
+ * - Na subida (ApplicationReadyEvent) lê id/avaliação/gênero de todas as séries e
+ *   os campos do EpisodioDTO de todos os episódios (Stream com cursor JDBC)
+ * - Cada ranking é um ConcurrentSkipListSet ordenado (maior avaliação primeiro):
+ *   o top N são os N primeiros itens, sem ordenar nada na hora da leitura
+ * - Depois, é mantido INCREMENTALMENTE pelos eventos do AlteracaoCatalogoListener
+ *   (depois do commit): a entrada antiga sai e a nova entra - O(log n)
+ * - Alteração feita por outro processo (AlteracaoExterna): reconstrói tudo
+ *   (as gravações desta aplicação NÃO disparam AlteracaoExterna, ver VersaoCatalogo:
+ *   importações e lotes de tradução seguem só pelo caminho incremental)
+ *
+ * CONCORRÊNCIA:
+ * - Leituras não bloqueiam (skip list + ConcurrentHashMap)
+ * - Escritas são synchronized (raras; evita duas versões da mesma série no ranking)
+ * - A reconstrução monta estruturas NOVAS fora do lock e troca de uma vez; os
+ *   eventos que chegam durante a montagem são reaplicados nas novas antes da troca
+ *
+ * Enquanto não estiver pronto (ou com screenmatch.ranking.habilitado=false),
+ * pronto() devolve false e o SerieService consulta o banco.
+ *
+ * MEMÓRIA: uma entrada pequena por série e por episódio (id, avaliação e, no
+ * episódio, temporada/número/título).
+ */
+@Component
+public class RankingCatalogo {
+
+    @Autowired
+    private SerieRepository repositorio;
+
+    @Autowired
+    private TransactionTemplate transacao;
+
+    @Value("${screenmatch.ranking.habilitado:true}")
+    private boolean habilitado;
+
+    private volatile Rankings atual;
+
+    // Eventos recebidos durante uma reconstrução (null = nenhuma em andamento)
+    private List<Object> pendentes;
+
+    /**
+     * false = ainda montando (ou desabilitado): quem chama deve consultar o banco
+     */
+    public boolean pronto() {
+        return atual != null;
+    }
+
+    public boolean contemSerie(Long id) {
+        Rankings rankings = atual;
+        return rankings != null && rankings.series.containsKey(id);
+    }
+
+    /**
+     * Top N séries (geral ou de um gênero)
+     *
+     * @param genero null = ranking geral
+     * @return Ids na ordem do ranking (vazio se não estiver pronto)
+     */
+    public List<Long> topSeries(Categoria genero, int n) {
+        Rankings rankings = atual;
+        if (rankings == null) {
+            return List.of();
+        }
+        NavigableSet<EntradaSerie> ranking = genero == null ? rankings.geral : rankings.porGenero.get(genero);
+        return ranking.stream().limit(n).map(EntradaSerie::id).toList();
+    }
+
+    /**
+     * Top N episódios de uma série (vazio se a série não tiver episódios ou o
+     * ranking não estiver pronto)
+     */
+    public List<EpisodioDTO> topEpisodios(Long serieId, int n) {
+        Rankings rankings = atual;
+        NavigableSet<EntradaEpisodio> ranking = rankings == null ? null : rankings.episodiosPorSerie.get(serieId);
+        if (ranking == null) {
+            return List.of();
+        }
+        return ranking.stream().limit(n).map(EntradaEpisodio::paraDTO).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirNaSubida() {
+        reconstruir();
+    }
+
+    @EventListener
+    public void alteracaoExterna(AlteracaoExterna evento) {
+        reconstruir();
+    }
+
+    // Antes da VersaoCatalogo trocar o ETag (ver VersaoCatalogo)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void serieAlterada(SerieAlterada evento) {
+        aplicarOuGuardar(evento);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void episodioAlterado(EpisodioAlterado evento) {
+        aplicarOuGuardar(evento);
+    }
+
+    private synchronized void aplicarOuGuardar(Object evento) {
+        if (atual != null) {
+            atual.aplicar(evento);
+        }
+        if (pendentes != null) {
+            pendentes.add(evento);
+        }
+    }
+
+    private void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        synchronized (this) {
+            if (pendentes != null) {
+                return; // Outra reconstrução já está em andamento
+            }
+            pendentes = new ArrayList<>();
+        }
+        try {
+            long inicio = System.currentTimeMillis();
+            Rankings novos = new Rankings();
+            transacao.executeWithoutResult(status -> {
+                repositorio.entradasRankingSeries().forEach(novos::colocar);
+                try (Stream<EntradaEpisodio> episodios = repositorio.transmitirEntradasRankingEpisodios()) {
+                    episodios.forEach(novos::colocar);
+                }
+            });
+            synchronized (this) {
+                pendentes.forEach(novos::aplicar);
+                atual = novos;
+            }
+            System.out.println("[INFO] Rankings montados: " + novos.series.size() + " séries, "
+                    + novos.episodios.size() + " episódios (" + (System.currentTimeMillis() - inicio) + " ms)");
+        } catch (RuntimeException e) {
+            // Mantém os rankings anteriores (ou o banco, se ainda não havia nenhum)
+            System.err.println("[ERRO] Não foi possível montar os rankings: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                pendentes = null;
+            }
+        }
+    }
+
+    /**
+     * Conjunto de rankings (trocado inteiro na reconstrução)
+     */
+    private static final class Rankings {
+
+        final Map<Long, EntradaSerie> series = new ConcurrentHashMap<>();
+        final NavigableSet<EntradaSerie> geral = new ConcurrentSkipListSet<>(EntradaSerie.ORDEM);
+        final Map<Categoria, NavigableSet<EntradaSerie>> porGenero = new EnumMap<>(Categoria.class);
+
+        final Map<Long, EntradaEpisodio> episodios = new ConcurrentHashMap<>();
+        final Map<Long, NavigableSet<EntradaEpisodio>> episodiosPorSerie = new ConcurrentHashMap<>();
+
+        Rankings() {
+            // Todos os gêneros criados aqui: depois, o EnumMap só é lido
+            for (Categoria categoria : Categoria.values()) {
+                porGenero.put(categoria, new ConcurrentSkipListSet<>(EntradaSerie.ORDEM));
+            }
+        }
+
+        void aplicar(Object evento) {
+            if (evento instanceof SerieAlterada serie) {
+                if (serie.tipo() == TipoAlteracao.EXCLUSAO) {
+                    tirar(serie.id());
+                    // Os episódios da série saem junto (o banco os remove em cascata)
+                    NavigableSet<EntradaEpisodio> daSerie = episodiosPorSerie.remove(serie.id());
+                    if (daSerie != null) {
+                        daSerie.forEach(e -> episodios.remove(e.id()));
+                    }
+                } else {
+                    colocar(new EntradaSerie(serie.id(), serie.avaliacao(), serie.genero()));
+                }
+            } else if (evento instanceof EpisodioAlterado episodio) {
+                if (episodio.tipo() == TipoAlteracao.EXCLUSAO) {
+                    tirarEpisodio(episodio.id());
+                } else {
+                    colocar(new EntradaEpisodio(episodio.id(), episodio.serieId(), episodio.temporada(),
+                            episodio.numeroEpisodio(), episodio.titulo(), episodio.avaliacao()));
+                }
+            }
+        }
+
+        void colocar(EntradaSerie entrada) {
+            tirar(entrada.id());
+            series.put(entrada.id(), entrada);
+            geral.add(entrada);
+            if (entrada.genero() != null) {
+                porGenero.get(entrada.genero()).add(entrada);
+            }
+        }
+
+        void tirar(Long id) {
+            EntradaSerie anterior = series.remove(id);
+            if (anterior != null) {
+                geral.remove(anterior);
+                if (anterior.genero() != null) {
+                    porGenero.get(anterior.genero()).remove(anterior);
+                }
+            }
+        }
+
+        void colocar(EntradaEpisodio entrada) {
+            if (entrada.serieId() == null) {
+                return;
+            }
+            tirarEpisodio(entrada.id());
+            episodios.put(entrada.id(), entrada);
+            episodiosPorSerie
+                    .computeIfAbsent(entrada.serieId(), id -> new ConcurrentSkipListSet<>(EntradaEpisodio.ORDEM))
+                    .add(entrada);
+        }
+
+        void tirarEpisodio(Long id) {
+            EntradaEpisodio anterior = episodios.remove(id);
+            if (anterior != null) {
+                NavigableSet<EntradaEpisodio> ranking = episodiosPorSerie.get(anterior.serieId());
+                if (ranking != null) {
+                    ranking.remove(anterior);
+                }
+            }
+        }
+    }
+}
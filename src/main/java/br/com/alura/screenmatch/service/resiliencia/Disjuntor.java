@@ -0,0 +1,71 @@
+package br.com.alura.screenmatch.service.resiliencia;
+
+import java.time.Duration;
+
+/**
+ * Disjuntor (CIRCUIT BREAKER) de um serviço externo
+ *
+ * ESTADOS:
+ * - FECHADO: tudo normal, as chamadas passam
+ * - ABERTO: o serviço falhou demais seguidas → as chamadas são recusadas NA HORA
+ *   (sem esperar timeout) até passar o tempo de espera
+ * - MEIO_ABERTO: passou a espera → deixa UMA chamada de teste passar;
+ *   deu certo, fecha; falhou, abre de novo
+ */
+public class Disjuntor {
+
+    public enum Estado { FECHADO, MEIO_ABERTO, ABERTO }
+
+    private final int limiteFalhas;
+    private final long esperaNanos;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasSeguidas;
+    private long abertoEm;
+    private boolean testeEmAndamento;
+
+    public Disjuntor(int limiteFalhas, Duration espera) {
+        this.limiteFalhas = Math.max(1, limiteFalhas);
+        this.esperaNanos = espera.toNanos();
+    }
+
+    /**
+     * @return true se a chamada pode ser feita agora
+     */
+    public synchronized boolean permitir() {
+        if (estado == Estado.ABERTO && System.nanoTime() - abertoEm >= esperaNanos) {
+            estado = Estado.MEIO_ABERTO;
+            testeEmAndamento = false;
+        }
+        return switch (estado) {
+            case FECHADO -> true;
+            case ABERTO -> false;
+            case MEIO_ABERTO -> {
+                if (testeEmAndamento) {
+                    yield false;
+                }
+                testeEmAndamento = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void registrarSucesso() {
+        falhasSeguidas = 0;
+        estado = Estado.FECHADO;
+        testeEmAndamento = false;
+    }
+
+    public synchronized void registrarFalha() {
+        falhasSeguidas++;
+        if (estado == Estado.MEIO_ABERTO || falhasSeguidas >= limiteFalhas) {
+            estado = Estado.ABERTO;
+            abertoEm = System.nanoTime();
+            testeEmAndamento = false;
+        }
+    }
+
+    public synchronized Estado estado() {
+        return estado;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.alura.screenmatch.service.resiliencia;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Guarda as últimas N latências observadas e calcula percentis
+ *
+ * Usado para ADAPTAR os prazos das requisições:
+ * - prazo da requisição ≈ p99 das últimas respostas (com folga)
+ * - atraso do hedge ≈ p95 (só dispara a 2ª requisição se a 1ª estiver "na cauda")
+ *
+ * Buffer circular: memória constante, as amostras mais antigas são sobrescritas.
+ */
+public class HistoricoLatencia {
+
+    private final long[] amostras;
+    private int proxima;
+    private int quantidade;
+
+    public HistoricoLatencia(int tamanho) {
+        this.amostras = new long[Math.max(1, tamanho)];
+    }
+
+    public synchronized void registrar(Duration latencia) {
+        amostras[proxima] = latencia.toNanos();
+        proxima = (proxima + 1) % amostras.length;
+        quantidade = Math.min(quantidade + 1, amostras.length);
+    }
+
+    /**
+     * @param percentil Valor entre 0 e 1 (ex: 0.99)
+     * @param minimoAmostras Abaixo disso não há dados suficientes para confiar no percentil
+     * @return Latência no percentil pedido, ou vazio se há poucas amostras
+     */
+    public Optional<Duration> percentil(double percentil, int minimoAmostras) {
+        long[] copia;
+        synchronized (this) {
+            if (quantidade < minimoAmostras || quantidade == 0) {
+                return Optional.empty();
+            }
+            copia = Arrays.copyOf(amostras, quantidade);
+        }
+        Arrays.sort(copia);
+        int indice = (int) Math.ceil(percentil * copia.length) - 1;
+        return Optional.of(Duration.ofNanos(copia[Math.max(0, Math.min(indice, copia.length - 1))]));
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.alura.screenmatch.service.resiliencia;
+
+/**
+ * Limitador de taxa no modelo TOKEN BUCKET (balde de fichas)
+ *
+ * COMO FUNCIONA:
+ * - O balde comporta no máximo "capacidade" fichas (permite rajadas curtas)
+ * - Novas fichas entram a uma taxa fixa (fichas por segundo)
+ * - Cada requisição consome 1 ficha; sem ficha disponível, ela ESPERA
+ *
+ * reservar() não bloqueia: consome a ficha (mesmo que ela ainda vá chegar)
+ * e devolve quanto tempo o chamador deve aguardar antes de enviar a requisição.
+ * Assim funciona tanto no modo síncrono (Thread.sleep) quanto no assíncrono
+ * (CompletableFuture.delayedExecutor).
+ *
+ * tentarReservar() é a versão "só se tiver ficha agora": para requisições
+ * opcionais (hedge), que não valem uma espera nem podem estourar o limite.
+ */
+public class LimitadorTaxa {
+
+    private final double capacidade;
+    private final double fichasPorNano;
+    private double fichas;
+    private long ultimaRecarga;
+
+    public LimitadorTaxa(double fichasPorSegundo, int capacidade) {
+        this.capacidade = Math.max(1, capacidade);
+        this.fichasPorNano = fichasPorSegundo / 1_000_000_000.0;
+        this.fichas = this.capacidade;
+        this.ultimaRecarga = System.nanoTime();
+    }
+
+    /**
+     * Reserva uma ficha
+     *
+     * @return Nanossegundos que o chamador deve esperar antes de usar a ficha (0 = pode ir agora)
+     */
+    public synchronized long reservar() {
+        recarregar();
+
+        fichas -= 1;
+        if (fichas >= 0) {
+            return 0;
+        }
+        // Saldo negativo: espera o tempo necessário para a ficha "chegar"
+        return (long) Math.ceil(-fichas / fichasPorNano);
+    }
+
+    /**
+     * Consome uma ficha SÓ se houver uma disponível agora (nunca deixa saldo negativo)
+     *
+     * @return true se a ficha foi consumida; false = não envie a requisição
+     */
+    public synchronized boolean tentarReservar() {
+        recarregar();
+        if (fichas < 1) {
+            return false;
+        }
+        fichas -= 1;
+        return true;
+    }
+
+    private void recarregar() {
+        long agora = System.nanoTime();
+        fichas = Math.min(capacidade, fichas + (agora - ultimaRecarga) * fichasPorNano);
+        ultimaRecarga = agora;
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.alura.screenmatch.service.resiliencia;
+
+import java.time.Duration;
+
+/**
+ * Tamanho de lote ADAPTATIVO no modelo AIMD (Additive Increase, Multiplicative Decrease)
+ * - o mesmo controle de congestionamento do TCP
+ *
+ * COMO FUNCIONA:
+ * - Lote respondeu OK e dentro da latência alvo → cresce 1 (aumento aditivo)
+ * - Lote falhou ou passou da latência alvo → cai pela metade (redução multiplicativa)
+ * - Fica sempre entre 1 e o máximo configurado
+ *
+ * Resultado: o lote cresce devagar enquanto o provedor aguenta e recua rápido
+ * quando ele começa a sofrer (lentidão, 429, erros).
+ */
+public class LoteAdaptativo {
+
+    private final int maximo;
+    private final Duration latenciaAlvo;
+    private int tamanho;
+
+    public LoteAdaptativo(int inicial, int maximo, Duration latenciaAlvo) {
+        this.maximo = Math.max(1, maximo);
+        this.latenciaAlvo = latenciaAlvo;
+        this.tamanho = Math.min(this.maximo, Math.max(1, inicial));
+    }
+
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    public synchronized void registrarSucesso(Duration latencia) {
+        if (latencia.compareTo(latenciaAlvo) > 0) {
+            reduzir();
+        } else if (tamanho < maximo) {
+            tamanho++;
+        }
+    }
+
+    public synchronized void registrarFalha() {
+        reduzir();
+    }
+
+    private void reduzir() {
+        tamanho = Math.max(1, tamanho / 2);
+    }
+}
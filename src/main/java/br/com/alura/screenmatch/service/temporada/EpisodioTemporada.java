@@ -0,0 +1,23 @@
+package br.com.alura.screenmatch.service.temporada;
+
+import br.com.alura.screenmatch.dto.EpisodioDTO;
+
+import java.time.LocalDate;
+
+/**
+ * Linha da consulta de UMA temporada (SerieRepository.episodiosDaTemporada)
+ *
+ * Além do EpisodioDTO, traz avaliação e data de lançamento para o resumo da
+ * temporada. Todas as colunas estão no índice idx_episodios_temporada_cobertura
+ * (ver IndiceTemporadas): a consulta não precisa ler a tabela de episódios.
+ *
+ * Campos nulos: a série existe, mas não tem episódios nessa temporada
+ * (linha "vazia" do LEFT JOIN).
+ */
+public record EpisodioTemporada(Long id, Integer temporada, Integer numeroEpisodio, String titulo,
+                                Double avaliacao, LocalDate dataLancamento) {
+
+    public EpisodioDTO paraDTO() {
+        return new EpisodioDTO(temporada, numeroEpisodio, titulo);
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.alura.screenmatch.service.traducao;
+
+import br.com.alura.screenmatch.model.Traducao;
+import br.com.alura.screenmatch.repository.TraducaoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache de traduções em DUAS camadas, usado por todos os tradutores
+ *
+ * PROBLEMA:
+ * - A mesma sinopse era traduzida de novo a cada importação/reimportação
+ * - Cada tradução custa latência e cota da API (MyMemory, OpenAI)
+ *
+ * COMO FUNCIONA:
+ * - Chave = SHA-256 de (provedor, par de idiomas, texto original)
+ * - 1ª camada: LRU em memória (tamanho limitado, descarta a menos usada)
+ * - 2ª camada: tabela "traducoes" no banco (sobrevive a reinícios)
+ * - Só chama a API quando o texto não está em nenhuma das duas
+ * - Só guarda traduções de respostas válidas: o aviso de cota da MyMemory nunca
+ *   entra (as linhas antigas com o aviso são apagadas pelo LimpezaTraducoes)
+ *
+ * MÉTRICAS (actuator):
+ * - /actuator/metrics/screenmatch.traducao.cache?tag=resultado:acerto_memoria
+ *   (resultados: acerto_memoria, acerto_banco, falta)
+ * - /actuator/metrics/screenmatch.traducao.cache.chamadas_economizadas
+ * - /actuator/metrics/screenmatch.traducao.cache.taxa_acerto
+ *
+ * CONFIGURAÇÃO (application.properties):
+ * - screenmatch.traducao.cache.capacidade: traduções mantidas em memória
+ */
+@Component
+public class CacheTraducoes implements MeterBinder {
+
+    @Autowired
+    private TraducaoRepository repositorio;
+
+    private final Map<String, String> memoria;
+
+    private final AtomicLong acertosMemoria = new AtomicLong();
+    private final AtomicLong acertosBanco = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+
+    public CacheTraducoes(@Value("${screenmatch.traducao.cache.capacidade:10000}") int capacidade) {
+        // accessOrder = true: cada leitura move a entrada para o fim → a mais antiga é a menos usada
+        LinkedHashMap<String, String> lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> maisAntiga) {
+                return size() > capacidade;
+            }
+        };
+        this.memoria = Collections.synchronizedMap(lru);
+    }
+
+    /**
+     * Devolve a tradução do cache ou, se não houver, traduz e guarda
+     *
+     * @param provedor Nome do tradutor (ex: "mymemory", "openai")
+     * @param idiomas Par de idiomas (ex: "en|pt-br")
+     * @param texto Texto original
+     * @param tradutor Chamada à API, usada só em caso de falta
+     * @return Texto traduzido
+     */
+    public String obter(String provedor, String idiomas, String texto, UnaryOperator<String> tradutor) {
+        Optional<String> emCache = buscar(provedor, idiomas, texto);
+        if (emCache.isPresent()) {
+            return emCache.get();
+        }
+        String traducao = tradutor.apply(texto);
+        guardar(provedor, idiomas, texto, traducao);
+        return traducao;
+    }
+
+    /**
+     * Só consulta (memória → banco), sem chamar a API
+     * Usado pela tradução em lote, que junta as faltas numa única requisição
+     *
+     * @return Tradução guardada ou vazio (conta como falta nas métricas)
+     */
+    public Optional<String> buscar(String provedor, String idiomas, String texto) {
+        String chave = chave(provedor, idiomas, texto);
+
+        String emMemoria = memoria.get(chave);
+        if (emMemoria != null) {
+            acertosMemoria.incrementAndGet();
+            return Optional.of(emMemoria);
+        }
+
+        Optional<String> noBanco = buscarNoBanco(chave);
+        if (noBanco.isPresent()) {
+            acertosBanco.incrementAndGet();
+            memoria.put(chave, noBanco.get());
+            return noBanco;
+        }
+
+        faltas.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Guarda uma tradução recém-obtida da API nas duas camadas
+     */
+    public void guardar(String provedor, String idiomas, String texto, String traducao) {
+        // Não guarda resposta vazia, "tradução" igual ao original nem o aviso de cota da MyMemory
+        // (sinais de falha do provedor: ficariam no banco e seriam servidos como tradução)
+        if (traducao == null || traducao.isBlank() || traducao.equals(texto) || DadosTraducao.ehAviso(traducao)) {
+            return;
+        }
+        String chave = chave(provedor, idiomas, texto);
+        memoria.put(chave, traducao);
+        gravarNoBanco(new Traducao(chave, provedor, idiomas, traducao));
+    }
+
+    // Falha no banco nunca impede a tradução: o cache é só um atalho
+    private Optional<String> buscarNoBanco(String chave) {
+        try {
+            return repositorio.findById(chave).map(Traducao::getTextoTraduzido);
+        } catch (DataAccessException e) {
+            System.err.println("[CACHE] Não foi possível consultar traduções salvas: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void gravarNoBanco(Traducao traducao) {
+        try {
+            repositorio.save(traducao);
+        } catch (DataAccessException e) {
+            // Ex: outra thread gravou a mesma chave ao mesmo tempo
+            System.err.println("[CACHE] Não foi possível gravar a tradução: " + e.getMessage());
+        }
+    }
+
+    private static String chave(String provedor, String idiomas, String texto) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // \u0000 como separador: nenhum dos três campos contém esse caractere
+            String conteudo = provedor + '\u0000' + idiomas + '\u0000' + texto;
+            return HexFormat.of().formatHex(digest.digest(conteudo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double taxaAcerto() {
+        long acertos = acertosMemoria.get() + acertosBanco.get();
+        long total = acertos + faltas.get();
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registrar(registry, "acerto_memoria", acertosMemoria);
+        registrar(registry, "acerto_banco", acertosBanco);
+        registrar(registry, "falta", faltas);
+
+        FunctionCounter.builder("screenmatch.traducao.cache.chamadas_economizadas", this,
+                        c -> c.acertosMemoria.get() + c.acertosBanco.get())
+                .description("Chamadas às APIs de tradução evitadas pelo cache")
+                .register(registry);
+        Gauge.builder("screenmatch.traducao.cache.taxa_acerto", this, CacheTraducoes::taxaAcerto)
+                .description("Fração das traduções atendidas pelo cache (0 a 1)")
+                .register(registry);
+        Gauge.builder("screenmatch.traducao.cache.tamanho", memoria, Map::size)
+                .description("Traduções mantidas em memória")
+                .register(registry);
+    }
+
+    private void registrar(MeterRegistry registry, String resultado, AtomicLong contador) {
+        FunctionCounter.builder("screenmatch.traducao.cache", contador, AtomicLong::doubleValue)
+                .description("Consultas ao cache de traduções")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+}
@@ -1,31 +1,190 @@
 package br.com.alura.screenmatch.service.traducao;
 
 import br.com.alura.screenmatch.service.ConsumoApi;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import br.com.alura.screenmatch.service.ConsumoApiException;
+import br.com.alura.screenmatch.service.resiliencia.LoteAdaptativo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
-public class ConsultaMyMemory {
-    public static String obterTraducao(String text) {
-        ObjectMapper mapper = new ObjectMapper();
-        ConsumoApi consumo = new ConsumoApi();
+// @Service: usa o ConsumoApi compartilhado (mesmo pool de conexões das chamadas à OMDB)
+// Textos já traduzidos vêm do CacheTraducoes (memória → banco) sem chamar a API
+//
+// TRADUÇÃO EM LOTE (obterTraducoes):
+// - Junta vários textos numa única requisição, um por linha, e separa a resposta pelas linhas
+// - Respeita o limite de tamanho do parâmetro q da MyMemory (max-bytes)
+// - Quantos textos por requisição: LoteAdaptativo (AIMD) - cresce enquanto a API responde
+//   rápido e sem erro, cai pela metade quando ela falha ou fica lenta
+// - Se a resposta não vier com uma linha por texto, traduz aquele grupo um a um
+// - Se a API recusar o grupo (erro, cota esgotada), o lote falha inteiro: nada de
+//   repetir texto por texto nem mandar os grupos seguintes
+//
+// ProvedorTraducao: é o 1º provedor da cadeia do TraducaoService
+// Cota esgotada/erro chegam com HTTP 200 (o status real vem no corpo): viram ConsumoApiException
+@Service
+public class ConsultaMyMemory implements ProvedorTraducao {
 
-        String texto = URLEncoder.encode(text, StandardCharsets.UTF_8);
-        String langpair = URLEncoder.encode("en|pt-br", StandardCharsets.UTF_8);
+    private static final String IDIOMAS = "en|pt-br";
+    private static final String PROVEDOR = "mymemory";
+    private static final String SEPARADOR = "\n";
+
+    @Autowired
+    private ConsumoApi consumo;
+
+    @Autowired
+    private CacheTraducoes cache;
+
+    private final LoteAdaptativo lote;
+    private final int maximoBytes;
+
+    // Endereço da API (configurável para apontar para o simulador local)
+    @Value("${screenmatch.mymemory.url:https://api.mymemory.translated.net/get}")
+    private String url;
+
+    public ConsultaMyMemory(@Value("${screenmatch.traducao.lote.inicial:4}") int loteInicial,
+                            @Value("${screenmatch.traducao.lote.maximo:20}") int loteMaximo,
+                            @Value("${screenmatch.traducao.lote.latencia-alvo:3s}") Duration latenciaAlvo,
+                            @Value("${screenmatch.traducao.lote.max-bytes:500}") int maximoBytes) {
+        this.lote = new LoteAdaptativo(loteInicial, loteMaximo, latenciaAlvo);
+        this.maximoBytes = maximoBytes;
+    }
+
+    public String obterTraducao(String text) {
+        return cache.obter(PROVEDOR, IDIOMAS, text, this::traduzirNaApi);
+    }
 
-        String url = "https://api.mymemory.translated.net/get?q=" + texto + "&langpair=" + langpair;
+    @Override
+    public String nome() {
+        return PROVEDOR;
+    }
+
+    @Override
+    public String traduzir(String texto) {
+        return obterTraducao(texto);
+    }
+
+    @Override
+    public List<String> traduzirLote(List<String> textos) {
+        return obterTraducoes(textos);
+    }
 
-        String json = consumo.obterDados(url);
+    /**
+     * Traduz vários textos com o mínimo de requisições
+     *
+     * @param textos Textos originais
+     * @return Traduções na mesma ordem; null onde a tradução falhou (pode tentar de novo depois)
+     */
+    public List<String> obterTraducoes(List<String> textos) {
+        List<String> traducoes = new ArrayList<>(Collections.nCopies(textos.size(), null));
 
-        DadosTraducao traducao;
+        // 1. O que já está no cache não vai para a API
+        List<Integer> faltas = new ArrayList<>();
+        for (int i = 0; i < textos.size(); i++) {
+            int posicao = i;
+            cache.buscar(PROVEDOR, IDIOMAS, textos.get(i))
+                    .ifPresentOrElse(t -> traducoes.set(posicao, t), () -> faltas.add(posicao));
+        }
+
+        // 2. O resto vai em grupos (o tamanho do grupo é recalculado a cada requisição)
+        // Se a API recusar um grupo (fora do ar, cota esgotada), os grupos seguintes nem são
+        // enviados: ficam null e vão para o próximo provedor da cadeia
+        int inicio = 0;
+        while (inicio < faltas.size()) {
+            List<Integer> grupo = montarGrupo(textos, faltas, inicio);
+            if (!traduzirGrupo(textos, grupo, traducoes)) {
+                break;
+            }
+            inicio += grupo.size();
+        }
+        return traducoes;
+    }
+
+    // Pega o máximo de textos que cabe no lote atual sem passar do limite de bytes da API
+    private List<Integer> montarGrupo(List<String> textos, List<Integer> faltas, int inicio) {
+        int limite = lote.tamanho();
+        List<Integer> grupo = new ArrayList<>();
+        int bytes = 0;
+        for (int j = inicio; j < faltas.size() && grupo.size() < limite; j++) {
+            int tamanho = normalizar(textos.get(faltas.get(j))).getBytes(StandardCharsets.UTF_8).length + 1;
+            if (!grupo.isEmpty() && bytes + tamanho > maximoBytes) {
+                break;
+            }
+            grupo.add(faltas.get(j));
+            bytes += tamanho;
+        }
+        return grupo;
+    }
+
+    // false = a API recusou a requisição (erro ou cota esgotada): não adianta tentar de novo agora
+    private boolean traduzirGrupo(List<String> textos, List<Integer> grupo, List<String> traducoes) {
+        String juntos = grupo.stream()
+                .map(i -> normalizar(textos.get(i)))
+                .collect(Collectors.joining(SEPARADOR));
+
+        long inicio = System.nanoTime();
+        String[] partes;
         try {
-            traducao = mapper.readValue(json, DadosTraducao.class);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+            String resposta = traduzirNaApi(juntos);
+            // Texto sozinho: a resposta inteira é a tradução (mesmo que tenha quebras de linha)
+            partes = grupo.size() == 1 ? new String[]{resposta} : resposta.split("\\R");
+        } catch (RuntimeException e) {
+            // Falha do LOTE inteiro: quebrar em chamadas de um texto só gastaria mais cota à toa
+            lote.registrarFalha();
+            System.err.println("[ERRO] Falha ao traduzir lote de " + grupo.size() + " textos: " + e.getMessage());
+            return false;
         }
 
+        if (partes.length != grupo.size()) {
+            // A API juntou/quebrou linhas: não dá para saber qual tradução é de qual texto
+            // Traduz um a um (só acontece com 2+ textos: um texto sozinho sempre dá uma parte)
+            lote.registrarFalha();
+            for (Integer i : grupo) {
+                if (!traduzirGrupo(textos, List.of(i), traducoes)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        lote.registrarSucesso(Duration.ofNanos(System.nanoTime() - inicio));
+        for (int j = 0; j < grupo.size(); j++) {
+            int posicao = grupo.get(j);
+            String traducao = partes[j].trim();
+            traducoes.set(posicao, traducao);
+            cache.guardar(PROVEDOR, IDIOMAS, textos.get(posicao), traducao);
+        }
+        return true;
+    }
+
+    // Uma linha por texto: quebras de linha dentro do texto viram espaço
+    private String normalizar(String texto) {
+        return texto.replaceAll("\\R", " ").trim();
+    }
+
+    private String traduzirNaApi(String text) {
+        String texto = URLEncoder.encode(text, StandardCharsets.UTF_8);
+        String langpair = URLEncoder.encode(IDIOMAS, StandardCharsets.UTF_8);
+
+        String endereco = url + "?q=" + texto + "&langpair=" + langpair;
+
+        DadosTraducao traducao = consumo.obterDados(endereco, DadosTraducao.class);
+
+        // HTTP 200 não basta: cota esgotada/erro vêm no corpo e não podem virar "tradução"
+        // (a exceção abre o disjuntor e passa o texto para o próximo provedor da cadeia)
+        if (traducao == null || !traducao.sucesso()) {
+            int status = traducao == null || traducao.status() == null ? 0 : traducao.status();
+            String detalhes = traducao == null ? "resposta vazia" : traducao.detalhes();
+            throw new ConsumoApiException("MyMemory recusou a tradução (status " + status + "): " + detalhes,
+                    status, null);
+        }
         return traducao.dadosResposta().textoTraduzido();
     }
 }
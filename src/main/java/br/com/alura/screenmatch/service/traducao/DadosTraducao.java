@@ -3,6 +3,26 @@ package br.com.alura.screenmatch.service.traducao;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+// A MyMemory responde cota esgotada e erros com HTTP 200: o resultado real vem no corpo
+// (responseStatus != 200, quotaFinished = true, ou o aviso "MYMEMORY WARNING..." no lugar da tradução)
 @JsonIgnoreProperties(ignoreUnknown = true)
-public record DadosTraducao(@JsonAlias(value = "responseData") DadosResposta dadosResposta) {
+public record DadosTraducao(@JsonAlias(value = "responseData") DadosResposta dadosResposta,
+                            @JsonAlias(value = "responseStatus") Integer status,
+                            @JsonAlias(value = "responseDetails") String detalhes,
+                            @JsonAlias(value = "quotaFinished") Boolean cotaEsgotada) {
+
+    private static final String AVISO = "MYMEMORY WARNING";
+
+    public boolean sucesso() {
+        return status != null && status == 200
+                && !Boolean.TRUE.equals(cotaEsgotada)
+                && dadosResposta != null
+                && dadosResposta.textoTraduzido() != null
+                && !ehAviso(dadosResposta.textoTraduzido());
+    }
+
+    // O aviso de cota às vezes vem em translatedText como se fosse a tradução
+    public static boolean ehAviso(String texto) {
+        return texto != null && texto.stripLeading().toUpperCase().startsWith(AVISO);
+    }
 }
@@ -0,0 +1,183 @@
+package br.com.alura.screenmatch.service.traducao;
+
+import br.com.alura.screenmatch.model.Serie;
+import br.com.alura.screenmatch.model.StatusTraducao;
+import br.com.alura.screenmatch.repository.SerieRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fila de tradução das sinopses, processada em SEGUNDO PLANO
+ *
+ * PROBLEMA:
+ * - O construtor Serie(DadosSerie) chamava a API MyMemory para traduzir a sinopse
+ * - Criar a entidade esperava a rede; se o tradutor caísse, a importação quebrava
+ *
+ * COMO FUNCIONA:
+ * - A série é salva NA HORA com a sinopse original e statusTraducao = PENDENTE
+ * - A própria tabela series é a fila (persistente: sobrevive a reinícios)
+ * - A cada intervalo, este serviço pega um lote de pendentes, traduz em paralelo
+ *   (pool de threads, vários textos por requisição) e grava as traduções numa única transação
+ *   (os UPDATEs saem em lote: hibernate.jdbc.batch_size)
+ * - Falhou? Tenta de novo no próximo ciclo; depois do limite, marca FALHOU
+ *   e a série fica com a sinopse original
+ * - Dentro de um ciclo, cada lote começa depois do último id do lote anterior:
+ *   uma sinopse que falhou não volta no mesmo ciclo (gastaria todas as tentativas
+ *   de uma vez enquanto as outras do lote são traduzidas)
+ *
+ * CONFIGURAÇÃO (application.properties):
+ * - screenmatch.traducao.habilitada: liga/desliga o processamento da fila
+ * - screenmatch.traducao.intervalo: pausa entre um ciclo e outro
+ * - screenmatch.traducao.tamanho-lote: sinopses por lote
+ * - screenmatch.traducao.concorrencia: traduções simultâneas
+ * - screenmatch.traducao.tentativas: falhas até desistir de uma sinopse
+ */
+@Service
+public class FilaTraducaoService {
+
+    @Autowired
+    private SerieRepository repositorio;
+
+    // Cadeia de provedores (MyMemory → OpenAI) com disjuntores
+    @Autowired
+    private TraducaoService tradutor;
+
+    @Autowired
+    private TransactionTemplate transacao;
+
+    @Value("${screenmatch.traducao.habilitada:true}")
+    private boolean habilitada;
+
+    @Value("${screenmatch.traducao.tamanho-lote:20}")
+    private int tamanhoLote;
+
+    @Value("${screenmatch.traducao.tentativas:5}")
+    private int maximoTentativas;
+
+    private final int concorrencia;
+    private final ExecutorService executor;
+
+    public FilaTraducaoService(@Value("${screenmatch.traducao.concorrencia:4}") int concorrencia) {
+        this.concorrencia = Math.max(1, concorrencia);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, concorrencia), r -> {
+            Thread thread = new Thread(r, "traducao-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Esvazia a fila: processa lotes enquanto houver pendentes
+     * (fixedDelay: o próximo ciclo só começa depois que este terminar)
+     */
+    @Scheduled(initialDelayString = "${screenmatch.traducao.intervalo:10s}",
+            fixedDelayString = "${screenmatch.traducao.intervalo:10s}")
+    public void processarFila() {
+        if (!habilitada) {
+            return;
+        }
+        try {
+            Lote lote = new Lote(0, 0, 0L);
+            do {
+                lote = processarLote(lote.ultimoId());
+                // Lote sem nenhuma tradução = tradutor fora do ar: espera o próximo ciclo
+            } while (lote.lidas() == tamanhoLote && lote.traduzidas() > 0);
+        } catch (RuntimeException e) {
+            // Nunca deixa a exceção escapar: o agendador pararia de chamar este método
+            System.err.println("[ERRO] Falha ao processar a fila de tradução: " + e.getMessage());
+        }
+    }
+
+    // depoisDe: último id já tentado neste ciclo (as falhas ficam para o próximo ciclo)
+    private Lote processarLote(Long depoisDe) {
+        List<SinopsePendente> pendentes = repositorio.buscarSinopsesPendentes(
+                StatusTraducao.PENDENTE, depoisDe, PageRequest.of(0, tamanhoLote));
+        if (pendentes.isEmpty()) {
+            return new Lote(0, 0, depoisDe);
+        }
+
+        // 1. Traduz FORA da transação (não segura conexão do banco esperando a API)
+        // As pendentes são divididas entre as threads do pool; cada thread usa a tradução
+        // em LOTE (vários textos por requisição, tamanho ajustado pelo AIMD)
+        Map<Long, String> originais = new LinkedHashMap<>();
+        pendentes.forEach(p -> originais.put(p.id(), p.sinopseOriginal()));
+
+        int porThread = (pendentes.size() + concorrencia - 1) / concorrencia;
+        List<CompletableFuture<Map<Long, String>>> futuros = new ArrayList<>();
+        for (int inicio = 0; inicio < pendentes.size(); inicio += porThread) {
+            List<SinopsePendente> parte = pendentes.subList(inicio, Math.min(pendentes.size(), inicio + porThread));
+            futuros.add(CompletableFuture.supplyAsync(() -> traduzir(parte), executor));
+        }
+
+        Map<Long, String> traducoes = new LinkedHashMap<>();
+        for (CompletableFuture<Map<Long, String>> futuro : futuros) {
+            try {
+                traducoes.putAll(futuro.join());
+            } catch (RuntimeException e) {
+                Throwable causa = e.getCause() != null ? e.getCause() : e;
+                System.err.println("[ERRO] Falha ao traduzir parte do lote: " + causa.getMessage());
+            }
+        }
+
+        // 2. Grava tudo numa transação só (o flush no commit agrupa os UPDATEs)
+        transacao.executeWithoutResult(status -> {
+            for (Serie serie : repositorio.findAllById(originais.keySet())) {
+                // Série alterada enquanto traduzia (ex: reimportada)? Deixa para o próximo ciclo
+                if (serie.getStatusTraducao() != StatusTraducao.PENDENTE
+                        || !originais.get(serie.getId()).equals(serie.getSinopseOriginal())) {
+                    continue;
+                }
+                String traducao = traducoes.get(serie.getId());
+                if (traducao != null) {
+                    serie.concluirTraducao(traducao);
+                } else {
+                    serie.registrarFalhaTraducao(maximoTentativas);
+                }
+            }
+        });
+
+        System.out.println("[TRADUÇÃO] " + traducoes.size() + "/" + pendentes.size()
+                + " sinopses traduzidas (pendentes restantes: "
+                + repositorio.countByStatusTraducao(StatusTraducao.PENDENTE) + ")");
+        return new Lote(pendentes.size(), traducoes.size(), pendentes.get(pendentes.size() - 1).id());
+    }
+
+    // Traduções bem-sucedidas (id → texto traduzido); as que falharam ficam de fora
+    private Map<Long, String> traduzir(List<SinopsePendente> pendentes) {
+        List<String> traduzidas = tradutor.traduzirLote(
+                pendentes.stream().map(SinopsePendente::sinopseOriginal).toList());
+        Map<Long, String> resultado = new HashMap<>();
+        for (int i = 0; i < pendentes.size(); i++) {
+            String traducao = traduzidas.get(i);
+            // O aviso de cota da MyMemory nunca vira sinopse CONCLUIDA
+            if (traducao != null && !traducao.isBlank() && !DadosTraducao.ehAviso(traducao)) {
+                resultado.put(pendentes.get(i).id(), traducao);
+            }
+        }
+        return resultado;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    private record Lote(int lidas, int traduzidas, Long ultimoId) {
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.alura.screenmatch.service.traducao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Um serviço de tradução (MyMemory, OpenAI...) que pode entrar na cadeia do TraducaoService
+ *
+ * Para adicionar um provedor novo: implementar esta interface num @Service
+ * e incluir o nome em screenmatch.traducao.provedores
+ */
+public interface ProvedorTraducao {
+
+    // Nome usado na configuração, no cache e nas métricas (ex: "mymemory")
+    String nome();
+
+    // false = provedor não configurado (ex: sem API key); a cadeia pula direto
+    default boolean habilitado() {
+        return true;
+    }
+
+    /**
+     * Traduz um texto (en → pt-br)
+     * Deve LANÇAR exceção em caso de falha (nunca devolver o texto original)
+     */
+    String traduzir(String texto);
+
+    /**
+     * Traduz vários textos; posições com null falharam
+     * Padrão: um texto por vez. Provedores com suporte a lote sobrescrevem.
+     */
+    default List<String> traduzirLote(List<String> textos) {
+        List<String> traducoes = new ArrayList<>(textos.size());
+        for (String texto : textos) {
+            try {
+                traducoes.add(traduzir(texto));
+            } catch (RuntimeException e) {
+                traducoes.add(null);
+            }
+        }
+        return traducoes;
+    }
+}
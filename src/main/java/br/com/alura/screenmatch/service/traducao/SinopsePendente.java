@@ -0,0 +1,5 @@
+package br.com.alura.screenmatch.service.traducao;
+
+// Item da fila de tradução: só o necessário para traduzir (sem carregar a entidade Serie)
+public record SinopsePendente(Long id, String sinopseOriginal) {
+}
@@ -0,0 +1,14 @@
+package br.com.alura.screenmatch.service.traducao;
+
+/**
+ * Nenhum provedor da cadeia conseguiu traduzir o texto
+ * (todos falharam, estão com o disjuntor aberto ou sem vaga no bulkhead)
+ */
+public class TraducaoIndisponivelException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TraducaoIndisponivelException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
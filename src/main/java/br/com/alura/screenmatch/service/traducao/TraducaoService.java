@@ -0,0 +1,196 @@
+package br.com.alura.screenmatch.service.traducao;
+
+import br.com.alura.screenmatch.service.resiliencia.Disjuntor;
+import br.com.alura.screenmatch.service.resiliencia.HistoricoLatencia;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tradução com CADEIA DE PROVEDORES (fallback)
+ *
+ * PROBLEMA:
+ * - MyMemory e OpenAI eram chamados diretamente, sem alternativa
+ * - Provedor fora do ar = cada sinopse esperava o timeout inteiro antes de falhar
+ *
+ * COMO FUNCIONA:
+ * - Os provedores (ProvedorTraducao) são tentados em sequência até um responder
+ * - Disjuntor por provedor: depois de N falhas seguidas, o provedor é PULADO
+ *   na hora durante a espera configurada (depois, uma chamada de teste)
+ * - Bulkhead por provedor: no máximo N chamadas simultâneas; sem vaga, vai para
+ *   o próximo em vez de enfileirar (um provedor lento não prende todas as threads)
+ * - Roteamento por latência: entre os provedores com histórico, o mais rápido
+ *   (mediana das últimas chamadas) é tentado primeiro; sem histórico, vale a
+ *   ordem de screenmatch.traducao.provedores
+ *
+ * MÉTRICAS (actuator):
+ * - /actuator/metrics/screenmatch.traducao.provedor.disjuntor?tag=provedor:mymemory
+ *   (0 = fechado, 1 = meio aberto, 2 = aberto)
+ *
+ * CONFIGURAÇÃO (application.properties):
+ * - screenmatch.traducao.provedores: ordem padrão da cadeia
+ * - screenmatch.traducao.disjuntor.falhas / espera: quando abrir e por quanto tempo
+ * - screenmatch.traducao.bulkhead: chamadas simultâneas por provedor
+ */
+@Service
+public class TraducaoService implements MeterBinder {
+
+    private static final int AMOSTRAS_LATENCIA = 100;
+    private static final int MINIMO_AMOSTRAS = 5;
+
+    private final List<Rota> rotas;
+
+    public TraducaoService(List<ProvedorTraducao> provedores,
+                           @Value("${screenmatch.traducao.provedores:mymemory,openai}") List<String> ordem,
+                           @Value("${screenmatch.traducao.disjuntor.falhas:5}") int limiteFalhas,
+                           @Value("${screenmatch.traducao.disjuntor.espera:30s}") Duration espera,
+                           @Value("${screenmatch.traducao.bulkhead:4}") int bulkhead) {
+        Map<String, ProvedorTraducao> porNome = provedores.stream()
+                .collect(Collectors.toMap(ProvedorTraducao::nome, Function.identity()));
+        this.rotas = new ArrayList<>();
+        for (String nome : ordem) {
+            ProvedorTraducao provedor = porNome.get(nome.trim());
+            if (provedor == null) {
+                throw new IllegalArgumentException("Provedor de tradução desconhecido: " + nome);
+            }
+            rotas.add(new Rota(provedor, new Disjuntor(limiteFalhas, espera),
+                    new Semaphore(Math.max(1, bulkhead)), new HistoricoLatencia(AMOSTRAS_LATENCIA)));
+        }
+    }
+
+    /**
+     * Traduz um texto com o primeiro provedor disponível que responder
+     *
+     * @throws TraducaoIndisponivelException se nenhum provedor conseguir
+     */
+    public String traduzir(String texto) {
+        RuntimeException ultimaFalha = null;
+        for (Rota rota : ordenarRotas()) {
+            if (!rota.reservar()) {
+                continue;
+            }
+            long inicio = System.nanoTime();
+            try {
+                String traducao = rota.provedor().traduzir(texto);
+                rota.registrarSucesso(inicio);
+                return traducao;
+            } catch (RuntimeException e) {
+                rota.registrarFalha();
+                ultimaFalha = e;
+            } finally {
+                rota.liberar();
+            }
+        }
+        throw new TraducaoIndisponivelException("Nenhum provedor de tradução disponível", ultimaFalha);
+    }
+
+    /**
+     * Traduz vários textos; o que um provedor não conseguir vai para o próximo da cadeia
+     *
+     * @return Traduções na mesma ordem; null onde nenhum provedor conseguiu
+     */
+    public List<String> traduzirLote(List<String> textos) {
+        List<String> traducoes = new ArrayList<>(textos);
+        traducoes.replaceAll(t -> null);
+
+        for (Rota rota : ordenarRotas()) {
+            List<Integer> faltando = new ArrayList<>();
+            for (int i = 0; i < textos.size(); i++) {
+                if (traducoes.get(i) == null) {
+                    faltando.add(i);
+                }
+            }
+            if (faltando.isEmpty()) {
+                break;
+            }
+            if (!rota.reservar()) {
+                continue;
+            }
+            long inicio = System.nanoTime();
+            try {
+                List<String> resultado = rota.provedor().traduzirLote(faltando.stream().map(textos::get).toList());
+                int traduzidas = 0;
+                for (int j = 0; j < faltando.size(); j++) {
+                    if (resultado.get(j) != null && !resultado.get(j).isBlank()) {
+                        traducoes.set(faltando.get(j), resultado.get(j));
+                        traduzidas++;
+                    }
+                }
+                // Lote sem nenhuma tradução conta como falha do provedor
+                if (traduzidas > 0) {
+                    rota.registrarSucesso(inicio);
+                } else {
+                    rota.registrarFalha();
+                }
+            } catch (RuntimeException e) {
+                rota.registrarFalha();
+            } finally {
+                rota.liberar();
+            }
+        }
+        return traducoes;
+    }
+
+    // Provedores habilitados: primeiro os com histórico (mais rápido antes), depois os sem histórico
+    private List<Rota> ordenarRotas() {
+        return rotas.stream()
+                .filter(r -> r.provedor().habilitado())
+                .sorted(Comparator.comparingLong(Rota::latenciaMediana))
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Rota rota : rotas) {
+            Gauge.builder("screenmatch.traducao.provedor.disjuntor", rota.disjuntor(), d -> d.estado().ordinal())
+                    .description("Estado do disjuntor do provedor (0 fechado, 1 meio aberto, 2 aberto)")
+                    .tag("provedor", rota.provedor().nome())
+                    .register(registry);
+        }
+    }
+
+    // Provedor + proteções dele (disjuntor, bulkhead) + histórico de latência
+    private record Rota(ProvedorTraducao provedor, Disjuntor disjuntor, Semaphore vagas, HistoricoLatencia latencias) {
+
+        // Disjuntor fechado E vaga no bulkhead (tryAcquire: não espera)
+        boolean reservar() {
+            if (!vagas.tryAcquire()) {
+                return false;
+            }
+            if (!disjuntor.permitir()) {
+                vagas.release();
+                return false;
+            }
+            return true;
+        }
+
+        void liberar() {
+            vagas.release();
+        }
+
+        void registrarSucesso(long inicio) {
+            latencias.registrar(Duration.ofNanos(System.nanoTime() - inicio));
+            disjuntor.registrarSucesso();
+        }
+
+        void registrarFalha() {
+            disjuntor.registrarFalha();
+        }
+
+        // Sem histórico suficiente: Long.MAX_VALUE (fica depois, na ordem configurada - sort estável)
+        long latenciaMediana() {
+            return latencias.percentil(0.5, MINIMO_AMOSTRAS).map(Duration::toNanos).orElse(Long.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.alura.screenmatch.simulador;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Como o simulador se comporta: latência, erros e limite de requisições
+ *
+ * Pode ser alterado com o simulador rodando (POST /_simulador?...), para reproduzir
+ * um incidente no meio de um teste de carga (ex: a API ficou lenta de repente).
+ */
+public class ComportamentoSimulador {
+
+    // Formato da distribuição de latência de cada resposta
+    public enum Distribuicao {
+        // Sempre a média
+        FIXA,
+        // Entre 0 e 2x a média
+        UNIFORME,
+        // Maioria rápida, algumas bem lentas
+        EXPONENCIAL,
+        // Cauda longa (parecido com APIs reais): p99 várias vezes maior que a média
+        LOGNORMAL
+    }
+
+    private volatile Distribuicao distribuicao = Distribuicao.FIXA;
+    private volatile Duration latenciaMedia = Duration.ZERO;
+    private volatile Duration latenciaMaxima = Duration.ofSeconds(30);
+    private volatile double taxaErro;
+    private volatile int limitePorSegundo;
+
+    /**
+     * Sorteia a latência da próxima resposta
+     */
+    public Duration sortearLatencia() {
+        long media = latenciaMedia.toNanos();
+        if (media <= 0) {
+            return Duration.ZERO;
+        }
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        double nanos = switch (distribuicao) {
+            case FIXA -> media;
+            case UNIFORME -> aleatorio.nextDouble() * 2 * media;
+            case EXPONENCIAL -> -media * Math.log(1 - aleatorio.nextDouble());
+            // sigma = 1: média preservada, p99 ≈ 7x a mediana
+            case LOGNORMAL -> media * Math.exp(aleatorio.nextGaussian() - 0.5);
+        };
+        return Duration.ofNanos((long) Math.min(nanos, latenciaMaxima.toNanos()));
+    }
+
+    // Sorteia se esta requisição vai receber um erro 500
+    public boolean sortearErro() {
+        return taxaErro > 0 && ThreadLocalRandom.current().nextDouble() < taxaErro;
+    }
+
+    /**
+     * Atualiza os parâmetros informados (os ausentes ficam como estão)
+     * Ex: {distribuicao=LOGNORMAL, latenciaMedia=500ms, taxaErro=0.1, limitePorSegundo=5}
+     */
+    public void atualizar(Map<String, String> parametros) {
+        parametros.forEach((nome, valor) -> {
+            switch (nome) {
+                case "distribuicao" -> distribuicao = Distribuicao.valueOf(valor.toUpperCase());
+                case "latenciaMedia" -> latenciaMedia = duracao(valor);
+                case "latenciaMaxima" -> latenciaMaxima = duracao(valor);
+                case "taxaErro" -> taxaErro = Double.parseDouble(valor);
+                case "limitePorSegundo" -> limitePorSegundo = Integer.parseInt(valor);
+                default -> throw new IllegalArgumentException("Parâmetro desconhecido: " + nome);
+            }
+        });
+    }
+
+    // Aceita "500ms", "2s", "1m" ou milissegundos ("250")
+    static Duration duracao(String valor) {
+        String texto = valor.trim().toLowerCase();
+        if (texto.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(texto.substring(0, texto.length() - 2)));
+        }
+        if (texto.endsWith("s")) {
+            return Duration.ofMillis((long) (Double.parseDouble(texto.substring(0, texto.length() - 1)) * 1000));
+        }
+        if (texto.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(texto.substring(0, texto.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(texto));
+    }
+
+    public Distribuicao getDistribuicao() {
+        return distribuicao;
+    }
+
+    public void setDistribuicao(Distribuicao distribuicao) {
+        this.distribuicao = distribuicao;
+    }
+
+    public Duration getLatenciaMedia() {
+        return latenciaMedia;
+    }
+
+    public void setLatenciaMedia(Duration latenciaMedia) {
+        this.latenciaMedia = latenciaMedia;
+    }
+
+    public Duration getLatenciaMaxima() {
+        return latenciaMaxima;
+    }
+
+    public void setLatenciaMaxima(Duration latenciaMaxima) {
+        this.latenciaMaxima = latenciaMaxima;
+    }
+
+    public double getTaxaErro() {
+        return taxaErro;
+    }
+
+    public void setTaxaErro(double taxaErro) {
+        this.taxaErro = taxaErro;
+    }
+
+    // 0 = sem limite
+    public int getLimitePorSegundo() {
+        return limitePorSegundo;
+    }
+
+    public void setLimitePorSegundo(int limitePorSegundo) {
+        this.limitePorSegundo = limitePorSegundo;
+    }
+
+    @Override
+    public String toString() {
+        return "{\"distribuicao\":\"" + distribuicao + "\",\"latenciaMedia\":\"" + latenciaMedia.toMillis() + "ms\""
+                + ",\"latenciaMaxima\":\"" + latenciaMaxima.toMillis() + "ms\",\"taxaErro\":" + taxaErro
+                + ",\"limitePorSegundo\":" + limitePorSegundo + "}";
+    }
+}
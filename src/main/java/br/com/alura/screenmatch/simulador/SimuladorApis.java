@@ -0,0 +1,328 @@
+package br.com.alura.screenmatch.simulador;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SIMULADOR LOCAL das APIs externas (OMDB, MyMemory e OpenAI)
+ *
+ * PARA QUE SERVE:
+ * - Teste de carga da importação sem gastar cota nem depender da internet
+ * - Reproduzir incidentes: API lenta, instável (erros 500) ou limitando (429)
+ *
+ * ENDPOINTS (mesmo formato das APIs reais):
+ * - GET  /omdb/?t=titulo[&season=N]       → série ou temporada
+ *        Payloads gravados em resources/simulador/omdb/{titulo}.json e
+ *        {titulo}-temporada-{N}.json; título sem gravação recebe dados sintéticos
+ *        (ou "Series not found!", se gerarSinteticos = false)
+ * - GET  /mymemory/get?q=texto&langpair=  → {"responseData":{"translatedText":"[pt-br] texto"}}
+ *        (linha por linha, então a tradução em lote funciona igual)
+ * - POST /openai/v1/completions           → {"choices":[{"text":"[pt-br] texto"}]}
+ * - GET  /_simulador                      → comportamento atual
+ * - POST /_simulador?taxaErro=0.2&...     → altera o comportamento com o simulador rodando
+ *
+ * COMO USAR:
+ * - Aplicação: perfil "simulador" (--spring.profiles.active=simulador)
+ * - Testes: new SimuladorApis(0, comportamento, true).iniciar() e getPorta()
+ *
+ * Usa o HttpServer do próprio JDK (nenhuma dependência nova).
+ */
+public class SimuladorApis {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int portaConfigurada;
+    private final ComportamentoSimulador comportamento;
+    private final boolean gerarSinteticos;
+    private final int threads;
+
+    private HttpServer servidor;
+    private ExecutorService executor;
+
+    // Janela de 1 segundo para o limite de requisições (throttling)
+    private long janelaAtual;
+    private int requisicoesNaJanela;
+
+    private final AtomicLong atendidas = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+    private final AtomicLong limitadas = new AtomicLong();
+
+    public SimuladorApis(int porta, ComportamentoSimulador comportamento, boolean gerarSinteticos) {
+        this(porta, comportamento, gerarSinteticos, 64);
+    }
+
+    /**
+     * @param porta Porta HTTP (0 = qualquer porta livre, útil em testes)
+     * @param threads Requisições atendidas ao mesmo tempo (a latência simulada ocupa a thread)
+     */
+    public SimuladorApis(int porta, ComportamentoSimulador comportamento, boolean gerarSinteticos, int threads) {
+        this.portaConfigurada = porta;
+        this.comportamento = comportamento;
+        this.gerarSinteticos = gerarSinteticos;
+        this.threads = Math.max(1, threads);
+    }
+
+    public synchronized SimuladorApis iniciar() {
+        try {
+            servidor = HttpServer.create(new InetSocketAddress("localhost", portaConfigurada), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir a porta " + portaConfigurada, e);
+        }
+        AtomicInteger contador = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "simulador-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        servidor.setExecutor(executor);
+        servidor.createContext("/omdb/", troca -> atender(troca, this::omdb));
+        servidor.createContext("/mymemory/get", troca -> atender(troca, this::myMemory));
+        servidor.createContext("/openai/v1/completions", troca -> atender(troca, this::openAi));
+        servidor.createContext("/_simulador", this::administrar);
+        servidor.start();
+        System.out.println("[SIMULADOR] APIs simuladas em http://localhost:" + getPorta() + " " + comportamento);
+        return this;
+    }
+
+    public synchronized void parar() {
+        if (servidor != null) {
+            servidor.stop(0);
+            executor.shutdownNow();
+            servidor = null;
+        }
+    }
+
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    // Ex: http://localhost:8089
+    public String getEndereco() {
+        return "http://localhost:" + getPorta();
+    }
+
+    public ComportamentoSimulador getComportamento() {
+        return comportamento;
+    }
+
+    public long getAtendidas() {
+        return atendidas.get();
+    }
+
+    public long getErros() {
+        return erros.get();
+    }
+
+    public long getLimitadas() {
+        return limitadas.get();
+    }
+
+    // ========================================
+    // ATENDIMENTO: limite → latência → erro → resposta
+    // ========================================
+
+    private void atender(HttpExchange troca, Resposta resposta) throws IOException {
+        try (troca) {
+            if (!dentroDoLimite()) {
+                limitadas.incrementAndGet();
+                troca.getResponseHeaders().add("Retry-After", "1");
+                responder(troca, 429, "{\"Error\":\"Too many requests (simulador)\"}");
+                return;
+            }
+
+            Duration latencia = comportamento.sortearLatencia();
+            if (!latencia.isZero()) {
+                Thread.sleep(latencia.toMillis(), latencia.toNanosPart() % 1_000_000);
+            }
+
+            if (comportamento.sortearErro()) {
+                erros.incrementAndGet();
+                responder(troca, 500, "{\"Error\":\"Erro simulado\"}");
+                return;
+            }
+
+            atendidas.incrementAndGet();
+            responder(troca, 200, resposta.gerar(troca));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            responder(troca, 400, "{\"Error\":\"" + e.getMessage().replace("\"", "'") + "\"}");
+        }
+    }
+
+    private synchronized boolean dentroDoLimite() {
+        int limite = comportamento.getLimitePorSegundo();
+        if (limite <= 0) {
+            return true;
+        }
+        long segundo = System.nanoTime() / 1_000_000_000L;
+        if (segundo != janelaAtual) {
+            janelaAtual = segundo;
+            requisicoesNaJanela = 0;
+        }
+        return ++requisicoesNaJanela <= limite;
+    }
+
+    private void administrar(HttpExchange troca) throws IOException {
+        try (troca) {
+            if ("POST".equalsIgnoreCase(troca.getRequestMethod())) {
+                comportamento.atualizar(parametros(troca));
+                System.out.println("[SIMULADOR] Comportamento alterado: " + comportamento);
+            }
+            responder(troca, 200, comportamento.toString());
+        } catch (RuntimeException e) {
+            responder(troca, 400, "{\"Error\":\"" + e.getMessage().replace("\"", "'") + "\"}");
+        }
+    }
+
+    // ========================================
+    // RESPOSTAS DE CADA API
+    // ========================================
+
+    private String omdb(HttpExchange troca) {
+        Map<String, String> parametros = parametros(troca);
+        String titulo = parametros.getOrDefault("t", "").trim();
+        String temporada = parametros.get("season");
+        String nomeArquivo = slug(titulo) + (temporada != null ? "-temporada-" + temporada : "") + ".json";
+
+        String gravado = lerRecurso("/simulador/omdb/" + nomeArquivo);
+        if (gravado != null) {
+            return gravado;
+        }
+        if (!gerarSinteticos || titulo.isEmpty()) {
+            return "{\"Response\":\"False\",\"Error\":\"Series not found!\"}";
+        }
+        return temporada != null
+                ? temporadaSintetica(titulo, Integer.parseInt(temporada))
+                : serieSintetica(titulo);
+    }
+
+    private String myMemory(HttpExchange troca) {
+        String texto = parametros(troca).getOrDefault("q", "");
+        ObjectNode raiz = MAPPER.createObjectNode();
+        raiz.putObject("responseData").put("translatedText", traduzir(texto));
+        raiz.put("responseStatus", 200);
+        return raiz.toString();
+    }
+
+    private String openAi(HttpExchange troca) {
+        try (InputStream corpo = troca.getRequestBody()) {
+            JsonNode requisicao = MAPPER.readTree(corpo);
+            String prompt = requisicao.path("prompt").asText();
+            String texto = prompt.substring(prompt.indexOf(':') + 1).trim();
+            ObjectNode raiz = MAPPER.createObjectNode();
+            raiz.putArray("choices").addObject().put("text", traduzir(texto));
+            return raiz.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // "Tradução" previsível: marca cada linha (o lote continua com uma linha por texto)
+    private String traduzir(String texto) {
+        return texto.lines().map(linha -> "[pt-br] " + linha).reduce((a, b) -> a + "\n" + b).orElse("");
+    }
+
+    // ========================================
+    // DADOS SINTÉTICOS (títulos sem payload gravado)
+    // Derivados do título: o mesmo título sempre gera os mesmos dados
+    // ========================================
+
+    private String serieSintetica(String titulo) {
+        int semente = Math.abs(titulo.toLowerCase().hashCode());
+        ObjectNode serie = MAPPER.createObjectNode();
+        serie.put("Title", titulo);
+        serie.put("totalSeasons", String.valueOf(1 + semente % 6));
+        serie.put("imdbRating", String.format(Locale.US, "%.1f", 5 + (semente % 50) / 10.0));
+        serie.put("Genre", new String[]{"Drama", "Comedy", "Action", "Crime", "Sci-Fi"}[semente % 5]);
+        serie.put("Actors", "Ator Simulado " + (semente % 100) + ", Atriz Simulada " + (semente % 37));
+        serie.put("Poster", "N/A");
+        serie.put("Plot", "A simulated series called " + titulo + ".");
+        serie.put("Response", "True");
+        return serie.toString();
+    }
+
+    private String temporadaSintetica(String titulo, int numero) {
+        int semente = Math.abs((titulo.toLowerCase() + numero).hashCode());
+        ObjectNode temporada = MAPPER.createObjectNode();
+        temporada.put("Title", titulo);
+        temporada.put("Season", String.valueOf(numero));
+        ArrayNode episodios = temporada.putArray("Episodes");
+        int quantidade = 6 + semente % 10;
+        for (int i = 1; i <= quantidade; i++) {
+            episodios.addObject()
+                    .put("Title", "Episode " + i)
+                    .put("Released", String.format("%d-%02d-%02d", 2000 + semente % 24, 1 + (i - 1) / 4 % 12, 1 + (i * 7) % 28))
+                    .put("Episode", String.valueOf(i))
+                    .put("imdbRating", String.format(Locale.US, "%.1f", 6 + ((semente + i) % 40) / 10.0));
+        }
+        temporada.put("Response", "True");
+        return temporada.toString();
+    }
+
+    // ========================================
+    // UTILITÁRIOS
+    // ========================================
+
+    private static void responder(HttpExchange troca, int status, String corpo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = troca.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parametros(HttpExchange troca) {
+        Map<String, String> parametros = new LinkedHashMap<>();
+        String consulta = troca.getRequestURI().getRawQuery();
+        if (consulta == null || consulta.isEmpty()) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String nome = URLDecoder.decode(igual < 0 ? par : par.substring(0, igual), StandardCharsets.UTF_8);
+            String valor = igual < 0 ? "" : URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8);
+            parametros.put(nome, valor);
+        }
+        return parametros;
+    }
+
+    // "The Boys" → "the-boys"
+    private static String slug(String titulo) {
+        return titulo.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+    }
+
+    private static String lerRecurso(String caminho) {
+        try (InputStream in = SimuladorApis.class.getResourceAsStream(caminho)) {
+            return in == null ? null : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Resposta {
+        String gerar(HttpExchange troca);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.alura.screenmatch.simulador;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Sobe o SimuladorApis junto com a aplicação no perfil "simulador"
+ *
+ * COMO USAR:
+ * - mvn spring-boot:run -Dspring-boot.run.profiles=simulador
+ * - application-simulador.properties aponta screenmatch.omdb.url, screenmatch.mymemory.url
+ *   e screenmatch.openai.url para o simulador (nada sai para a internet)
+ *
+ * CONFIGURAÇÃO (application-simulador.properties):
+ * - screenmatch.simulador.porta / threads
+ * - screenmatch.simulador.distribuicao / latencia-media / latencia-maxima
+ * - screenmatch.simulador.taxa-erro: fração das respostas com erro 500 (0.1 = 10%)
+ * - screenmatch.simulador.limite-por-segundo: acima disso responde 429 (0 = sem limite)
+ * - screenmatch.simulador.sinteticos: gera dados para títulos sem payload gravado
+ */
+@Configuration
+@Profile("simulador")
+public class SimuladorConfiguration {
+
+    @Bean(initMethod = "iniciar", destroyMethod = "parar")
+    public SimuladorApis simuladorApis(
+            @Value("${screenmatch.simulador.porta:8089}") int porta,
+            @Value("${screenmatch.simulador.threads:64}") int threads,
+            @Value("${screenmatch.simulador.distribuicao:LOGNORMAL}") ComportamentoSimulador.Distribuicao distribuicao,
+            @Value("${screenmatch.simulador.latencia-media:200ms}") Duration latenciaMedia,
+            @Value("${screenmatch.simulador.latencia-maxima:30s}") Duration latenciaMaxima,
+            @Value("${screenmatch.simulador.taxa-erro:0}") double taxaErro,
+            @Value("${screenmatch.simulador.limite-por-segundo:0}") int limitePorSegundo,
+            @Value("${screenmatch.simulador.sinteticos:true}") boolean sinteticos) {
+        ComportamentoSimulador comportamento = new ComportamentoSimulador();
+        comportamento.setDistribuicao(distribuicao);
+        comportamento.setLatenciaMedia(latenciaMedia);
+        comportamento.setLatenciaMaxima(latenciaMaxima);
+        comportamento.setTaxaErro(taxaErro);
+        comportamento.setLimitePorSegundo(limitePorSegundo);
+        return new SimuladorApis(porta, comportamento, sinteticos, threads);
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.alura.screenmatch.benchmark;
+
+import br.com.alura.screenmatch.dto.SerieDTO;
+import br.com.alura.screenmatch.model.Categoria;
+import br.com.alura.screenmatch.service.ConverteDados;
+import br.com.alura.screenmatch.service.traducao.DadosTraducao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o codec JSON compartilhado com o ObjectMapper criado a cada chamada:
+ * - mapperPorChamada*: como o ConsultaChatGPT fazia (new ObjectMapper() por tradução)
+ * - mapperCompartilhado*: um ObjectMapper e ObjectReader/ObjectWriter reaproveitados, sem Blackbird
+ * - codec*: ConverteDados (mapper único + Blackbird)
+ *
+ * Leitura: resposta da MyMemory (DadosTraducao)
+ * Escrita: página de 50 SerieDTO (o que o GET /series devolve)
+ *
+ * COMO RODAR (não roda no mvn test):
+ *   mvn test-compile
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *        br.com.alura.screenmatch.benchmark.CodecJsonBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecJsonBenchmark {
+
+    private static final String TRADUCAO = "{\"responseData\":{\"translatedText\":\"Um grupo de vigilantes "
+            + "decide derrubar super-heróis corruptos.\",\"match\":1},\"quotaFinished\":false,"
+            + "\"responseStatus\":200,\"matches\":[]}";
+
+    private List<SerieDTO> series;
+
+    private ObjectReader leitorCompartilhado;
+    private ObjectWriter escritorCompartilhado;
+    private ConverteDados codec;
+
+    @Setup
+    public void preparar() {
+        series = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            series.add(new SerieDTO(i, "Série " + i, (int) (i % 8) + 1, 7.5 + (i % 20) / 10.0,
+                    Categoria.values()[(int) (i % Categoria.values().length)],
+                    "Ator " + i + ", Atriz " + i, "https://poster/" + i + ".jpg",
+                    "Sinopse da série " + i + " com algumas palavras a mais."));
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        leitorCompartilhado = mapper.readerFor(DadosTraducao.class);
+        escritorCompartilhado = mapper.writerFor(mapper.getTypeFactory()
+                .constructCollectionType(List.class, SerieDTO.class));
+        codec = new ConverteDados();
+    }
+
+    @Benchmark
+    public DadosTraducao mapperPorChamadaLeitura() throws Exception {
+        return new ObjectMapper().readValue(TRADUCAO, DadosTraducao.class);
+    }
+
+    @Benchmark
+    public DadosTraducao mapperCompartilhadoLeitura() throws Exception {
+        return leitorCompartilhado.readValue(TRADUCAO);
+    }
+
+    @Benchmark
+    public DadosTraducao codecLeitura() {
+        return codec.obterDados(TRADUCAO, DadosTraducao.class);
+    }
+
+    @Benchmark
+    public String mapperPorChamadaEscrita() throws Exception {
+        return new ObjectMapper().writeValueAsString(series);
+    }
+
+    @Benchmark
+    public String mapperCompartilhadoEscrita() throws Exception {
+        return escritorCompartilhado.writeValueAsString(series);
+    }
+
+    @Benchmark
+    public String codecEscrita() {
+        return codec.escrever(series);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CodecJsonBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
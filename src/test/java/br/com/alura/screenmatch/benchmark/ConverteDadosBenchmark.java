@@ -0,0 +1,90 @@
+package br.com.alura.screenmatch.benchmark;
+
+import br.com.alura.screenmatch.model.DadosTemporada;
+import br.com.alura.screenmatch.service.ConverteDados;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a decodificação de uma temporada da OMDB:
+ * - stringAntiga: como era antes (bytes → String → ObjectMapper.readValue)
+ * - inputStream / byteBuffer: ObjectReader em cache lendo direto dos bytes
+ *
+ * COMO RODAR (não roda no mvn test):
+ *   mvn test-compile
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *        br.com.alura.screenmatch.benchmark.ConverteDadosBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverteDadosBenchmark {
+
+    // Quantidade de episódios na temporada simulada
+    @Param({"10", "50"})
+    private int episodios;
+
+    private byte[] corpo;
+    private final ObjectMapper mapperAntigo = new ObjectMapper();
+    private final ConverteDados conversor = new ConverteDados();
+
+    @Setup
+    public void montarResposta() {
+        StringBuilder json = new StringBuilder("{\"Title\":\"Série\",\"Season\":\"1\",\"totalSeasons\":\"5\",\"Episodes\":[");
+        for (int i = 1; i <= episodios; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"Title\":\"Episódio ").append(i)
+                    .append("\",\"Released\":\"2020-01-").append(String.format("%02d", i % 28 + 1))
+                    .append("\",\"Episode\":\"").append(i)
+                    .append("\",\"imdbRating\":\"8.").append(i % 10)
+                    .append("\",\"imdbID\":\"tt").append(1000000 + i).append("\"}");
+        }
+        json.append("],\"Response\":\"True\"}");
+        corpo = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public DadosTemporada stringAntiga() throws Exception {
+        String json = new String(corpo, StandardCharsets.UTF_8);
+        return mapperAntigo.readValue(json, DadosTemporada.class);
+    }
+
+    @Benchmark
+    public DadosTemporada inputStream() {
+        return conversor.obterDados(new ByteArrayInputStream(corpo), DadosTemporada.class);
+    }
+
+    @Benchmark
+    public DadosTemporada byteBuffer() {
+        return conversor.obterDados(ByteBuffer.wrap(corpo), DadosTemporada.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ConverteDadosBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
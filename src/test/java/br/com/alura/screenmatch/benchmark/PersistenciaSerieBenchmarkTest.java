@@ -0,0 +1,90 @@
+package br.com.alura.screenmatch.benchmark;
+
+import br.com.alura.screenmatch.model.Categoria;
+import br.com.alura.screenmatch.model.Episodio;
+import br.com.alura.screenmatch.model.Serie;
+import br.com.alura.screenmatch.repository.SerieRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede a gravação de uma série com muitos episódios (repositorio.save com cascade)
+ *
+ * Precisa de um PostgreSQL de verdade, por isso só roda quando pedido:
+ *   mvn test -Dtest=PersistenciaSerieBenchmarkTest -Dbenchmark.banco=true
+ *
+ * ANTES x DEPOIS (mesmo banco, mesma máquina):
+ * - Depois (lotes de 50):  mvn test ... -Dbenchmark.banco=true
+ * - Sem lote (simula o IDENTITY, 1 INSERT por ida ao banco):
+ *   mvn test ... -Dbenchmark.banco=true -Dspring.jpa.properties.hibernate.jdbc.batch_size=1
+ *
+ * Imprime linhas/segundo e quantos comandos JDBC foram enviados (Hibernate Statistics)
+ * As séries gravadas são apagadas no final
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "benchmark.banco", matches = "true")
+class PersistenciaSerieBenchmarkTest {
+
+    private static final int EPISODIOS = 500;
+    private static final int AQUECIMENTO = 2;
+    private static final int RODADAS = 5;
+
+    @Autowired
+    private SerieRepository repositorio;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void gravarSerieComEpisodios() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> gravadas = new ArrayList<>();
+        try {
+            for (int i = 0; i < AQUECIMENTO; i++) {
+                gravadas.add(repositorio.save(novaSerie("aquecimento-" + i)).getId());
+            }
+
+            estatisticas.clear();
+            long inicio = System.nanoTime();
+            for (int i = 0; i < RODADAS; i++) {
+                gravadas.add(repositorio.save(novaSerie("rodada-" + i)).getId());
+            }
+            double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+            long linhas = (long) RODADAS * (EPISODIOS + 1);
+            System.out.printf("[INFO] %d linhas em %.3fs = %.0f linhas/s | comandos JDBC preparados: %d%n",
+                    linhas, segundos, linhas / segundos, estatisticas.getPrepareStatementCount());
+        } finally {
+            repositorio.deleteAllById(gravadas);
+        }
+    }
+
+    private Serie novaSerie(String sufixo) {
+        Serie serie = new Serie();
+        serie.setTitulo("benchmark-" + sufixo + "-" + System.nanoTime());
+        serie.setTotalTemporadas(EPISODIOS / 25);
+        serie.setGenero(Categoria.DRAMA);
+
+        List<Episodio> episodios = new ArrayList<>();
+        for (int i = 0; i < EPISODIOS; i++) {
+            Episodio episodio = new Episodio();
+            episodio.setTemporada(i / 25 + 1);
+            episodio.setNumeroEpisodio(i % 25 + 1);
+            episodio.setTitulo("Episódio " + i);
+            episodio.setAvaliacao(7.5);
+            episodio.setDataLancamento(LocalDate.of(2020, 1, 1).plusDays(i));
+            episodios.add(episodio);
+        }
+        serie.setEpisodios(episodios);
+        return serie;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.alura.screenmatch.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comparação do If-None-Match com o ETag atual (decide o 304)
+ */
+class SerieControllerTest {
+
+    private static final String ETAG = "\"abc-7\"";
+
+    @Test
+    void etagIgualOuFraco() {
+        assertTrue(SerieController.contemEtag(List.of(ETAG), ETAG));
+        assertTrue(SerieController.contemEtag(List.of("W/" + ETAG), ETAG));
+    }
+
+    @Test
+    void qualquerUmDaLista() {
+        assertTrue(SerieController.contemEtag(List.of("\"abc-6\"", ETAG), ETAG));
+    }
+
+    @Test
+    void asterisco() {
+        assertTrue(SerieController.contemEtag(List.of("*"), ETAG));
+    }
+
+    @Test
+    void etagDiferenteOuAusente() {
+        assertFalse(SerieController.contemEtag(List.of("\"abc-6\"", "W/\"abc-8\""), ETAG));
+        assertFalse(SerieController.contemEtag(List.of(), ETAG));
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.alura.screenmatch.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Normalização dos nomes do elenco (gravação e busca comparam o mesmo texto)
+ */
+class SerieTest {
+
+    @Test
+    void tiraAcentosEspacosEMaiusculas() {
+        assertEquals("zoe saldana", Serie.normalizarAtor("  Zoë   SALDAÑA "));
+        assertEquals("jose", Serie.normalizarAtor("JOSÉ"));
+    }
+
+    @Test
+    void separaOsAtoresDaApi() {
+        assertEquals(Set.of("karl urban", "jack quaid"), Serie.separarAtores("Karl Urban, Jack Quaid,"));
+    }
+
+    @Test
+    void ignoraElencoNaoInformado() {
+        assertEquals(Set.of(), Serie.separarAtores("N/A"));
+        assertEquals(Set.of(), Serie.separarAtores(null));
+    }
+}
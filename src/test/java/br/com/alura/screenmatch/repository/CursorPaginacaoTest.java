@@ -0,0 +1,55 @@
+package br.com.alura.screenmatch.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Cursor opaco da paginação por keyset (ida e volta, validações)
+ */
+class CursorPaginacaoTest {
+
+    @Test
+    void decodificaAsPartesCodificadas() {
+        String cursor = CursorPaginacao.codificar("episodio", 7L, 2, 13, 991L);
+
+        assertArrayEquals(new String[]{"7", "2", "13", "991"}, CursorPaginacao.decodificar(cursor, "episodio", 4));
+    }
+
+    @Test
+    void ultimaParteMantemOSeparador() {
+        String cursor = CursorPaginacao.codificar("busca", 1, 0, 5, 42L, "a|b");
+
+        assertArrayEquals(new String[]{"1", "0", "5", "42", "a|b"}, CursorPaginacao.decodificar(cursor, "busca", 5));
+    }
+
+    @Test
+    void recusaCursorDeOutraListagem() {
+        String cursor = CursorPaginacao.codificar("serie", 8.5, 3L);
+
+        assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.decodificar(cursor, "episodio", 2));
+    }
+
+    @Test
+    void recusaQuantidadeErradaDePartes() {
+        String cursor = CursorPaginacao.codificar("episodio", 7L, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.decodificar(cursor, "episodio", 4));
+    }
+
+    @Test
+    void recusaTextoQueNaoEBase64() {
+        assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.decodificar("%%%", "episodio", 4));
+    }
+
+    @Test
+    void recusaBase64SemOTipo() {
+        String cursor = Base64.getUrlEncoder().encodeToString("qualquer coisa".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.decodificar(cursor, "episodio", 1));
+    }
+}
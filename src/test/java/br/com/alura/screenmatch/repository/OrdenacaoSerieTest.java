@@ -0,0 +1,37 @@
+package br.com.alura.screenmatch.repository;
+
+import br.com.alura.screenmatch.dto.SerieDTO;
+import br.com.alura.screenmatch.model.Categoria;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Ordenações da paginação de séries (?ordem= e valores guardados no cursor)
+ */
+class OrdenacaoSerieTest {
+
+    private final SerieDTO serie = new SerieDTO(3L, "The Boys", 4, 8.7, Categoria.ACAO,
+            "Karl Urban", "poster.jpg", "sinopse");
+
+    @Test
+    void aceitaAtributoOuNomeSemDiferenciarMaiusculas() {
+        assertEquals(OrdenacaoSerie.AVALIACAO, OrdenacaoSerie.fromString("avaliacao"));
+        assertEquals(OrdenacaoSerie.TOTAL_TEMPORADAS, OrdenacaoSerie.fromString("TOTALTEMPORADAS"));
+        assertEquals(OrdenacaoSerie.TOTAL_TEMPORADAS, OrdenacaoSerie.fromString("total_temporadas"));
+    }
+
+    @Test
+    void recusaOrdenacaoDesconhecida() {
+        assertThrows(IllegalArgumentException.class, () -> OrdenacaoSerie.fromString("genero"));
+    }
+
+    @Test
+    void valorDoCursorVoltaNoTipoDaColuna() {
+        for (OrdenacaoSerie ordenacao : OrdenacaoSerie.values()) {
+            Object valor = ordenacao.valorDe(serie);
+            assertEquals(valor, ordenacao.converter(String.valueOf(valor)));
+        }
+    }
+}
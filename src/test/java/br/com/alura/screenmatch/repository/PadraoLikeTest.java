@@ -0,0 +1,25 @@
+package br.com.alura.screenmatch.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Padrões de LIKE: curingas do usuário viram texto comum (ESCAPE '\')
+ */
+class PadraoLikeTest {
+
+    @Test
+    void montaOsTresPadroes() {
+        assertEquals("%pilot%", PadraoLike.contem("pilot"));
+        assertEquals("pilot%", PadraoLike.comecaCom("pilot"));
+        assertEquals("% pilot%", PadraoLike.comecaPalavra("pilot"));
+    }
+
+    @Test
+    void escapaCuringasEABarra() {
+        assertEquals("%100\\%%", PadraoLike.contem("100%"));
+        assertEquals("%a\\_b%", PadraoLike.contem("a_b"));
+        assertEquals("%c:\\\\temp%", PadraoLike.contem("c:\\temp"));
+    }
+}
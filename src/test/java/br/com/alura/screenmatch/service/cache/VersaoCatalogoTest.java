@@ -0,0 +1,54 @@
+package br.com.alura.screenmatch.service.cache;
+
+import br.com.alura.screenmatch.model.Categoria;
+import br.com.alura.screenmatch.model.evento.EpisodioAlterado;
+import br.com.alura.screenmatch.model.evento.SerieAlterada;
+import br.com.alura.screenmatch.model.evento.TipoAlteracao;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Versão já entregue de cada série: decide o 304 de /series/{id} sem ir ao banco
+ */
+class VersaoCatalogoTest {
+
+    private final VersaoCatalogo versao = new VersaoCatalogo(100, Duration.ofMinutes(1));
+
+    @Test
+    void lembraAVersaoEntregue() {
+        assertNull(versao.etagSerieConhecida(1L));
+
+        String etag = versao.etagSerie(serie(1L, 3L));
+
+        assertEquals("\"s1-3\"", etag);
+        assertEquals(etag, versao.etagSerieConhecida(1L));
+    }
+
+    @Test
+    void esqueceQuandoASerieEGravada() {
+        versao.etagSerie(serie(1L, 3L));
+        versao.etagSerie(serie(2L, 5L));
+
+        versao.esquecerVersaoSerie(new SerieAlterada(1L, 8.0, Categoria.DRAMA, 4L, TipoAlteracao.ALTERACAO));
+
+        assertNull(versao.etagSerieConhecida(1L));
+        assertEquals("\"s2-5\"", versao.etagSerieConhecida(2L));
+    }
+
+    @Test
+    void esqueceQuandoUmEpisodioDaSerieEGravado() {
+        versao.etagSerie(serie(1L, 3L));
+
+        versao.esquecerVersaoSerie(new EpisodioAlterado(10L, 1L, 1, 1, "Piloto", 9.0, TipoAlteracao.INCLUSAO));
+
+        assertNull(versao.etagSerieConhecida(1L));
+    }
+
+    private static SerieVersionada serie(Long id, Long versao) {
+        return new SerieVersionada(id, "Série " + id, 1, 8.0, Categoria.DRAMA, "", "", "", versao);
+    }
+}
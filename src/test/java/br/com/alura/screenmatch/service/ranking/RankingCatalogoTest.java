@@ -0,0 +1,95 @@
+package br.com.alura.screenmatch.service.ranking;
+
+import br.com.alura.screenmatch.dto.EpisodioDTO;
+import br.com.alura.screenmatch.model.Categoria;
+import br.com.alura.screenmatch.model.evento.EpisodioAlterado;
+import br.com.alura.screenmatch.model.evento.SerieAlterada;
+import br.com.alura.screenmatch.model.evento.TipoAlteracao;
+import br.com.alura.screenmatch.repository.SerieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rankings em memória: carga inicial e manutenção incremental pelos eventos
+ * (repositório simulado, sem banco)
+ */
+class RankingCatalogoTest {
+
+    private RankingCatalogo ranking;
+
+    @BeforeEach
+    void montar() {
+        SerieRepository repositorio = mock(SerieRepository.class);
+        when(repositorio.entradasRankingSeries()).thenReturn(List.of(
+                new EntradaSerie(1L, 8.0, Categoria.ACAO),
+                new EntradaSerie(2L, 9.5, Categoria.DRAMA),
+                new EntradaSerie(3L, 8.0, Categoria.ACAO),
+                new EntradaSerie(4L, null, Categoria.ACAO)));
+        when(repositorio.transmitirEntradasRankingEpisodios()).thenAnswer(invocacao -> Stream.of(
+                new EntradaEpisodio(10L, 1L, 1, 1, "Piloto", 7.0),
+                new EntradaEpisodio(11L, 1L, 1, 2, "Segundo", 9.0),
+                new EntradaEpisodio(12L, 1L, 1, 3, "Terceiro", null)));
+
+        ranking = new RankingCatalogo();
+        ReflectionTestUtils.setField(ranking, "repositorio", repositorio);
+        ReflectionTestUtils.setField(ranking, "transacao", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(ranking, "habilitado", true);
+        ranking.construirNaSubida();
+    }
+
+    @Test
+    void ordenaPorAvaliacaoComDesempatePeloId() {
+        assertTrue(ranking.pronto());
+        assertEquals(List.of(2L, 1L, 3L, 4L), ranking.topSeries(null, 10));
+        assertEquals(List.of(1L, 3L), ranking.topSeries(Categoria.ACAO, 2));
+        assertEquals(List.of(), ranking.topSeries(Categoria.COMEDIA, 5));
+    }
+
+    @Test
+    void episodiosSemAvaliacaoFicamPorUltimo() {
+        assertEquals(List.of(new EpisodioDTO(1, 2, "Segundo"), new EpisodioDTO(1, 1, "Piloto"),
+                new EpisodioDTO(1, 3, "Terceiro")), ranking.topEpisodios(1L, 5));
+    }
+
+    @Test
+    void alteracaoTrocaAPosicaoEOGenero() {
+        ranking.serieAlterada(new SerieAlterada(3L, 9.9, Categoria.DRAMA, 1L, TipoAlteracao.ALTERACAO));
+
+        assertEquals(List.of(3L, 2L, 1L, 4L), ranking.topSeries(null, 10));
+        assertEquals(List.of(3L, 2L), ranking.topSeries(Categoria.DRAMA, 10));
+        assertEquals(List.of(1L, 4L), ranking.topSeries(Categoria.ACAO, 10));
+    }
+
+    @Test
+    void inclusaoEExclusaoDeEpisodio() {
+        ranking.episodioAlterado(new EpisodioAlterado(13L, 1L, 2, 1, "Novo", 9.8, TipoAlteracao.INCLUSAO));
+        ranking.episodioAlterado(new EpisodioAlterado(11L, 1L, 1, 2, "Segundo", 9.0, TipoAlteracao.EXCLUSAO));
+
+        assertEquals(List.of(new EpisodioDTO(2, 1, "Novo"), new EpisodioDTO(1, 1, "Piloto")),
+                ranking.topEpisodios(1L, 2));
+    }
+
+    @Test
+    void exclusaoDaSerieTiraOsEpisodiosDela() {
+        ranking.serieAlterada(new SerieAlterada(1L, 8.0, Categoria.ACAO, 0L, TipoAlteracao.EXCLUSAO));
+
+        assertFalse(ranking.contemSerie(1L));
+        assertEquals(List.of(), ranking.topEpisodios(1L, 5));
+        // Nada da série fica no índice de episódios (id → entrada)
+        Object rankings = ReflectionTestUtils.getField(ranking, "atual");
+        assertEquals(Map.of(), ReflectionTestUtils.getField(rankings, "episodios"));
+    }
+}
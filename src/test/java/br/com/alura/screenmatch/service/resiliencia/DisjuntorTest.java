@@ -0,0 +1,64 @@
+package br.com.alura.screenmatch.service.resiliencia;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Transições do disjuntor: FECHADO → ABERTO → MEIO_ABERTO → FECHADO/ABERTO
+ */
+class DisjuntorTest {
+
+    @Test
+    void abreNoLimiteDeFalhasSeguidas() {
+        Disjuntor disjuntor = new Disjuntor(2, Duration.ofMinutes(1));
+
+        disjuntor.registrarFalha();
+        assertTrue(disjuntor.permitir());
+        disjuntor.registrarFalha();
+
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.estado());
+        assertFalse(disjuntor.permitir());
+    }
+
+    @Test
+    void sucessoZeraAsFalhasSeguidas() {
+        Disjuntor disjuntor = new Disjuntor(2, Duration.ofMinutes(1));
+
+        disjuntor.registrarFalha();
+        disjuntor.registrarSucesso();
+        disjuntor.registrarFalha();
+
+        assertEquals(Disjuntor.Estado.FECHADO, disjuntor.estado());
+    }
+
+    @Test
+    void meioAbertoDeixaUmaChamadaDeTeste() {
+        Disjuntor disjuntor = new Disjuntor(1, Duration.ZERO);
+        disjuntor.registrarFalha();
+
+        assertTrue(disjuntor.permitir());
+        assertEquals(Disjuntor.Estado.MEIO_ABERTO, disjuntor.estado());
+        assertFalse(disjuntor.permitir());
+
+        disjuntor.registrarSucesso();
+        assertEquals(Disjuntor.Estado.FECHADO, disjuntor.estado());
+    }
+
+    @Test
+    void falhaNoTesteAbreDeNovo() {
+        Disjuntor disjuntor = new Disjuntor(3, Duration.ZERO);
+        for (int i = 0; i < 3; i++) {
+            disjuntor.registrarFalha();
+        }
+
+        assertTrue(disjuntor.permitir());
+        disjuntor.registrarFalha();
+
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.estado());
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.alura.screenmatch.service.resiliencia;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Token bucket: rajada imediata, depois espera proporcional à taxa
+ */
+class LimitadorTaxaTest {
+
+    @Test
+    void rajadaSaiSemEspera() {
+        LimitadorTaxa limitador = new LimitadorTaxa(1, 3);
+
+        assertEquals(0, limitador.reservar());
+        assertEquals(0, limitador.reservar());
+        assertEquals(0, limitador.reservar());
+    }
+
+    @Test
+    void depoisDaRajadaEsperaAProximaFicha() {
+        LimitadorTaxa limitador = new LimitadorTaxa(1, 1);
+        limitador.reservar();
+
+        long espera = limitador.reservar();
+
+        // 1 ficha por segundo: a próxima chega em ~1s (um pouco menos, pelo tempo já passado)
+        assertTrue(espera > 900_000_000L && espera <= 1_000_000_000L, "espera = " + espera);
+    }
+
+    @Test
+    void tentarReservarNaoDeixaSaldoNegativo() {
+        LimitadorTaxa limitador = new LimitadorTaxa(1, 1);
+
+        assertTrue(limitador.tentarReservar());
+        assertFalse(limitador.tentarReservar());
+        // A recusa não consumiu nada: a espera continua sendo a de UMA ficha
+        assertTrue(limitador.reservar() <= 1_000_000_000L);
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.alura.screenmatch.service.resiliencia;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * AIMD: +1 por lote rápido, metade em falha ou lentidão, sempre entre 1 e o máximo
+ */
+class LoteAdaptativoTest {
+
+    private static final Duration ALVO = Duration.ofSeconds(1);
+
+    @Test
+    void cresceUmPorSucessoAteOMaximo() {
+        LoteAdaptativo lote = new LoteAdaptativo(4, 5, ALVO);
+
+        lote.registrarSucesso(Duration.ofMillis(100));
+        assertEquals(5, lote.tamanho());
+        lote.registrarSucesso(Duration.ofMillis(100));
+        assertEquals(5, lote.tamanho());
+    }
+
+    @Test
+    void caiPelaMetadeEmFalhaOuLentidao() {
+        LoteAdaptativo lote = new LoteAdaptativo(8, 10, ALVO);
+
+        lote.registrarFalha();
+        assertEquals(4, lote.tamanho());
+        lote.registrarSucesso(Duration.ofSeconds(2));
+        assertEquals(2, lote.tamanho());
+    }
+
+    @Test
+    void nuncaFicaAbaixoDeUm() {
+        LoteAdaptativo lote = new LoteAdaptativo(1, 10, ALVO);
+
+        lote.registrarFalha();
+
+        assertEquals(1, lote.tamanho());
+    }
+
+    @Test
+    void inicialLimitadoAoMaximo() {
+        assertEquals(3, new LoteAdaptativo(50, 3, ALVO).tamanho());
+    }
+}
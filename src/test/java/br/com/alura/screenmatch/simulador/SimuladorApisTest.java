@@ -0,0 +1,144 @@
+package br.com.alura.screenmatch.simulador;
+
+import br.com.alura.screenmatch.model.DadosSerie;
+import br.com.alura.screenmatch.model.DadosTemporada;
+import br.com.alura.screenmatch.service.ConsumoApi;
+import br.com.alura.screenmatch.service.ConsumoApiException;
+import br.com.alura.screenmatch.service.ConverteDados;
+import br.com.alura.screenmatch.service.EnderecoOmdb;
+import br.com.alura.screenmatch.service.cache.CacheRespostasDisco;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ConsumoApi contra o simulador local (sem banco e sem internet)
+ */
+class SimuladorApisTest {
+
+    private static final int TENTATIVAS = 3;
+
+    private SimuladorApis simulador;
+    private ConsumoApi consumo;
+    private EnderecoOmdb endereco;
+
+    @BeforeEach
+    void iniciar() {
+        simulador = new SimuladorApis(0, new ComportamentoSimulador(), true, 8).iniciar();
+        CacheRespostasDisco semCache = new CacheRespostasDisco(false, Path.of("target", "cache-teste"),
+                Duration.ZERO, Duration.ZERO, List.of());
+        consumo = new ConsumoApi(Duration.ofSeconds(2), Duration.ofSeconds(5), 1000, 1000, TENTATIVAS,
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(2), false, semCache,
+                new ConverteDados());
+        endereco = new EnderecoOmdb(simulador.getEndereco() + "/omdb/");
+    }
+
+    @AfterEach
+    void parar() {
+        simulador.parar();
+    }
+
+    @Test
+    void devolvePayloadGravado() {
+        DadosSerie serie = consumo.obterDados(endereco.serie("The Boys"), DadosSerie.class);
+        DadosTemporada temporada = consumo.obterDados(endereco.temporada("The Boys", 1), DadosTemporada.class);
+
+        assertEquals("The Boys", serie.titulo());
+        assertEquals(4, serie.totalTemporadas());
+        assertEquals(8, temporada.episodios().size());
+    }
+
+    @Test
+    void geraDadosSinteticosDeterministicos() {
+        String primeira = consumo.obterDados(endereco.temporada("Serie Inventada", 2));
+        String segunda = consumo.obterDados(endereco.temporada("Serie Inventada", 2));
+
+        assertEquals(primeira, segunda);
+    }
+
+    @Test
+    void erroInjetadoEsgotaAsTentativas() {
+        simulador.getComportamento().setTaxaErro(1.0);
+
+        ConsumoApiException erro = assertThrows(ConsumoApiException.class,
+                () -> consumo.obterDados(endereco.serie("The Boys")));
+
+        assertEquals(500, erro.getStatus());
+        assertEquals(TENTATIVAS, simulador.getErros());
+    }
+
+    @Test
+    void enviaPostComCorpoJsonPeloMesmoCliente() {
+        String url = simulador.getEndereco() + "/openai/v1/completions";
+
+        Completion resposta = consumo.enviarDados(url, "{\"prompt\":\"traduza: Hello\"}",
+                Map.of("Authorization", "Bearer teste"), Completion.class);
+
+        assertEquals("[pt-br] Hello", resposta.choices().get(0).text());
+    }
+
+    @Test
+    void postComErroEsgotaAsTentativas() {
+        simulador.getComportamento().setTaxaErro(1.0);
+        String url = simulador.getEndereco() + "/openai/v1/completions";
+
+        ConsumoApiException erro = assertThrows(ConsumoApiException.class,
+                () -> consumo.enviarDados(url, "{\"prompt\":\"traduza: Hello\"}", Map.of(), Completion.class));
+
+        assertEquals(500, erro.getStatus());
+        assertEquals(TENTATIVAS, simulador.getErros());
+    }
+
+    @Test
+    void gravaNoCacheEDepoisNemVaiAoSimulador(@TempDir Path diretorio) {
+        CacheRespostasDisco cache = new CacheRespostasDisco(true, diretorio,
+                Duration.ofHours(1), Duration.ofHours(1), List.of("localhost"));
+        ConsumoApi comCache = new ConsumoApi(Duration.ofSeconds(2), Duration.ofSeconds(5), 1000, 1000, TENTATIVAS,
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(2), false, cache,
+                new ConverteDados());
+        String url = endereco.serie("The Boys");
+
+        DadosSerie daApi = comCache.obterDados(url, DadosSerie.class);
+        long atendidas = simulador.getAtendidas();
+        DadosSerie doCache = comCache.obterDados(url, DadosSerie.class);
+
+        assertEquals("The Boys", daApi.titulo());
+        assertEquals(daApi, doCache);
+        assertEquals(atendidas, simulador.getAtendidas());
+        assertTrue(cache.buscar(url).isPresent());
+    }
+
+    @Test
+    void apiForaDoArUsaARespostaVencidaDoCache(@TempDir Path diretorio) {
+        // TTL zero: a resposta gravada já nasce vencida e só serve de reserva
+        CacheRespostasDisco cache = new CacheRespostasDisco(true, diretorio,
+                Duration.ZERO, Duration.ZERO, List.of("localhost"));
+        ConsumoApi comCache = new ConsumoApi(Duration.ofSeconds(2), Duration.ofSeconds(5), 1000, 1000, TENTATIVAS,
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(2), false, cache,
+                new ConverteDados());
+        String url = endereco.temporada("The Boys", 1);
+        DadosTemporada original = comCache.obterDados(url, DadosTemporada.class);
+
+        simulador.getComportamento().setTaxaErro(1.0);
+        DadosTemporada reserva = comCache.obterDados(url, DadosTemporada.class);
+
+        assertEquals(original, reserva);
+        assertEquals(TENTATIVAS, simulador.getErros());
+    }
+
+    record Completion(List<Escolha> choices) {
+
+        record Escolha(String text) {
+        }
+    }
+}